@@ -0,0 +1,599 @@
+package com.sh.jplatformer;
+
+import java.util.ArrayList;
+import java.util.Random;
+import com.sh.jplatformer.world.WorldController;
+import com.sh.jplatformer.world.map.KinematicStore;
+import com.sh.jplatformer.world.map.Map;
+import com.sh.jplatformer.world.map.MapObject;
+import com.sh.jplatformer.world.map.NavGraph;
+import com.sh.jplatformer.world.map.NavPath;
+import com.sh.jplatformer.world.map.Perception;
+
+/**
+ * The {@code Benchmarks} class contains micro benchmarks of the world simulation. They are run by
+ * the {@code HeadlessLauncher} via {@code -bench <name>} and print their results to the standard
+ * output.
+ */
+
+public class Benchmarks
+{
+	// Constants
+	//==========
+	private static final int[] OBJECT_COUNTS   = { 1000, 10000, 50000 };
+	private static final int WARMUP_STEPS     = 2000;
+	private static final int MEASURE_STEPS    = 500;
+	private static final String BENCH_OBJECT  = "com.sh.jplatformer.world.objects.characters.Snail";
+	private static final int[][] MAP_SIZES    = { { 2000, 500 }, { 20000, 5000 }, { 100000, 20000 } };
+	private static final int GROUND_ROWS      = 4;
+	private static final int PLATFORM_SPACING = 40;
+	private static final int PLATFORM_LENGTH  = 6;
+	private static final int[] OBSERVER_COUNTS = { 100, 1000, 5000 };
+	private static final int SIGHT_COLUMNS    = 100;
+	private static final int SIGHT_ROWS       = 64;
+	private static final int SIGHT_HEIGHT     = 20;
+	private static final int SIGHT_TICKS      = 1200;
+	private static final float TARGET_SPEED   = 4f;
+	private static final int[] AGENT_COUNTS    = { 100, 1000, 10000 };
+	private static final int NAV_COLUMNS      = 20000;
+	private static final int NAV_ROWS         = 500;
+	private static final float NAV_RANGE      = 1000f;
+	private static final int NAV_SPACING      = 12;
+	private static final int NAV_EDITS        = 100;
+	private static final String NAV_OBJECT    = "com.sh.jplatformer.world.objects.characters.Chaser";
+	
+	// Retained arrays
+	//================
+	private static Object retained;
+
+	// Constructor
+	//============
+	private Benchmarks()
+	{
+	}
+
+	// run
+	//====
+	/**
+	 * Runs a benchmark by its name.
+	 * @param name the name of the benchmark.
+	 * @return {@code false} if no benchmark exists by that name.
+	 */
+	public static boolean run( String name )
+	{
+		if ( name.equals( "kinematics" ) )
+		{
+			kinematics();
+			return ( true );
+		}
+		if ( name.equals( "maps" ) )
+		{
+			maps();
+			return ( true );
+		}
+		if ( name.equals( "sight" ) )
+		{
+			sight();
+			return ( true );
+		}
+		if ( name.equals( "navigation" ) )
+		{
+			navigation();
+			return ( true );
+		}
+		System.err.println( "Unknown benchmark: " + name );
+		return ( false );
+	}
+
+	// kinematics
+	//===========
+	/**
+	 * Compares the force integration over the fields of the {@code MapObjects} with the
+	 * integration over the arrays of a {@code KinematicStore} at different object counts.
+	 */
+	public static void kinematics()
+	{
+		float delta = WorldController.TICK_DELTA;
+
+		for ( int count : OBJECT_COUNTS )
+		{
+			// Create objects
+			//===============
+			WorldController worldController = new WorldController();
+			ArrayList<MapObject> objects    = createObjects( worldController, count );
+			KinematicStore store            = new KinematicStore();
+
+			for ( MapObject o : objects )
+			{
+				store.register( o );
+			}
+
+			// Objects
+			//========
+			for ( int i = 0; i < WARMUP_STEPS; i++ )
+			{
+				integrateObjects( objects, delta );
+			}
+			long start = System.nanoTime();
+
+			for ( int i = 0; i < MEASURE_STEPS; i++ )
+			{
+				integrateObjects( objects, delta );
+			}
+			long objectsTime = System.nanoTime() - start;
+
+			// Store
+			//======
+			for ( int i = 0; i < WARMUP_STEPS; i++ )
+			{
+				store.integrate( delta );
+			}
+			start = System.nanoTime();
+
+			for ( int i = 0; i < MEASURE_STEPS; i++ )
+			{
+				store.integrate( delta );
+			}
+			long storeTime = System.nanoTime() - start;
+
+			// Store + mirroring
+			//==================
+			for ( int i = 0; i < WARMUP_STEPS; i++ )
+			{
+				store.gather();
+				store.integrate( delta );
+				store.scatter();
+			}
+			start = System.nanoTime();
+
+			for ( int i = 0; i < MEASURE_STEPS; i++ )
+			{
+				store.gather();
+				store.integrate( delta );
+				store.scatter();
+			}
+			long mirrorTime = System.nanoTime() - start;
+
+			// Print result
+			//=============
+			System.out.println( "kinematics " + count + " objects: " +
+			                    "objects " + perObject( objectsTime, count ) + " ns, " +
+			                    "store " + perObject( storeTime, count ) + " ns, " +
+			                    "store + gather/scatter " + perObject( mirrorTime, count ) + " ns " +
+			                    "(per object and step)" );
+		}
+	}
+
+	// maps
+	//=====
+	/**
+	 * Compares the heap usage of the chunked {@code Map} storage with the former dense layout of
+	 * a {@code byte} and a {@code short} per cell plus a solidity bitset. Each map is filled with
+	 * a ground of {@code GROUND_ROWS} rows and a platform every {@code PLATFORM_SPACING} columns
+	 * at a random height. Dense layouts that do not fit into the heap are reported with their
+	 * calculated size.
+	 */
+	public static void maps()
+	{
+		for ( int[] size : MAP_SIZES )
+		{
+			int columns = size[0];
+			int rows    = size[1];
+			long cells  = (long) columns * rows;
+			long needed = cells * 3L + ( ( columns + 63L ) >> 6 ) * rows * 8L;
+			
+			// Dense layout
+			//=============
+			String dense;
+			long before = usedMemory();
+			
+			try
+			{
+				retained = new Object[]
+				{
+					new byte[(int) cells], new short[(int) cells], new long[( ( columns + 63 ) >> 6 ) * rows]
+				};
+				dense    = megabytes( usedMemory() - before ) + " MB";
+				retained = null;
+			}
+			catch ( OutOfMemoryError e )
+			{
+				dense = "out of memory (" + megabytes( needed ) + " MB needed)";
+			}
+			
+			// Chunked layout
+			//===============
+			before     = usedMemory();
+			long start = System.nanoTime();
+			Map map    = new Map( columns, rows );
+			
+			fillMap( map );
+			
+			long fillTime = System.nanoTime() - start;
+			String chunked = megabytes( usedMemory() - before ) + " MB";
+			
+			// Print result
+			//=============
+			System.out.println( "maps " + columns + "x" + rows + ": " +
+			                    "dense " + dense + ", " +
+			                    "chunked " + chunked + " (" + map.getChunkCount() + " chunks, " +
+			                    "filled in " + ( fillTime / 1000000L ) + " ms)" );
+		}
+	}
+	
+	// sight
+	//======
+	/**
+	 * Compares a raycast per observer and tick with the cached checks of a {@code Perception} per
+	 * observer. The observers are spread over the lowest {@code SIGHT_HEIGHT} rows of a filled map
+	 * and look at a target that walks along the ground at {@code TARGET_SPEED} units per tick for
+	 * {@code SIGHT_TICKS} ticks.
+	 */
+	public static void sight()
+	{
+		for ( int count : OBSERVER_COUNTS )
+		{
+			// Create world
+			//=============
+			WorldController worldController = new WorldController();
+			Map map                         = new Map( SIGHT_COLUMNS, SIGHT_ROWS );
+			Random random                   = new Random( 1L );
+
+			fillMap( map );
+			worldController.setMap( map );
+
+			ArrayList<MapObject> observers = createObjects( worldController, count );
+			ArrayList<Perception> sights   = new ArrayList<Perception>( count );
+			MapObject target               = MapObject.createFromClassName( BENCH_OBJECT, worldController );
+
+			for ( int i = 0; i < count; i++ )
+			{
+				MapObject o = observers.get( i );
+
+				o.setId( i );
+				o.getBounds().x = random.nextFloat() * SIGHT_COLUMNS * Map.CELL_SIZE;
+				o.getBounds().y = ( GROUND_ROWS + random.nextFloat() * SIGHT_HEIGHT ) * Map.CELL_SIZE;
+				sights.add( new Perception( o ) );
+			}
+
+			// Raycasts
+			//=========
+			raycastTicks( map, observers, target );
+
+			long start    = System.nanoTime();
+			long raycasts = raycastTicks( map, observers, target );
+			long rayTime  = System.nanoTime() - start;
+
+			// Perceptions
+			//============
+			perceptionTicks( sights, target );
+
+			long checks = 0L;
+
+			for ( Perception sight : sights )
+			{
+				checks -= sight.getRaycastCount();
+			}
+			start = System.nanoTime();
+
+			long visible   = perceptionTicks( sights, target );
+			long sightTime = System.nanoTime() - start;
+
+			for ( Perception sight : sights )
+			{
+				checks += sight.getRaycastCount();
+			}
+
+			// Print result
+			//=============
+			System.out.println( "sight " + count + " observers: " +
+			                    "raycasts " + perTick( rayTime ) + " us (" + ( raycasts / SIGHT_TICKS ) + " rays), " +
+			                    "perception " + perTick( sightTime ) + " us (" + ( checks / SIGHT_TICKS ) + " rays, " +
+			                    ( visible / SIGHT_TICKS ) + " visible) " +
+			                    "(per tick)" );
+		}
+	}
+
+	// navigation
+	//===========
+	/**
+	 * Measures the {@code NavGraph} of a filled map: the time to build the graph, the time of
+	 * single cell edits and the ticks and expanded spans needed to answer the path queries of
+	 * many agents, which are placed on the ground within {@code NAV_RANGE} columns of a common
+	 * target. Every {@code NAV_SPACING} columns, the ground has a block to jump on or a pit to
+	 * fall into.
+	 */
+	public static void navigation()
+	{
+		// Build graph
+		//============
+		WorldController worldController = new WorldController();
+		Map map                         = new Map( NAV_COLUMNS, NAV_ROWS );
+		Random random                   = new Random( 1L );
+
+		fillMap( map );
+		worldController.setMap( map );
+
+		for ( int col = 0; col < NAV_COLUMNS; col += NAV_SPACING )
+		{
+			int length = 1 + random.nextInt( NAV_SPACING / 2 );
+			boolean up = random.nextBoolean();
+
+			for ( int i = 0; i < length; i++ )
+			{
+				map.setTileSetId( col + i, up ? GROUND_ROWS : GROUND_ROWS - 1, up ? 0 : -1 );
+			}
+		}
+
+		MapObject agent = MapObject.createFromClassName( NAV_OBJECT, worldController );
+		NavGraph graph  = worldController.getNavGraph( agent );
+		float groundY   = GROUND_ROWS * Map.CELL_SIZE;
+		float targetX   = NAV_COLUMNS * Map.CELL_SIZE / 2f;
+		long start      = System.nanoTime();
+
+		graph.findPath( 0f, groundY, 0f, groundY );
+
+		long buildTime = System.nanoTime() - start;
+
+		// Edit cells
+		//===========
+		start = System.nanoTime();
+
+		for ( int i = 0; i < NAV_EDITS; i++ )
+		{
+			int col = random.nextInt( NAV_COLUMNS );
+			int row = GROUND_ROWS + random.nextInt( 8 );
+
+			map.setTileSetId( col, row, i % 2 == 0 ? 1 : -1 );
+			graph.updateCells( col, row, col, row );
+		}
+		long editTime = System.nanoTime() - start;
+
+		System.out.println( "navigation " + NAV_COLUMNS + "x" + NAV_ROWS + ": " +
+		                    graph.getSpanCount() + " spans, " + graph.getLinkCount() + " links, " +
+		                    "built in " + ( buildTime / 1000000L ) + " ms, " +
+		                    "edit " + String.format( "%.1f", editTime / 1000.0 / NAV_EDITS ) + " us" );
+
+		// Query paths
+		//============
+		for ( int count : AGENT_COUNTS )
+		{
+			ArrayList<NavPath> paths = new ArrayList<NavPath>( count );
+			long expanded            = graph.getExpandedCount();
+			long hits                = graph.getCacheHitCount();
+			int ticks                = 0;
+
+			start = System.nanoTime();
+
+			for ( int i = 0; i < count; i++ )
+			{
+				float x = targetX + ( random.nextFloat() * 2f - 1f ) * NAV_RANGE * Map.CELL_SIZE;
+
+				paths.add( graph.findPath( x, groundY, targetX, groundY ) );
+			}
+			while ( graph.getPendingCount() > 0 )
+			{
+				graph.processRequests();
+				ticks++;
+			}
+			long queryTime = System.nanoTime() - start;
+			int found      = 0;
+
+			for ( NavPath path : paths )
+			{
+				if ( path != null && path.isFound() )
+				{
+					found++;
+				}
+			}
+
+			// Print result
+			//=============
+			System.out.println( "navigation " + count + " agents: " +
+			                    found + " paths found in " + ticks + " ticks " +
+			                    "(" + ( graph.getCacheHitCount() - hits ) + " shared, " +
+			                    ( graph.getExpandedCount() - expanded ) + " spans expanded, " +
+			                    "budget " + graph.getBudget() + " per tick), " +
+			                    String.format( "%.2f", queryTime / 1000000.0 ) + " ms" );
+		}
+	}
+
+	// raycastTicks
+	//=============
+	/**
+	 * Simulates {@code SIGHT_TICKS} ticks with a raycast per observer and tick.
+	 * @return the number of raycasts.
+	 */
+	private static long raycastTicks( Map map, ArrayList<MapObject> observers, MapObject target )
+	{
+		long raycasts = 0L;
+
+		resetTarget( target );
+
+		for ( int tick = 0; tick < SIGHT_TICKS; tick++ )
+		{
+			for ( int i = 0; i < observers.size(); i++ )
+			{
+				if ( look( map, observers.get( i ), target ) )
+				{
+					raycasts++;
+				}
+			}
+			moveTarget( target );
+		}
+		return ( raycasts );
+	}
+
+	// perceptionTicks
+	//================
+	/**
+	 * Simulates {@code SIGHT_TICKS} ticks with a {@code Perception} check per observer and tick.
+	 * @return the number of checks that saw the target.
+	 */
+	private static long perceptionTicks( ArrayList<Perception> sights, MapObject target )
+	{
+		long visible = 0L;
+
+		resetTarget( target );
+
+		for ( int tick = 0; tick < SIGHT_TICKS; tick++ )
+		{
+			for ( int i = 0; i < sights.size(); i++ )
+			{
+				if ( sights.get( i ).canSee( target ) )
+				{
+					visible++;
+				}
+			}
+			moveTarget( target );
+		}
+		return ( visible );
+	}
+
+	// look
+	//=====
+	/**
+	 * Casts a ray between the centers of two objects, if they are in range.
+	 * @return {@code true} if a ray has been cast.
+	 */
+	private static boolean look( Map map, MapObject o, MapObject target )
+	{
+		float x1 = o.getBounds().x + o.getBounds().width / 2f;
+		float y1 = o.getBounds().y + o.getBounds().height / 2f;
+		float x2 = target.getBounds().x + target.getBounds().width / 2f;
+		float y2 = target.getBounds().y + target.getBounds().height / 2f;
+		float dx = x2 - x1;
+		float dy = y2 - y1;
+
+		if ( dx * dx + dy * dy > Perception.DEFAULT_RANGE * Perception.DEFAULT_RANGE )
+		{
+			return ( false );
+		}
+		map.raycast( x1, y1, x2, y2, null );
+
+		return ( true );
+	}
+
+	// resetTarget
+	//============
+	private static void resetTarget( MapObject target )
+	{
+		target.getWorldController().getClock().reset( 0L );
+		target.getBounds().x = 0f;
+		target.getBounds().y = GROUND_ROWS * Map.CELL_SIZE;
+	}
+
+	// moveTarget
+	//===========
+	private static void moveTarget( MapObject target )
+	{
+		target.getWorldController().getClock().advance( WorldController.TICK_DELTA );
+		target.getBounds().x += TARGET_SPEED;
+	}
+
+	// perTick
+	//========
+	private static String perTick( long nanos )
+	{
+		return ( String.format( "%.1f", nanos / 1000.0 / SIGHT_TICKS ) );
+	}
+	
+	// fillMap
+	//========
+	private static void fillMap( Map map )
+	{
+		Random random = new Random( 1L );
+		
+		// Ground
+		//=======
+		for ( int row = 0; row < Math.min( GROUND_ROWS, map.getRows() ); row++ )
+		{
+			for ( int col = 0; col < map.getColumns(); col++ )
+			{
+				map.setTileSetId( col, row, 0 );
+			}
+		}
+		
+		// Platforms
+		//==========
+		for ( int col = 0; col < map.getColumns(); col += PLATFORM_SPACING )
+		{
+			int row = GROUND_ROWS + random.nextInt( Math.max( map.getRows() - GROUND_ROWS, 1 ) );
+			
+			for ( int i = 0; i < PLATFORM_LENGTH; i++ )
+			{
+				map.setTileSetId( col + i, row, 1 );
+			}
+		}
+	}
+	
+	// usedMemory
+	//===========
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		
+		for ( int i = 0; i < 3; i++ )
+		{
+			System.gc();
+		}
+		return ( runtime.totalMemory() - runtime.freeMemory() );
+	}
+	
+	// megabytes
+	//==========
+	private static String megabytes( long bytes )
+	{
+		return ( String.format( "%.1f", bytes / ( 1024.0 * 1024.0 ) ) );
+	}
+	
+	// createObjects
+	//==============
+	private static ArrayList<MapObject> createObjects( WorldController worldController, int count )
+	{
+		ArrayList<MapObject> objects = new ArrayList<MapObject>( count );
+
+		for ( int i = 0; i < count; i++ )
+		{
+			MapObject o = MapObject.createFromClassName( BENCH_OBJECT, worldController );
+
+			o.getBounds().x = ( i % 1000 ) * 64f;
+			o.getBounds().y = ( i / 1000 ) * 64f + 100000f;
+			o.setHorizontalForce( ( i % 7 - 3 ) * 100f );
+			o.setVerticalForce( 0f );
+			objects.add( o );
+		}
+		return ( objects );
+	}
+
+	// integrateObjects
+	//=================
+	/**
+	 * Performs the same force integration as {@code KinematicStore.integrate()} for falling
+	 * objects, but reads and writes the fields of every {@code MapObject}.
+	 */
+	private static void integrateObjects( ArrayList<MapObject> objects, float delta )
+	{
+		for ( int i = 0; i < objects.size(); i++ )
+		{
+			MapObject o = objects.get( i );
+
+			o.getBounds().x += o.getHorizontalForce() * delta;
+			o.setHorizontalForce( KinematicStore.decayHorizontalForce( o.getHorizontalForce(), delta ) );
+		}
+		for ( int i = 0; i < objects.size(); i++ )
+		{
+			MapObject o = objects.get( i );
+
+			o.setVerticalForce( KinematicStore.fallForce( o.getVerticalForce(), delta ) );
+			o.getBounds().y += o.getVerticalForce() * delta;
+		}
+	}
+
+	// perObject
+	//==========
+	private static String perObject( long nanos, int count )
+	{
+		return ( String.format( "%.2f", (double) nanos / MEASURE_STEPS / count ) );
+	}
+}
@@ -0,0 +1,319 @@
+package com.sh.jplatformer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.sh.jplatformer.util.FileUtils;
+import com.sh.jplatformer.world.WorldController;
+import com.sh.jplatformer.world.WorldFile;
+import com.sh.jplatformer.world.WorldPool;
+import com.sh.jplatformer.world.TriggerIndex;
+import com.sh.jplatformer.world.WorldStreamer;
+import com.sh.jplatformer.world.map.NavGraph;
+import com.sh.jplatformer.world.map.TimerWheel;
+import com.sh.jplatformer.world.objects.characters.AcidDrop;
+import com.sh.jplatformer.world.objects.machines.CannonBall;
+
+/**
+ * This is the main class of the headless world simulation. It loads world files without creating
+ * a window, graphics or audio context and steps their simulation as fast as possible. This allows
+ * to verify the shipped worlds on machines without a display.
+ * <p>
+ * Usage: {@code HeadlessLauncher [-ticks <count>] [-all] [-parallel <count>] [-stream <dir>] [worlds ...]},
+ * {@code HeadlessLauncher [-ticks <count>] -record <file> [worlds ...]},
+ * {@code HeadlessLauncher -replay <file> [worlds ...]} or {@code HeadlessLauncher -bench <name>}. If no world file or directory is specified, all worlds
+ * of the {@code resources/worlds} directory are simulated. The {@code -all} option disables the
+ * activity regions, so objects far from the player are updated as well. The {@code -parallel}
+ * option sets the number of active objects from which on the neighbour snapshots are collected
+ * in parallel. The {@code -bench} option runs one of the {@code Benchmarks} instead of the
+ * worlds. The {@code -record} and {@code -replay} options write or verify a {@code Replay} file
+ * of the worlds instead of printing statistics. The {@code -stream} option splits every world into
+ * a streamed world in a subdirectory of the specified directory and simulates it through a
+ * {@code WorldStreamer}. The process exits with status 1 if a world could not be loaded or its simulation
+ * failed.
+ */
+
+public class HeadlessLauncher
+{
+	// Constants
+	//==========
+	public static final int DEFAULT_TICKS = (int) WorldController.TICK_RATE * 60;
+	private static final String WORLDS_PATH = "resources/worlds/";
+	private static final String WORLDS_EXT  = ".worldfile";
+
+	// main
+	//=====
+	public static void main( String[] args )
+	{
+		// Values
+		//=======
+		int ticks              = DEFAULT_TICKS;
+		boolean allActive      = false;
+		int parallelThreshold  = WorldController.DEFAULT_PARALLEL_THRESHOLD;
+		ArrayList<File> worlds = new ArrayList<File>();
+		File recordFile        = null;
+		File replayFile        = null;
+		File streamDir         = null;
+		boolean success        = true;
+
+		// Read arguments
+		//===============
+		for ( int i = 0; i < args.length; i++ )
+		{
+			if ( args[i].equals( "-ticks" ) && i + 1 < args.length )
+			{
+				ticks = Integer.parseInt( args[++i] );
+			}
+			else if ( args[i].equals( "-parallel" ) && i + 1 < args.length )
+			{
+				parallelThreshold = Integer.parseInt( args[++i] );
+			}
+			else if ( args[i].equals( "-bench" ) && i + 1 < args.length )
+			{
+				GdxNativesLoader.load();
+				System.exit( Benchmarks.run( args[++i] ) ? 0 : 1 );
+			}
+			else if ( args[i].equals( "-record" ) && i + 1 < args.length )
+			{
+				recordFile = new File( args[++i] );
+			}
+			else if ( args[i].equals( "-replay" ) && i + 1 < args.length )
+			{
+				replayFile = new File( args[++i] );
+			}
+			else if ( args[i].equals( "-stream" ) && i + 1 < args.length )
+			{
+				streamDir = new File( args[++i] );
+			}
+			else if ( args[i].equals( "-all" ) )
+			{
+				allActive = true;
+			}
+			else
+			{
+				addWorlds( new File( args[i] ), worlds );
+			}
+		}
+
+		// Load math natives
+		//==================
+		GdxNativesLoader.load();
+
+		// Default worlds
+		//===============
+		if ( worlds.isEmpty() )
+		{
+			addWorlds( new File( FileUtils.getRoot() + WORLDS_PATH ), worlds );
+		}
+
+		// Record or verify replay
+		//========================
+		if ( recordFile != null )
+		{
+			System.exit( Replay.record( worlds, ticks, recordFile ) ? 0 : 1 );
+		}
+		if ( replayFile != null )
+		{
+			System.exit( Replay.verify( worlds, replayFile ) ? 0 : 1 );
+		}
+
+		// Simulate worlds
+		//================
+		for ( File world : worlds )
+		{
+			success &= simulate( world, ticks, allActive, parallelThreshold, streamDir );
+		}
+		System.exit( success ? 0 : 1 );
+	}
+
+	// addWorlds
+	//==========
+	private static void addWorlds( File file, ArrayList<File> worlds )
+	{
+		// Add directory content
+		//======================
+		if ( file.isDirectory() )
+		{
+			File[] files = file.listFiles();
+
+			if ( files != null )
+			{
+				Arrays.sort( files );
+
+				for ( File f : files )
+				{
+					if ( f.getName().endsWith( WORLDS_EXT ) )
+					{
+						worlds.add( f );
+					}
+				}
+			}
+		}
+		else
+		{
+			worlds.add( file );
+		}
+	}
+
+	// simulate
+	//=========
+	/**
+	 * Loads a world file and performs a specified number of simulation ticks. The simulation stops
+	 * early if the world state is neither {@code STATE_PLAYING} nor {@code STATE_PLAYER_DIES}.
+	 * @param world the world file.
+	 * @param ticks the maximum number of ticks.
+	 * @param allActive {@code true} to disable the activity regions, so all objects are updated.
+	 * @param parallelThreshold the number of active objects from which on the neighbour snapshots
+	 * are collected in parallel.
+	 * @param streamDir the directory to create the streamed world in or {@code null} to simulate
+	 * the world file directly.
+	 * @return {@code false} if the world could not be loaded or the simulation failed.
+	 */
+	public static boolean simulate( File world, int ticks, boolean allActive, int parallelThreshold, File streamDir )
+	{
+		// Load world
+		//===========
+		WorldController worldController = load( world, allActive, parallelThreshold );
+
+		if ( worldController == null )
+		{
+			return ( false );
+		}
+
+		// Stream world
+		//=============
+		if ( streamDir != null )
+		{
+			File directory = new File( streamDir, world.getName().replace( WORLDS_EXT, "" ) );
+
+			if ( WorldStreamer.split( worldController, directory ) == false ||
+			     WorldStreamer.open( directory, worldController ) == false )
+			{
+				System.err.println( world.getName() + ": FAILED (world could not be streamed)" );
+				return ( false );
+			}
+		}
+
+		// Perform ticks
+		//==============
+		int objects = worldController.getMapObjects().size();
+		long start  = System.nanoTime();
+		int done    = 0;
+
+		try
+		{
+			while ( done < ticks && isRunning( worldController ) )
+			{
+				worldController.tick();
+				done++;
+			}
+		}
+		catch ( Exception e )
+		{
+			e.printStackTrace();
+			System.err.println( world.getName() + ": FAILED at tick " + done );
+			return ( false );
+		}
+
+		// Print result
+		//=============
+		long ms = Math.max( 1L, ( System.nanoTime() - start ) / 1000000L );
+
+		System.out.println( world.getName() + ": " + done + " ticks in " + ms + " ms (" +
+		                    ( done * 1000L / ms ) + " ticks/s), " +
+		                    objects + " -> " + worldController.getMapObjects().size() + " objects, " +
+		                    "state " + worldController.getWorldState() + ", " +
+		                    worldController.getSleepingCount() + " sleeping, " +
+		                    "score " + worldController.getScore() );
+		if ( worldController.getStreamer() != null )
+		{
+			WorldStreamer streamer = worldController.getStreamer();
+
+			System.out.println( "  regions: " + streamer.getLoadedCount() + " loaded, " +
+			                    streamer.getPendingCount() + " pending, " +
+			                    streamer.getRegionCount() + " total" );
+			worldController.setStreamer( null );
+		}
+		TimerWheel wheel = worldController.getTimerWheel();
+
+		System.out.println( "  timers: " + wheel.size() + " queued, " +
+		                    wheel.getScheduledCount() + " scheduled, " +
+		                    wheel.getFiredCount() + " fired, " +
+		                    wheel.getCascadedCount() + " cascaded, " +
+		                    worldController.getDormantCount() + " dormant" );
+		TriggerIndex triggers = worldController.getTriggerIndex();
+
+		System.out.println( "  triggers: " + triggers.getPassCount() + " passes, " +
+		                    triggers.getCellCount() + " volume cells, " +
+		                    triggers.getVolumeTestCount() + " volume tests, " +
+		                    triggers.getEnterCount() + " enters, " +
+		                    triggers.getExitCount() + " exits" );
+		for ( NavGraph graph : worldController.getNavGraphs() )
+		{
+			System.out.println( "  navigation: " + graph.getSpanCount() + " spans, " +
+			                    graph.getLinkCount() + " links, " +
+			                    graph.getRequestCount() + " queries, " +
+			                    graph.getCacheHitCount() + " cached, " +
+			                    graph.getFoundCount() + " found, " +
+			                    graph.getFailedCount() + " failed, " +
+			                    graph.getExpandedCount() + " expanded" );
+		}
+		System.out.println( "  pools: " +
+		                    poolStats( "AcidDrop", worldController.getMapObjectPool( AcidDrop.class ) ) + ", " +
+		                    poolStats( "CannonBall", worldController.getMapObjectPool( CannonBall.class ) ) + ", " +
+		                    poolStats( "MapPopup", worldController.getPopupPool() ) );
+		return ( true );
+	}
+
+	// load
+	//=====
+	/**
+	 * Loads a world file into a new live {@code WorldController}.
+	 * @param world the world file.
+	 * @param allActive {@code true} to disable the activity regions, so all objects are updated.
+	 * @param parallelThreshold the number of active objects from which on the neighbour snapshots
+	 * are collected in parallel.
+	 * @return the {@code WorldController} or {@code null} if the world could not be loaded.
+	 */
+	static WorldController load( File world, boolean allActive, int parallelThreshold )
+	{
+		WorldController worldController = new WorldController();
+		boolean loaded;
+
+		try
+		{
+			loaded = WorldFile.loadWorld( world.getPath(), worldController );
+		}
+		catch ( Exception e )
+		{
+			e.printStackTrace();
+			loaded = false;
+		}
+		if ( loaded == false )
+		{
+			System.err.println( world.getName() + ": FAILED (world could not be loaded)" );
+			return ( null );
+		}
+		worldController.setLive( true );
+		worldController.setActivityRegionsEnabled( !allActive );
+		worldController.setParallelThreshold( parallelThreshold );
+
+		return ( worldController );
+	}
+
+	// poolStats
+	//==========
+	private static String poolStats( String name, WorldPool<?> pool )
+	{
+		return ( name + " " + pool.getHits() + " hits / " + pool.getMisses() + " misses" );
+	}
+	
+	// isRunning
+	//==========
+	static boolean isRunning( WorldController worldController )
+	{
+		return ( worldController.getWorldState() == WorldController.STATE_PLAYING ||
+		         worldController.getWorldState() == WorldController.STATE_PLAYER_DIES );
+	}
+}
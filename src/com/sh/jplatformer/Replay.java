@@ -0,0 +1,368 @@
+package com.sh.jplatformer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.math.Rectangle;
+import com.sh.jplatformer.util.Randomizer;
+import com.sh.jplatformer.world.WorldController;
+import com.sh.jplatformer.world.map.MapObject;
+import com.sh.jplatformer.world.objects.characters.Player;
+
+/**
+ * The {@code Replay} class records and verifies the simulation of worlds. Every world is simulated
+ * from a fixed random seed and clock time with all objects active, so the same code always
+ * produces the same simulation. The player is driven by a scripted key sequence derived from the
+ * world name, so running, jumping, using and landing against tiles and blocking objects are
+ * covered as well.
+ * Once per simulated second, a checksum over the positions, forces and states of all
+ * {@code MapObjects} is taken.
+ * <p>
+ * {@code record()} writes the checksums of all worlds to a replay file, {@code verify()} simulates
+ * the worlds again and compares the checksums with a recorded file. This allows to check that a
+ * change to the movement or collision code does not change the behaviour of the shipped worlds.
+ * The replay files are plain text, one line per world: the world file name, a tab and the
+ * space-separated values {@code <ticks> <checksum> <checksum> ...}.
+ */
+
+public class Replay
+{
+	// Constants
+	//==========
+	public static final long SEED             = 1L;
+	public static final long START_TIME       = 4102444800000L;
+	public static final int CHECKSUM_INTERVAL = (int) WorldController.TICK_RATE;
+
+	// Constructor
+	//============
+	private Replay()
+	{
+	}
+
+	// record
+	//=======
+	/**
+	 * Simulates a list of worlds and writes their checksums to a replay file.
+	 * @param worlds the world files.
+	 * @param ticks the maximum number of ticks per world.
+	 * @param replay the replay file to write.
+	 * @return {@code false} if a world could not be simulated or the file could not be written.
+	 */
+	public static boolean record( ArrayList<File> worlds, int ticks, File replay )
+	{
+		boolean success = true;
+
+		try ( PrintWriter writer = new PrintWriter( new FileWriter( replay ) ) )
+		{
+			for ( File world : worlds )
+			{
+				// Simulate world
+				//===============
+				ArrayList<Long> checksums = simulate( world, ticks );
+
+				if ( checksums == null )
+				{
+					success = false;
+					continue;
+				}
+
+				// Write line
+				//===========
+				StringBuilder line = new StringBuilder( world.getName() + "\t" + ticks );
+
+				for ( long checksum : checksums )
+				{
+					line.append( ' ' ).append( Long.toHexString( checksum ) );
+				}
+				writer.println( line );
+
+				System.out.println( world.getName() + ": recorded " + checksums.size() + " checksums" );
+			}
+		}
+		catch ( IOException e )
+		{
+			System.err.println( "Error writing replay " + replay.getPath() + ": " + e.getMessage() );
+			return ( false );
+		}
+		return ( success );
+	}
+
+	// verify
+	//=======
+	/**
+	 * Simulates all worlds of a replay file and compares their checksums with the recorded ones.
+	 * Worlds are looked up by their file name in the specified list.
+	 * @param worlds the world files.
+	 * @param replay the replay file to read.
+	 * @return {@code false} if a recorded world is missing or any checksum differs.
+	 */
+	public static boolean verify( ArrayList<File> worlds, File replay )
+	{
+		// Index worlds by name
+		//=====================
+		HashMap<String, File> files = new HashMap<String, File>();
+		boolean success             = true;
+
+		for ( File world : worlds )
+		{
+			files.put( world.getName(), world );
+		}
+
+		// Verify recorded worlds
+		//=======================
+		try ( BufferedReader reader = new BufferedReader( new FileReader( replay ) ) )
+		{
+			String line;
+
+			while ( ( line = reader.readLine() ) != null )
+			{
+				// Parse line
+				//===========
+				int tab = line.indexOf( '\t' );
+
+				if ( tab < 0 )
+				{
+					continue;
+				}
+				String name     = line.substring( 0, tab );
+				String[] values = line.substring( tab + 1 ).trim().split( " " );
+				File world      = files.get( name );
+
+				if ( world == null )
+				{
+					System.err.println( name + ": FAILED (world not found)" );
+					success = false;
+					continue;
+				}
+
+				// Compare checksums
+				//==================
+				ArrayList<Long> checksums = simulate( world, Integer.parseInt( values[0] ) );
+
+				if ( checksums == null )
+				{
+					success = false;
+				}
+				else
+				{
+					success &= compare( world.getName(), values, checksums );
+				}
+			}
+		}
+		catch ( IOException | NumberFormatException e )
+		{
+			System.err.println( "Error reading replay " + replay.getPath() + ": " + e.getMessage() );
+			return ( false );
+		}
+		return ( success );
+	}
+
+	// compare
+	//========
+	private static boolean compare( String name, String[] values, ArrayList<Long> checksums )
+	{
+		int recorded = values.length - 1;
+
+		// Find first difference
+		//======================
+		for ( int i = 0; i < Math.min( recorded, checksums.size() ); i++ )
+		{
+			if ( Long.parseUnsignedLong( values[i + 1], 16 ) != checksums.get( i ) )
+			{
+				System.err.println( name + ": FAILED (simulation differs after " + ( i + 1 ) + " s)" );
+				return ( false );
+			}
+		}
+
+		// Compare length
+		//===============
+		if ( recorded != checksums.size() )
+		{
+			System.err.println( name + ": FAILED (" + checksums.size() + " checksums, " + recorded + " recorded)" );
+			return ( false );
+		}
+		System.out.println( name + ": OK (" + recorded + " checksums)" );
+		return ( true );
+	}
+
+	// simulate
+	//=========
+	/**
+	 * Loads a world and simulates it from the fixed seed and start time. Like the game, the world
+	 * is loaded again if it has to be restarted (i.e. the player died or the time ran out), and
+	 * the simulation goes on with the next keys of the script.
+	 * @return the checksums, one per {@code CHECKSUM_INTERVAL} ticks, or {@code null} if the world
+	 * could not be loaded or the simulation failed.
+	 */
+	private static ArrayList<Long> simulate( File world, int ticks )
+	{
+		// Load world
+		//===========
+		Randomizer.setSeed( SEED );
+
+		WorldController worldController = start( world );
+
+		if ( worldController == null )
+		{
+			return ( null );
+		}
+
+		// Perform ticks
+		//==============
+		ArrayList<Long> checksums = new ArrayList<Long>();
+		InputScript input         = new InputScript( SEED * 31L + world.getName().hashCode() );
+		int done                  = 0;
+
+		try
+		{
+			while ( done < ticks )
+			{
+				// Restart world
+				//==============
+				if ( worldController.getWorldState() == WorldController.STATE_RESTART )
+				{
+					worldController = start( world );
+
+					if ( worldController == null )
+					{
+						return ( null );
+					}
+				}
+				else if ( HeadlessLauncher.isRunning( worldController ) == false )
+				{
+					break;
+				}
+
+				// Perform tick
+				//=============
+				input.advance();
+
+				if ( worldController.getPlayer() instanceof Player )
+				{
+					( (Player) worldController.getPlayer() ).setScriptedKeys( input.keys );
+				}
+				worldController.tick();
+				done++;
+
+				if ( done % CHECKSUM_INTERVAL == 0 )
+				{
+					checksums.add( checksum( worldController ) );
+				}
+			}
+		}
+		catch ( Exception e )
+		{
+			e.printStackTrace();
+			System.err.println( world.getName() + ": FAILED at tick " + done );
+			return ( null );
+		}
+		checksums.add( checksum( worldController ) );
+
+		return ( checksums );
+	}
+
+	// start
+	//======
+	/**
+	 * Loads a world and resets its clock to the fixed start time.
+	 * @return the {@code WorldController} or {@code null} if the world could not be loaded.
+	 */
+	private static WorldController start( File world )
+	{
+		WorldController worldController = HeadlessLauncher.load( world, true, WorldController.DEFAULT_PARALLEL_THRESHOLD );
+
+		if ( worldController != null )
+		{
+			worldController.getClock().reset( START_TIME );
+			worldController.resetTimer();
+		}
+		return ( worldController );
+	}
+
+	// checksum
+	//=========
+	/**
+	 * Calculates a checksum over the world state, the score and the bounds, forces and states of
+	 * all {@code MapObjects}. Object ids are not included, because they depend on the number of
+	 * worlds loaded before.
+	 */
+	private static long checksum( WorldController worldController )
+	{
+		ArrayList<MapObject> objects = worldController.getMapObjects();
+		long checksum                = 17L;
+
+		checksum = mix( checksum, worldController.getWorldState() );
+		checksum = mix( checksum, worldController.getScore() );
+		checksum = mix( checksum, objects.size() );
+
+		for ( int i = 0; i < objects.size(); i++ )
+		{
+			MapObject o = objects.get( i );
+			Rectangle b = o.getBounds();
+
+			checksum = mix( checksum, o.getClass().getName().hashCode() );
+			checksum = mix( checksum, Float.floatToIntBits( b.x ) );
+			checksum = mix( checksum, Float.floatToIntBits( b.y ) );
+			checksum = mix( checksum, Float.floatToIntBits( o.getHorizontalForce() ) );
+			checksum = mix( checksum, Float.floatToIntBits( o.getVerticalForce() ) );
+			checksum = mix( checksum, o.getState() );
+			checksum = mix( checksum, o.isOnGround() ? 1 : 0 );
+			checksum = mix( checksum, o.isAlive() ? 1 : 0 );
+		}
+		return ( checksum );
+	}
+
+	// mix
+	//====
+	private static long mix( long checksum, long value )
+	{
+		return ( ( checksum ^ value ) * 0x100000001B3L );
+	}
+
+	// InputScript
+	//============
+	/**
+	 * A pseudo-random key sequence for the player. Every key combination is held for 0.25 to 1.5
+	 * seconds. Running east is favoured, so the player makes progress through the world. The
+	 * sequence only depends on the seed.
+	 */
+	private static class InputScript
+	{
+		boolean[] keys = new boolean[256];
+		Random random;
+		int remaining;
+
+		InputScript( long seed )
+		{
+			random = new Random( seed );
+		}
+
+		void advance()
+		{
+			// Hold current keys
+			//==================
+			if ( remaining > 0 )
+			{
+				remaining--;
+				return;
+			}
+
+			// Choose next keys
+			//=================
+			int direction = random.nextInt( 10 );
+
+			keys[Keys.RIGHT] = direction < 6;
+			keys[Keys.LEFT]  = direction >= 6 && direction < 9;
+			keys[Keys.SPACE] = random.nextInt( 3 ) == 0;
+			keys[Keys.UP]    = random.nextInt( 8 ) == 0;
+			remaining        = CHECKSUM_INTERVAL / 4 + random.nextInt( CHECKSUM_INTERVAL * 5 / 4 );
+		}
+	}
+}
@@ -1,8 +1,11 @@
 package com.sh.jplatformer.resources;
 
+import com.badlogic.gdx.Gdx;
+
 /**
  * The {@code Resources} class grants access to the particular external resources used in the game.
- * Resources are clustered in type-specific inner classes.
+ * Resources are clustered in type-specific inner classes. Textures, fonts and sounds are only
+ * loaded if a graphics context exists. In headless mode all resource fields remain {@code null}.
  * @author Stefan Hsemann
  */
 
@@ -19,6 +22,17 @@ public class Resources
 	{
 	}
 	
+	// isHeadless
+	//===========
+	/**
+	 * @return {@code true} if there is no graphics or audio context, i.e. if the world is simulated
+	 * without a renderer.
+	 */
+	public static boolean isHeadless()
+	{
+		return ( Gdx.gl == null || Gdx.audio == null );
+	}
+	
 	// dispose
 	//========
 	/**
@@ -26,6 +40,12 @@ public class Resources
 	 */
 	public static void dispose()
 	{
+		// Return if headless
+		//===================
+		if ( Resources.isHeadless() )
+		{
+			return;
+		}
 		UI.dispose();
 		WORLD.dispose();
 	}
@@ -116,6 +116,13 @@ public class Ui
 	//============
 	public Ui()
 	{
+		// No assets when headless
+		//========================
+		if ( Resources.isHeadless() )
+		{
+			return;
+		}
+		
 		// Load atlas files
 		//=================
 		atlas_ui = new TextureAtlas( Gdx.files.internal( "resources/images/ui/ui.atlas" ) );
@@ -10,6 +10,7 @@ import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.sh.jplatformer.util.FileUtils;
 import com.sh.jplatformer.world.map.Map;
 
@@ -35,6 +36,7 @@ public class World
 	public Sprite[][] mapTiles;
 	
 	public HashMap<String, Sprite> objectsSprites;
+	private HashMap<String, TextureRegion[]> objectsFrames;
 	
 	// Images: Back- and foreground
 	//=============================
@@ -98,6 +100,21 @@ public class World
 	//============
 	public World()
 	{
+		// Frame cache
+		//============
+		objectsFrames = new HashMap<String, TextureRegion[]>();
+		
+		// No assets when headless
+		//========================
+		if ( Resources.isHeadless() )
+		{
+			objectsSprites              = new HashMap<String, Sprite>();
+			availableBackgroundTextures = new String[] { "" };
+			availableForegroundTextures = new String[] { "" };
+			availableEnvironmentSounds  = new String[] { "" };
+			return;
+		}
+		
 		// Init textures / sprites
 		//========================
 		this.initWaterTiles();
@@ -180,6 +197,52 @@ public class World
 		}
 	}
 	
+	// getObjectFrames
+	//================
+	/**
+	 * Returns the animation frames of an object sprite. The frames are read from left to right and
+	 * top to bottom on the first request and then shared by all {@code MapObjects} requesting the
+	 * same name and frame size, so they must not be modified. Sprites with a single row of frames
+	 * (all objects except the player) yield the same frames as reading only the first row.
+	 * @param name the key of the sprite in {@code objectsSprites}.
+	 * @param frameSize the width and height of a single frame.
+	 * @return the shared frames or {@code null} if no sprite exists for {@code name}.
+	 */
+	public TextureRegion[] getObjectFrames( String name, int frameSize )
+	{
+		// Check cache
+		//============
+		String key             = name + '@' + frameSize;
+		TextureRegion[] frames = objectsFrames.get( key );
+		
+		if ( frames != null )
+		{
+			return ( frames );
+		}
+		
+		// Get sprite
+		//===========
+		Sprite sprite = objectsSprites.get( name );
+		
+		if ( sprite == null )
+		{
+			return ( null );
+		}
+		
+		// Read frames
+		//============
+		TextureRegion[][] regions = sprite.split( frameSize, frameSize );
+		frames                    = new TextureRegion[regions.length * regions[0].length];
+		
+		for ( int i = 0; i < frames.length; i++ )
+		{
+			frames[i] = regions[ i / regions[0].length ][ i % regions[0].length ];
+		}
+		objectsFrames.put( key, frames );
+		
+		return ( frames );
+	}
+	
 	// initSoundEffects
 	//=================
 	private void initSoundEffects()
@@ -52,6 +52,8 @@ public class ObjectMenu extends Table
 	
 	private FormSelectBox<String> slc_objectType;
 	private TextField             txt_attr_powerId;
+	private TextField             txt_attr_collisionLayer;
+	private TextField             txt_attr_collisionMask;
 	private FormCheckBox          chk_attr_powerOn;
 	
 	// Object types
@@ -262,6 +264,14 @@ public class ObjectMenu extends Table
 		txt_attr_powerId.setTextFieldFilter( new TextFieldFilter.DigitsOnlyFilter() );
 		txt_attr_powerId.setMaxLength( 4 );
 		
+		txt_attr_collisionLayer = new TextField( "", skin );
+		txt_attr_collisionLayer.setTextFieldFilter( new TextFieldFilter.DigitsOnlyFilter() );
+		txt_attr_collisionLayer.setMaxLength( 2 );
+		
+		txt_attr_collisionMask = new TextField( "", skin );
+		txt_attr_collisionMask.setTextFieldFilter( new TextFieldFilter.DigitsOnlyFilter() );
+		txt_attr_collisionMask.setMaxLength( 2 );
+		
 		// Check box
 		//==========
 		chk_attr_powerOn = new FormCheckBox ( "", skin );
@@ -281,6 +291,14 @@ public class ObjectMenu extends Table
 				{
 					txt_attr_powerId .setText( "0" );
 				}
+				if ( txt_attr_collisionLayer.getText().length() == 0 )
+				{
+					txt_attr_collisionLayer.setText( "0" );
+				}
+				if ( txt_attr_collisionMask.getText().length() == 0 )
+				{
+					txt_attr_collisionMask.setText( "0" );
+				}
 				
 				// Apply attributes
 				//=================
@@ -288,7 +306,23 @@ public class ObjectMenu extends Table
 				{
 					o.setPowerId( Integer.parseInt( txt_attr_powerId.getText() ) );
 					o.setPowerOn( chk_attr_powerOn.isChecked() );
+					
+					// Collision layers (0 restores the defaults)
+					//===========================================
+					if ( Integer.parseInt( txt_attr_collisionLayer.getText() ) == MapObject.LAYER_NONE )
+					{
+						o.resetCollisionLayers();
+					}
+					else
+					{
+						o.setCollisionLayer( Integer.parseInt( txt_attr_collisionLayer.getText() ) );
+						o.setCollisionMask ( Integer.parseInt( txt_attr_collisionMask .getText() ) );
+					}
 				}
+				
+				// Show applied values
+				//====================
+				updateComponents();
 			}
 		} );
 		
@@ -313,6 +347,26 @@ public class ObjectMenu extends Table
 		tbl_main.add( chk_attr_powerOn ).right();
 		tbl_main.row();
 		
+		// Collision layer
+		//================
+		tbl_main.add( new Label( Lang.txt( "editor_objects_collisionLayer" ), skin ) ).left();
+		tbl_main.add( txt_attr_collisionLayer ).width( 50f ).right();
+		tbl_main.row();
+		
+		// Collision mask
+		//===============
+		tbl_main.add( new Label( Lang.txt( "editor_objects_collisionMask" ), skin ) ).left();
+		tbl_main.add( txt_attr_collisionMask ).width( 50f ).right();
+		tbl_main.row();
+		
+		// Collision hint
+		//===============
+		Label lbl_collisionHint = new Label( Lang.txt( "editor_objects_collisionHint" ), skin, "default" );
+		lbl_collisionHint.setWrap( true );
+		
+		tbl_main.add( lbl_collisionHint ).colspan( 2 ).left();
+		tbl_main.row();
+		
 		// Apply button
 		//=============
 		tbl_main.add( btn_apply ).colspan( 2 )
@@ -547,6 +601,8 @@ public class ObjectMenu extends Table
 			//==================
 			txt_attr_powerId.setText   ( markedObjects.get( lastSize - 1 ).getPowerId() + "" );
 			chk_attr_powerOn.setChecked( markedObjects.get( lastSize - 1 ).isPowerOn() );
+			txt_attr_collisionLayer.setText( markedObjects.get( lastSize - 1 ).getCollisionLayer() + "" );
+			txt_attr_collisionMask .setText( markedObjects.get( lastSize - 1 ).getCollisionMask() + "" );
 			
 			// Swap content
 			//=============
@@ -1,6 +1,7 @@
 package com.sh.jplatformer.ui.stages;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
@@ -20,7 +21,6 @@ import com.sh.jplatformer.util.Lang;
 import com.sh.jplatformer.world.WorldCamera;
 import com.sh.jplatformer.world.WorldController;
 import com.sh.jplatformer.world.map.Map;
-import com.sh.jplatformer.world.map.MapCell;
 import com.sh.jplatformer.world.map.MapObject;
 
 /**
@@ -271,58 +271,63 @@ public class EditorStage extends Stage
 			//========================
 			if ( ctrlPressed == false )
 			{
-				for ( MapCell cell : worldController.getVisibleCells() )
+				Rectangle cells = worldController.getVisibleCells();
+				
+				for ( int row = (int) cells.y; row < (int) ( cells.y + cells.height ); row++ )
 				{
-					// Get hovered cell position
-					//==========================
-					tmpArea.x      = worldCamera.toUnits( Map.CELL_SIZE ) * cell.x;
-					tmpArea.y      = worldCamera.toUnits( Map.CELL_SIZE ) * cell.y;
-					tmpArea.width  = worldCamera.toUnits( Map.CELL_SIZE );
-					tmpArea.height = worldCamera.toUnits( Map.CELL_SIZE );
-					
-					// Hover highlight
-					//================
-					if ( dragMode == EditorStage.DRAG_NONE && tmpArea.contains( mouse ) )
+					for ( int col = (int) cells.x; col < (int) ( cells.x + cells.width ); col++ )
 					{
-						this.drawDragArea( tmpArea, EditorStage.DRAG_HOVER );
-					}
+						// Get hovered cell position
+						//==========================
+						tmpArea.x      = worldCamera.toUnits( Map.CELL_SIZE ) * col;
+						tmpArea.y      = worldCamera.toUnits( Map.CELL_SIZE ) * row;
+						tmpArea.width  = worldCamera.toUnits( Map.CELL_SIZE );
+						tmpArea.height = worldCamera.toUnits( Map.CELL_SIZE );
 					
-					// Drag highlights
-					//================
-					if ( ( dragMode == EditorStage.DRAG_PLACE ||
-					       dragMode == EditorStage.DRAG_REMOVE ) && dragArea.overlaps( tmpArea ) )
-					{
-						// Placement highlight
-						//====================
-						if ( dragMode == EditorStage.DRAG_PLACE )
+						// Hover highlight
+						//================
+						if ( dragMode == EditorStage.DRAG_NONE && tmpArea.contains( mouse ) )
 						{
-							this.drawDragArea( tmpArea, dragMode );
+							this.drawDragArea( tmpArea, EditorStage.DRAG_HOVER );
 						}
-						
-						// Removement highlight
-						//=====================
-						if ( dragMode == EditorStage.DRAG_REMOVE )
+					
+						// Drag highlights
+						//================
+						if ( ( dragMode == EditorStage.DRAG_PLACE ||
+						       dragMode == EditorStage.DRAG_REMOVE ) && dragArea.overlaps( tmpArea ) )
 						{
-							if ( cell.tileSetId > -1 )
+							// Placement highlight
+							//====================
+							if ( dragMode == EditorStage.DRAG_PLACE )
 							{
 								this.drawDragArea( tmpArea, dragMode );
 							}
-						}
-					}	
+						
+							// Removement highlight
+							//=====================
+							if ( dragMode == EditorStage.DRAG_REMOVE )
+							{
+								if ( map.getTileSetId( col, row ) > -1 )
+								{
+									this.drawDragArea( tmpArea, dragMode );
+								}
+							}
+						}	
+					}
 				}
 
 				// Mouse label setup
 				//==================
 				if ( dragMode != EditorStage.DRAG_NONE )
 				{
-					int x1 = map.getCellAt( dragArea.x, dragArea.y ).x;
-					int y1 = map.getCellAt( dragArea.x, dragArea.y ).y;
+					int x1 = map.getColumnAt( dragArea.x );
+					int y1 = map.getRowAt( dragArea.y );
 					
-					int x2 = map.getCellAt( mouse.x, mouse.y ).x;
-					int y2 = map.getCellAt( mouse.x, mouse.y ).y;
+					int x2 = map.getColumnAt( mouse.x );
+					int y2 = map.getRowAt( mouse.y );
 			
-					if ( x2 == x1 ) x2 = map.getCellAt( dragArea.x + dragArea.width, dragArea.y + dragArea.height ).x;
-					if ( y2 == y1 ) y2 = map.getCellAt( dragArea.x + dragArea.width, dragArea.y + dragArea.height ).y;
+					if ( x2 == x1 ) x2 = map.getColumnAt( dragArea.x + dragArea.width );
+					if ( y2 == y1 ) y2 = map.getRowAt( dragArea.y + dragArea.height );
 					
 					int w = -( x1 - x2 ) + 1;
 					int h = -( y1 - y2 ) + 1;
@@ -352,6 +357,19 @@ public class EditorStage extends Stage
 		//============
 		worldController.setHoveredMapObject( null );
 		
+		// Find hovered object
+		//====================
+		if ( sidebarWindow.getEditMode() == EditorStage.EDIT_OBJECTS ||
+		     sidebarWindow.getEditMode() == EditorStage.EDIT_ATTRIBUTES )
+		{
+			if ( dragMode == EditorStage.DRAG_NONE && ctrlPressed == true )
+			{
+				Vector2 mousePos = EditorInput.getMousePosInWorld();
+				
+				worldController.setHoveredMapObject( worldController.getMapObjectAt( mousePos.x, mousePos.y ) );
+			}
+		}
+		
 		// Mouse drag area
 		//================
 		if ( sidebarWindow.getEditMode() == EditorStage.EDIT_OBJECTS )
@@ -378,18 +396,9 @@ public class EditorStage extends Stage
 				
 			// Mouse hover highlight
 			//======================
-			if ( sidebarWindow.getEditMode() == EditorStage.EDIT_OBJECTS ||
-			     sidebarWindow.getEditMode() == EditorStage.EDIT_ATTRIBUTES )
+			if ( o == worldController.getHoveredMapObject() )
 			{
-				if ( dragMode == EditorStage.DRAG_NONE && ctrlPressed == true )
-				{
-					if ( o.getBounds().contains( EditorInput.getMousePosInWorld() ) )
-					{
-						worldController.setHoveredMapObject( o );
-							
-						this.drawDragArea( o.getBounds(), EditorStage.DRAG_HOVER );
-					}
-				}
+				this.drawDragArea( o.getBounds(), EditorStage.DRAG_HOVER );
 			}
 			
 			// Highlight marked objects
@@ -404,32 +413,32 @@ public class EditorStage extends Stage
 					this.drawDragArea( o.getBounds(), EditorStage.DRAG_HOVER );
 				}
 			}
-			
-			// Draw object energy label
-			//=========================
-			if ( Config.get().editor_showPowerInfo )
+		}
+		
+		// Draw object energy labels
+		//==========================
+		if ( Config.get().editor_showPowerInfo )
+		{
+			for ( MapObject o : worldController.getPowerNetwork().getMembers() )
 			{
-				if ( o.isPowerSupported() == true )
-				{
-					// Set values
-					//===========
-					Rectangle pos = worldCamera.project( o.getBounds() );
-					
-					infoText.setLength( 0 );
-					infoText.append( "ID: " + o.getPowerId() + "\n" );
-					
-					if ( o.isPowerOn() == true  ) infoText.append( Lang.txt( "game_on" ) );
-					if ( o.isPowerOn() == false ) infoText.append( Lang.txt( "game_off" ) );
-					
-					// Label setup
-					//============
-					lbl_info.setText( infoText.toString() );
-					lbl_info.setX( pos.x );
-					lbl_info.setY( pos.y + pos.height );
-					lbl_info.setAlignment( Align.left );
-					lbl_info.pack();
-					lbl_info.draw( this.getBatch(), 1f );
-				}
+				// Set values
+				//===========
+				Rectangle pos = worldCamera.project( o.getBounds() );
+				
+				infoText.setLength( 0 );
+				infoText.append( "ID: " + o.getPowerId() + "\n" );
+				
+				if ( o.isPowerOn() == true  ) infoText.append( Lang.txt( "game_on" ) );
+				if ( o.isPowerOn() == false ) infoText.append( Lang.txt( "game_off" ) );
+				
+				// Label setup
+				//============
+				lbl_info.setText( infoText.toString() );
+				lbl_info.setX( pos.x );
+				lbl_info.setY( pos.y + pos.height );
+				lbl_info.setAlignment( Align.left );
+				lbl_info.pack();
+				lbl_info.draw( this.getBatch(), 1f );
 			}
 		}
 		
@@ -502,11 +511,11 @@ public class EditorStage extends Stage
 					
 					// Draw ghost
 					//===========
-					obj.getFrames()[0].setAlpha( 0.2f );
-					obj.getFrames()[0].setX    ( worldCamera.project( obj.getBounds() ).x );
-					obj.getFrames()[0].setY    ( worldCamera.project( obj.getBounds() ).y );
-					obj.getFrames()[0].setSize ( tmpSize, tmpSize );	
-					obj.getFrames()[0].draw    ( this.getBatch() );
+					Rectangle ghostPos = worldCamera.project( obj.getBounds() );
+					
+					this.getBatch().setColor( 1f, 1f, 1f, 0.2f );
+					this.getBatch().draw    ( obj.getFrames()[0], ghostPos.x, ghostPos.y, tmpSize, tmpSize );
+					this.getBatch().setColor( Color.WHITE );
 				}
 			}
 		}
@@ -1,19 +1,38 @@
 package com.sh.jplatformer.util;
 
+import java.util.Random;
+
 /**
  * The {@code Randomizer} class provides static utility methods to generate random numbers of
- * several types within a specified range.
+ * several types within a specified range. All values are drawn from one shared generator, which
+ * can be seeded to make a simulation reproducible.
  * @author Stefan Hsemann
  */
 
 public class Randomizer
 {
+	// Properties
+	//===========
+	private static final Random random = new Random();
+	
 	// Constructor
 	//============
 	private Randomizer()
 	{
 	}
 	
+	// setSeed
+	//========
+	/**
+	 * Sets the seed of the shared generator. The same seed results in the same sequence of random
+	 * numbers.
+	 * @param seed the new seed.
+	 */
+	public static void setSeed( long seed )
+	{
+		random.setSeed( seed );
+	}
+	
 	// getInt
 	//=======
 	/**
@@ -24,7 +43,7 @@ public class Randomizer
 	 */
 	public static int getInt( int min, int max )
 	{
-		return ( int ) ( min + Math.round( ( max - min ) * Math.random() ) );
+		return ( int ) ( min + Math.round( ( max - min ) * random.nextDouble() ) );
 	}
 	
 	// getLong
@@ -37,7 +56,7 @@ public class Randomizer
 	 */
 	public static long getLong( long min, long max )
 	{
-		return ( min + Math.round( ( max - min ) * Math.random() ) );
+		return ( min + Math.round( ( max - min ) * random.nextDouble() ) );
 	}
 	
 	// getFloat
@@ -50,7 +69,7 @@ public class Randomizer
 	 */
 	public static float getFloat( float min, float max )
 	{
-		return ( float ) ( min + ( max - min ) * Math.random() );
+		return ( float ) ( min + ( max - min ) * random.nextDouble() );
 	}
 	
 	// getDouble
@@ -63,6 +82,6 @@ public class Randomizer
 	 */
 	public static double getDouble( double min, double max )
 	{
-		return ( min + ( max - min ) * Math.random() );
+		return ( min + ( max - min ) * random.nextDouble() );
 	}
 }
@@ -0,0 +1,65 @@
+package com.sh.jplatformer.world;
+
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
+import com.sh.jplatformer.world.map.MapObject;
+
+/**
+ * The {@code NeighbourScan} class performs the read phase of the object update on a
+ * {@code ForkJoinPool}. The list of objects is split into batches and every object collects its
+ * neighbour snapshot via {@code MapObject.scanNeighbours()}. Objects must not be moved, added or
+ * removed while the scan is running.
+ */
+
+public class NeighbourScan extends RecursiveAction
+{
+	// Constants
+	//==========
+	private static final long serialVersionUID = 1L;
+	public static final int BATCH_SIZE = 64;
+	
+	// Properties
+	//===========
+	private ArrayList<MapObject> mapObjects;
+	private int from;
+	private int to;
+	
+	// Constructor
+	//============
+	/**
+	 * Constructs a new {@code NeighbourScan}.
+	 * @param newMapObjects the objects to scan.
+	 * @param newFrom the index of the first object to scan (inclusive).
+	 * @param newTo the index of the last object to scan (exclusive).
+	 */
+	public NeighbourScan( ArrayList<MapObject> newMapObjects, int newFrom, int newTo )
+	{
+		mapObjects = newMapObjects;
+		from       = newFrom;
+		to         = newTo;
+	}
+	
+	// compute
+	//========
+	@Override
+	protected void compute()
+	{
+		// Scan batch
+		//===========
+		if ( to - from <= BATCH_SIZE )
+		{
+			for ( int i = from; i < to; i++ )
+			{
+				mapObjects.get( i ).scanNeighbours();
+			}
+			return;
+		}
+		
+		// Split range
+		//============
+		int center = ( from + to ) >>> 1;
+		
+		invokeAll( new NeighbourScan( mapObjects, from, center ),
+		           new NeighbourScan( mapObjects, center, to ) );
+	}
+}
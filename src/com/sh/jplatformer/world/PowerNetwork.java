@@ -0,0 +1,186 @@
+package com.sh.jplatformer.world;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import com.sh.jplatformer.world.map.MapObject;
+
+/**
+ * The {@code PowerNetwork} class maps every {@code powerId} to the power supported
+ * {@code MapObjects} sharing that id (channel). Switching a channel only visits its members, and
+ * every member whose power state changes is notified via {@code MapObject.onPowerChanged()}.
+ */
+
+public class PowerNetwork
+{
+	// Properties
+	//===========
+	private HashMap<Integer, ArrayList<MapObject>> channels;
+	private ArrayList<MapObject> members;
+	
+	// Constructor
+	//============
+	/**
+	 * Constructs a new empty {@code PowerNetwork}.
+	 */
+	public PowerNetwork()
+	{
+		channels = new HashMap<Integer, ArrayList<MapObject>>();
+		members  = new ArrayList<MapObject>();
+	}
+	
+	// clear
+	//======
+	/**
+	 * Removes all members from this {@code PowerNetwork}.
+	 */
+	public void clear()
+	{
+		channels.clear();
+		members.clear();
+	}
+	
+	// add
+	//====
+	/**
+	 * Adds a {@code MapObject} to the channel of its {@code powerId}. Objects without power
+	 * support are ignored.
+	 * @param o the {@code MapObject} to add.
+	 */
+	public void add( MapObject o )
+	{
+		// Ignore unsupported objects
+		//===========================
+		if ( o.isPowerSupported() == false )
+		{
+			return;
+		}
+		
+		// Get or create channel
+		//======================
+		ArrayList<MapObject> channel = channels.get( o.getPowerId() );
+		
+		if ( channel == null )
+		{
+			channel = new ArrayList<MapObject>();
+			channels.put( o.getPowerId(), channel );
+		}
+		
+		// Add member
+		//===========
+		channel.add( o );
+		members.add( o );
+	}
+	
+	// remove
+	//=======
+	/**
+	 * Removes a {@code MapObject} from the channel of its {@code powerId}.
+	 * @param o the {@code MapObject} to remove.
+	 */
+	public void remove( MapObject o )
+	{
+		if ( this.removeFromChannel( o, o.getPowerId() ) )
+		{
+			members.remove( o );
+		}
+	}
+	
+	// reassign
+	//=========
+	/**
+	 * Moves a registered {@code MapObject} to the channel of its current {@code powerId}. This is
+	 * a no-op if the object is not registered.
+	 * @param o the {@code MapObject} whose {@code powerId} has changed.
+	 * @param oldPowerId the previous {@code powerId} of the object.
+	 */
+	public void reassign( MapObject o, int oldPowerId )
+	{
+		if ( this.removeFromChannel( o, oldPowerId ) )
+		{
+			members.remove( o );
+			this.add( o );
+		}
+	}
+	
+	// toggle
+	//=======
+	/**
+	 * Inverts the power state of all members of a channel.
+	 * @param powerId the channel to toggle.
+	 */
+	public void toggle( int powerId )
+	{
+		ArrayList<MapObject> channel = this.getChannel( powerId );
+		
+		for ( int i = 0; i < channel.size(); i++ )
+		{
+			channel.get( i ).setPowerOn( !channel.get( i ).isPowerOn() );
+		}
+	}
+	
+	// setPowerOn
+	//===========
+	/**
+	 * Sets the power state of all members of a channel.
+	 * @param powerId the channel to switch.
+	 * @param value the new power state.
+	 */
+	public void setPowerOn( int powerId, boolean value )
+	{
+		ArrayList<MapObject> channel = this.getChannel( powerId );
+		
+		for ( int i = 0; i < channel.size(); i++ )
+		{
+			channel.get( i ).setPowerOn( value );
+		}
+	}
+	
+	// getChannel
+	//===========
+	/**
+	 * @param powerId the channel to return.
+	 * @return the members of the channel. The list must not be modified.
+	 */
+	public ArrayList<MapObject> getChannel( int powerId )
+	{
+		ArrayList<MapObject> channel = channels.get( powerId );
+		
+		if ( channel == null )
+		{
+			return ( new ArrayList<MapObject>( 0 ) );
+		}
+		return ( channel );
+	}
+	
+	// getMembers
+	//===========
+	/**
+	 * @return all power supported {@code MapObjects} of the world. The list must not be modified.
+	 */
+	public ArrayList<MapObject> getMembers()
+	{
+		return ( members );
+	}
+	
+	// removeFromChannel
+	//==================
+	private boolean removeFromChannel( MapObject o, int powerId )
+	{
+		// Get channel
+		//============
+		ArrayList<MapObject> channel = channels.get( powerId );
+		
+		if ( channel == null || channel.remove( o ) == false )
+		{
+			return ( false );
+		}
+		
+		// Drop empty channel
+		//===================
+		if ( channel.isEmpty() )
+		{
+			channels.remove( powerId );
+		}
+		return ( true );
+	}
+}
@@ -0,0 +1,391 @@
+package com.sh.jplatformer.world;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.sh.jplatformer.world.map.Map;
+import com.sh.jplatformer.world.map.MapObject;
+
+/**
+ * The {@code TriggerIndex} class detects the contacts of the player with trigger volumes and
+ * {@code MapObjects}. Static volumes (e.g. the start and finish area of the {@code Map}) are
+ * indexed by the cells they cover, so a contact pass only tests the volumes registered in the
+ * cells of the player. Contacts with {@code MapObjects} are taken from the objects overlapping the
+ * player, which the {@code WorldController} looks up in its {@code SpatialHash}. Only objects whose
+ * collision mask contains {@code MapObject.LAYER_PLAYER} take part, so objects that do not react
+ * to the player (e.g. cannons, platforms, switches) are skipped.
+ * <p>
+ * Every pass compares the current contacts to the contacts of the previous pass and emits enter,
+ * stay and exit events. Objects receive them via {@code MapObject.onPlayerEnter()},
+ * {@code MapObject.onPlayerCollision()} (every pass with contact, including the first one) and
+ * {@code MapObject.onPlayerExit()}. The events of volumes are available via {@code getEvent()}.
+ */
+
+public class TriggerIndex
+{
+	// Events
+	//=======
+	public static final int EVENT_NONE  = -1;
+	public static final int EVENT_ENTER = 0;
+	public static final int EVENT_STAY  = 1;
+	public static final int EVENT_EXIT  = 2;
+
+	// Volumes
+	//========
+	public static final int VOLUME_START  = 0;
+	public static final int VOLUME_FINISH = 1;
+	public static final int VOLUME_COUNT  = 2;
+
+	// Properties
+	//===========
+	private Volume[] volumes;
+	private HashMap<Long, ArrayList<Volume>> cells;
+	private ArrayList<MapObject> contacts;
+	private ArrayList<MapObject> previousContacts;
+
+	// Metrics
+	//========
+	private long passCount;
+	private long volumeTestCount;
+	private long enterCount;
+	private long exitCount;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new empty {@code TriggerIndex}.
+	 */
+	public TriggerIndex()
+	{
+		volumes          = new Volume[VOLUME_COUNT];
+		cells            = new HashMap<Long, ArrayList<Volume>>();
+		contacts         = new ArrayList<MapObject>();
+		previousContacts = new ArrayList<MapObject>();
+
+		for ( int i = 0; i < VOLUME_COUNT; i++ )
+		{
+			volumes[i] = new Volume();
+		}
+	}
+
+	// setVolume
+	//==========
+	/**
+	 * Sets the area of a static volume. The volume is only indexed again if the area has changed,
+	 * so the areas of the {@code Map} may be passed on every tick.
+	 * @param id the {@code VOLUME_*} to set.
+	 * @param area the area in units or {@code null} to remove the volume.
+	 */
+	public void setVolume( int id, Rectangle area )
+	{
+		Volume v = volumes[id];
+
+		// Ignore unchanged areas
+		//=======================
+		if ( area == null ? v.isIndexed == false : v.isIndexed && v.area.equals( area ) )
+		{
+			return;
+		}
+
+		// Remove old cells
+		//=================
+		if ( v.isIndexed )
+		{
+			for ( int row = v.row1; row <= v.row2; row++ )
+			{
+				for ( int col = v.col1; col <= v.col2; col++ )
+				{
+					ArrayList<Volume> cell = cells.get( this.key( col, row ) );
+
+					cell.remove( v );
+
+					if ( cell.isEmpty() )
+					{
+						cells.remove( this.key( col, row ) );
+					}
+				}
+			}
+			v.isIndexed = false;
+			v.isInside  = false;
+			v.event     = EVENT_NONE;
+		}
+		if ( area == null )
+		{
+			return;
+		}
+
+		// Add new cells
+		//==============
+		v.area.set( area );
+		v.col1      = MathUtils.floor( area.x / Map.CELL_SIZE );
+		v.row1      = MathUtils.floor( area.y / Map.CELL_SIZE );
+		v.col2      = MathUtils.floor( ( area.x + area.width ) / Map.CELL_SIZE );
+		v.row2      = MathUtils.floor( ( area.y + area.height ) / Map.CELL_SIZE );
+		v.isIndexed = true;
+
+		for ( int row = v.row1; row <= v.row2; row++ )
+		{
+			for ( int col = v.col1; col <= v.col2; col++ )
+			{
+				ArrayList<Volume> cell = cells.get( this.key( col, row ) );
+
+				if ( cell == null )
+				{
+					cell = new ArrayList<Volume>( 1 );
+					cells.put( this.key( col, row ), cell );
+				}
+				cell.add( v );
+			}
+		}
+	}
+
+	// update
+	//=======
+	/**
+	 * Performs a contact pass and emits the events of all volumes and objects.
+	 * @param player the player object.
+	 * @param candidates the {@code MapObjects} overlapping the bounds of the player. The list may
+	 * contain the player itself, dead objects and objects without {@code LAYER_PLAYER} in their
+	 * collision mask, which are ignored.
+	 */
+	public void update( MapObject player, ArrayList<MapObject> candidates )
+	{
+		Rectangle bounds = player.getBounds();
+
+		passCount++;
+
+		// Test volumes of covered cells
+		//==============================
+		int col1 = MathUtils.floor( bounds.x / Map.CELL_SIZE );
+		int row1 = MathUtils.floor( bounds.y / Map.CELL_SIZE );
+		int col2 = MathUtils.floor( ( bounds.x + bounds.width ) / Map.CELL_SIZE );
+		int row2 = MathUtils.floor( ( bounds.y + bounds.height ) / Map.CELL_SIZE );
+
+		for ( int row = row1; row <= row2 && cells.isEmpty() == false; row++ )
+		{
+			for ( int col = col1; col <= col2; col++ )
+			{
+				ArrayList<Volume> cell = cells.get( this.key( col, row ) );
+
+				if ( cell != null )
+				{
+					for ( int i = 0; i < cell.size(); i++ )
+					{
+						Volume v = cell.get( i );
+
+						if ( v.passCount != passCount )
+						{
+							v.passCount = passCount;
+							v.isTouched = bounds.overlaps( v.area );
+							volumeTestCount++;
+						}
+					}
+				}
+			}
+		}
+
+		// Emit volume events
+		//===================
+		for ( int i = 0; i < VOLUME_COUNT; i++ )
+		{
+			Volume v    = volumes[i];
+			boolean hit = v.passCount == passCount && v.isTouched;
+
+			if ( hit )
+			{
+				v.event = v.isInside ? EVENT_STAY : EVENT_ENTER;
+			}
+			else
+			{
+				v.event = v.isInside ? EVENT_EXIT : EVENT_NONE;
+			}
+			v.isInside = hit;
+		}
+
+		// Collect object contacts
+		//========================
+		ArrayList<MapObject> swap = previousContacts;
+
+		previousContacts = contacts;
+		contacts         = swap;
+		contacts.clear();
+
+		for ( int i = 0; i < candidates.size(); i++ )
+		{
+			MapObject o = candidates.get( i );
+
+			if ( o != player && o.isAlive() && ( o.getCollisionMask() & MapObject.LAYER_PLAYER ) != 0 &&
+			     bounds.overlaps( o.getBounds() ) )
+			{
+				contacts.add( o );
+			}
+		}
+
+		// Emit exit events
+		//=================
+		for ( int i = 0; i < previousContacts.size(); i++ )
+		{
+			MapObject o = previousContacts.get( i );
+
+			if ( contacts.contains( o ) == false && o.isAlive() )
+			{
+				o.onPlayerExit();
+				exitCount++;
+			}
+		}
+
+		// Emit enter + stay events
+		//=========================
+		for ( int i = 0; i < contacts.size(); i++ )
+		{
+			MapObject o = contacts.get( i );
+
+			if ( previousContacts.contains( o ) == false )
+			{
+				o.onPlayerEnter();
+				enterCount++;
+			}
+			o.onPlayerCollision();
+		}
+	}
+
+	// reset
+	//======
+	/**
+	 * Forgets all contacts without emitting exit events, e.g. if the player has been replaced.
+	 * The volumes remain indexed.
+	 */
+	public void reset()
+	{
+		contacts.clear();
+		previousContacts.clear();
+
+		for ( int i = 0; i < VOLUME_COUNT; i++ )
+		{
+			volumes[i].isInside = false;
+			volumes[i].event    = EVENT_NONE;
+		}
+	}
+
+	// remove
+	//=======
+	/**
+	 * Forgets the contact with a {@code MapObject} that is removed from the world.
+	 * @param o the {@code MapObject} to remove.
+	 */
+	public void remove( MapObject o )
+	{
+		contacts.remove( o );
+		previousContacts.remove( o );
+	}
+
+	// getEvent
+	//=========
+	/**
+	 * @param id the {@code VOLUME_*} to check.
+	 * @return the {@code EVENT_*} of the volume in the last contact pass.
+	 */
+	public int getEvent( int id )
+	{
+		return ( volumes[id].event );
+	}
+
+	// isInside
+	//=========
+	/**
+	 * @param id the {@code VOLUME_*} to check.
+	 * @return {@code true} if the player overlapped the volume in the last contact pass,
+	 * {@code false} otherwise.
+	 */
+	public boolean isInside( int id )
+	{
+		return ( volumes[id].isInside );
+	}
+
+	// getContacts
+	//============
+	/**
+	 * @return the {@code MapObjects} overlapping the player in the last contact pass.
+	 */
+	public ArrayList<MapObject> getContacts()
+	{
+		return ( contacts );
+	}
+
+	// getCellCount
+	//=============
+	/**
+	 * @return the number of cells covered by static volumes.
+	 */
+	public int getCellCount()
+	{
+		return ( cells.size() );
+	}
+
+	// getPassCount
+	//=============
+	/**
+	 * @return the number of contact passes performed.
+	 */
+	public long getPassCount()
+	{
+		return ( passCount );
+	}
+
+	// getVolumeTestCount
+	//===================
+	/**
+	 * @return the number of overlap tests of static volumes performed.
+	 */
+	public long getVolumeTestCount()
+	{
+		return ( volumeTestCount );
+	}
+
+	// getEnterCount
+	//==============
+	/**
+	 * @return the number of enter events emitted to {@code MapObjects}.
+	 */
+	public long getEnterCount()
+	{
+		return ( enterCount );
+	}
+
+	// getExitCount
+	//=============
+	/**
+	 * @return the number of exit events emitted to {@code MapObjects}.
+	 */
+	public long getExitCount()
+	{
+		return ( exitCount );
+	}
+
+	// key
+	//====
+	private long key( int col, int row )
+	{
+		return ( ( (long) col << 32 ) | ( row & 0xFFFFFFFFL ) );
+	}
+
+	// Volume
+	//=======
+	/**
+	 * A static volume and its contact state.
+	 */
+	private static class Volume
+	{
+		Rectangle area = new Rectangle();
+		int col1;
+		int row1;
+		int col2;
+		int row2;
+		boolean isIndexed;
+		boolean isInside;
+		boolean isTouched;
+		long passCount;
+		int event = EVENT_NONE;
+	}
+}
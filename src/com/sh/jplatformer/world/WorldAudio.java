@@ -143,6 +143,12 @@ public class WorldAudio
 	 */
 	public static void addSound( Sound soundFile, MapObject source )
 	{
+		// Ignore if not loaded
+		//=====================
+		if ( soundFile == null )
+		{
+			return;
+		}
 		objectSounds.add( new WorldSound( soundFile, source ) );
 	}
 	
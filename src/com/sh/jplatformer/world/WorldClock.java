@@ -0,0 +1,81 @@
+package com.sh.jplatformer.world;
+
+/**
+ * The {@code WorldClock} class represents the game time of a world. Unlike the system time, it only
+ * advances while the simulation is running, so pausing the game does not require any timer to be
+ * adjusted. All object routines should read their time from the {@code WorldClock} of their
+ * {@code WorldController}.
+ * <p>
+ * The clock starts at the current system time by default, so timers stored in older world files
+ * are already expired when the world is loaded.
+ */
+
+public class WorldClock
+{
+	// Properties
+	//===========
+	private double time;
+	private float timeScale;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new {@code WorldClock} starting at the current system time.
+	 */
+	public WorldClock()
+	{
+		this.reset( System.currentTimeMillis() );
+	}
+
+	// reset
+	//======
+	/**
+	 * Resets the clock to a specified time and the time scale to 1.
+	 * @param startTime the new time in milliseconds.
+	 */
+	public void reset( long startTime )
+	{
+		time      = startTime;
+		timeScale = 1f;
+	}
+
+	// advance
+	//========
+	/**
+	 * Advances the clock by a specified simulation step.
+	 * @param delta the simulation step in seconds.
+	 */
+	public void advance( float delta )
+	{
+		time += delta * 1000.0;
+	}
+
+	// getTime
+	//========
+	/**
+	 * @return the current game time in milliseconds.
+	 */
+	public long getTime()
+	{
+		return ( (long) time );
+	}
+
+	// setTimeScale
+	//=============
+	/**
+	 * Sets the speed of the game time relative to the real time. Values below 1 result in a slow
+	 * motion, values above 1 in a fast forward. A value of 0 stops the game time.
+	 * @param scale the new time scale.
+	 */
+	public void setTimeScale( float scale )
+	{
+		timeScale = Math.max( scale, 0f );
+	}
+
+	// getTimeScale
+	//=============
+	public float getTimeScale()
+	{
+		return ( timeScale );
+	}
+}
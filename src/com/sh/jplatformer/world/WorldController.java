@@ -6,12 +6,18 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.sh.jplatformer.JPlatformerGame;
 import com.sh.jplatformer.resources.Resources;
+import com.sh.jplatformer.world.map.AutoTile;
 import com.sh.jplatformer.world.map.Map;
-import com.sh.jplatformer.world.map.MapCell;
 import com.sh.jplatformer.world.map.MapObject;
 import com.sh.jplatformer.world.map.MapPopup;
+import com.sh.jplatformer.world.map.NavGraph;
+import com.sh.jplatformer.world.map.SpatialHash;
+import com.sh.jplatformer.world.map.TimerWheel;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The {@code WorldController} represents the game world. It bundles and processes all world
@@ -27,6 +33,21 @@ public class WorldController implements Serializable
 	//==========
 	private static final long serialVersionUID = 1L;
 	
+	// Simulation
+	//===========
+	public static final float TICK_RATE           = 120f;
+	public static final float TICK_DELTA          = 1f / TICK_RATE;
+	public static final int   MAX_TICKS_PER_FRAME = 12;
+	public static final float MAX_FRAME_DELTA     = 0.25f;
+	
+	// Activity
+	//=========
+	public static final float DEFAULT_ACTIVITY_MARGIN = Map.CELL_SIZE * 8f;
+	
+	// Parallel update
+	//================
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 1000;
+	
 	// States
 	//=======
 	public static final int STATE_PLAYING      = 0;
@@ -41,15 +62,18 @@ public class WorldController implements Serializable
 	private int score;
 	private long gameStartTime;
 	private long gameElapsedTime;
-	private long pauseStartTime;
 	private boolean isLive;
+	private transient WorldClock clock;
 	
 	// World
 	//======
 	public static float worldDelta;
+	public static float frameDelta;
+	private transient float tickAccumulator;
+	private transient long tickCount;
 	private Map map;
 	private WorldCamera worldCamera;
-	private ArrayList<MapCell> visibleMapCells;
+	private transient Rectangle visibleCells;
 	private ArrayList<MapPopup> popups;
 	private ArrayList<MapPopup> deadPopups;
 	
@@ -60,11 +84,63 @@ public class WorldController implements Serializable
 	// Objects
 	//========
 	private ArrayList<MapObject> mapObjects;
-	private ArrayList<MapObject> deadMapObjects;
 	private ArrayList<MapObject> markedMapObjects;
 	private ArrayList<MapObject> tmp_objectsInArea;
 	private MapObject hoveredMapObject;
 	
+	// Command buffer
+	//===============
+	private transient ArrayList<MapObject> pendingSpawns;
+	private transient HashSet<MapObject> pendingRemovals;
+	
+	// Power network
+	//==============
+	private transient PowerNetwork powerNetwork;
+	
+	// Triggers
+	//=========
+	private transient TriggerIndex triggerIndex;
+	private transient ArrayList<MapObject> tmp_contacts;
+	
+	// Pools
+	//======
+	private transient HashMap<Class<?>, WorldPool<MapObject>> mapObjectPools;
+	private transient WorldPool<MapPopup> popupPool;
+	
+	// Broadphase
+	//===========
+	private transient SpatialHash spatialHash;
+	private transient SpatialHash staticHash;
+	private transient boolean isSpatialHashEnabled;
+	private transient Rectangle tmp_movedBounds;
+	
+	// Activity regions
+	//=================
+	private transient boolean isActivityRegionsEnabled;
+	private transient float activityMargin;
+	private transient Rectangle playerRegion;
+	private transient Rectangle cameraRegion;
+	private transient int sleepingCount;
+	
+	// Timer wheel
+	//============
+	private transient TimerWheel timerWheel;
+	private transient int dormantCount;
+	private transient Rectangle tmp_tileArea;
+	
+	// Navigation
+	//===========
+	private transient ArrayList<NavGraph> navGraphs;
+	
+	// Two-phase update
+	//=================
+	private transient ArrayList<MapObject> activeMapObjects;
+	private transient int parallelThreshold;
+	
+	// Streaming
+	//==========
+	private transient WorldStreamer streamer;
+	
 	// Constructor
 	//============
 	/**
@@ -74,16 +150,49 @@ public class WorldController implements Serializable
 	{
 		// Initialize objects
 		//===================
-		map               = new Map( 0, 0 );
-		worldCamera       = new WorldCamera( this );
-		visibleMapCells   = new ArrayList<MapCell>();
-		popups            = new ArrayList<MapPopup>();
-		deadPopups        = new ArrayList<MapPopup>();
-		mapObjects        = new ArrayList<MapObject>();
-		deadMapObjects    = new ArrayList<MapObject>();
-		markedMapObjects  = new ArrayList<MapObject>();
-		tmp_objectsInArea = new ArrayList<MapObject>();
-		isLive            = true;
+		map                  = new Map( 0, 0 );
+		worldCamera          = new WorldCamera( this );
+		visibleCells         = new Rectangle();
+		popups               = new ArrayList<MapPopup>();
+		deadPopups           = new ArrayList<MapPopup>();
+		mapObjects           = new ArrayList<MapObject>();
+		markedMapObjects     = new ArrayList<MapObject>();
+		tmp_objectsInArea    = new ArrayList<MapObject>();
+		clock                = new WorldClock();
+		pendingSpawns        = new ArrayList<MapObject>();
+		pendingRemovals      = new HashSet<MapObject>();
+		powerNetwork         = new PowerNetwork();
+		triggerIndex         = new TriggerIndex();
+		tmp_contacts         = new ArrayList<MapObject>();
+		mapObjectPools       = new HashMap<Class<?>, WorldPool<MapObject>>();
+		popupPool            = new WorldPool<MapPopup>()
+		{
+			@Override
+			protected MapPopup newObject()
+			{
+				return ( new MapPopup() );
+			}
+		};
+		spatialHash          = new SpatialHash();
+		staticHash           = new SpatialHash();
+		isSpatialHashEnabled = true;
+		tmp_movedBounds      = new Rectangle();
+		timerWheel           = new TimerWheel();
+		tmp_tileArea         = new Rectangle();
+		navGraphs            = new ArrayList<NavGraph>();
+		playerRegion         = new Rectangle();
+		cameraRegion         = new Rectangle();
+		activityMargin       = DEFAULT_ACTIVITY_MARGIN;
+		isLive               = true;
+		
+		// Activity regions
+		//=================
+		isActivityRegionsEnabled = true;
+		
+		// Two-phase update
+		//=================
+		activeMapObjects  = new ArrayList<MapObject>();
+		parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
 		
 		// Reset
 		//======
@@ -109,12 +218,15 @@ public class WorldController implements Serializable
 	 */
 	public void createWorld( int columns, int rows )
 	{
+		// Streaming
+		//==========
+		this.setStreamer( null );
+		
 		// Game
 		//=====
 		worldState     = STATE_PLAYING;	
 		score          = 0;
-		gameStartTime  = System.currentTimeMillis();
-		pauseStartTime = 0;
+		gameStartTime  = clock.getTime();
 		
 		// Camera
 		//=======
@@ -139,6 +251,13 @@ public class WorldController implements Serializable
 		//========
 		mapObjects.clear();
 		markedMapObjects.clear();
+		pendingSpawns.clear();
+		pendingRemovals.clear();
+		powerNetwork.clear();
+		spatialHash.clear();
+		staticHash.clear();
+		triggerIndex.reset();
+		timerWheel.clear( clock.getTime() );
 		player = null;
 		MapObject.idCount = 0;
 	}
@@ -146,25 +265,45 @@ public class WorldController implements Serializable
 	// update
 	//=======
 	/**
-	 * Processes and updates all world components.
+	 * Processes and updates all world components. The simulation is advanced in fixed steps of
+	 * {@code TICK_DELTA} seconds, so a rendered frame may perform several ticks or none at all.
+	 * The number of ticks depends on the time scale of the {@code WorldClock}. Ticks that cannot be
+	 * processed within {@code MAX_TICKS_PER_FRAME} (multiplied by a fast forward time scale) are
+	 * dropped.
 	 */
 	public void update()
 	{
-		// Update delta time
-		//==================
-		worldDelta = Gdx.graphics.getRawDeltaTime();
+		// Update frame delta time
+		//========================
+		frameDelta = Math.min( Gdx.graphics.getRawDeltaTime(), MAX_FRAME_DELTA );
 
-		// Update time
-		//============
-		updateTimers();
-		
 		// Update world
 		//=============
 		if ( JPlatformerGame.get().isPaused() == false )
 		{
-			updateMapObjects();
-			updatePopups();
-			updateWorldState();
+			// Perform ticks
+			//==============
+			int ticks    = 0;
+			int maxTicks = MAX_TICKS_PER_FRAME * (int) Math.max( 1f, Math.ceil( clock.getTimeScale() ) );
+			tickAccumulator += frameDelta * clock.getTimeScale();
+			
+			while ( tickAccumulator >= TICK_DELTA && ticks < maxTicks )
+			{
+				this.tick();
+				tickAccumulator -= TICK_DELTA;
+				ticks++;
+			}
+			
+			// Drop remaining ticks
+			//=====================
+			if ( tickAccumulator >= TICK_DELTA )
+			{
+				tickAccumulator = 0f;
+			}
+		}
+		else
+		{
+			tickAccumulator = 0f;
 		}
 		
 		// Update camera
@@ -172,75 +311,112 @@ public class WorldController implements Serializable
 		updateCamera();
 	}
 	
+	// tick
+	//=====
+	/**
+	 * Advances the simulation by one fixed step of {@code TICK_DELTA} seconds.
+	 */
+	public void tick()
+	{
+		// Set fixed delta time
+		//=====================
+		worldDelta = TICK_DELTA;
+		tickCount++;
+		
+		// Update time
+		//============
+		clock.advance( TICK_DELTA );
+		updateTimers();
+		
+		// Update world
+		//=============
+		updateMapObjects();
+		updatePopups();
+		updateWorldState();
+	}
+	
+	// getTickCount
+	//=============
+	/**
+	 * @return the number of simulation ticks performed since this {@code WorldController} was
+	 * created.
+	 */
+	public long getTickCount()
+	{
+		return ( tickCount );
+	}
+	
 	// updateTiles
 	//============
 	/**
-	 * Updates all {@code MapCells} and their {@code tileId} property.
+	 * Updates the tile ID of all occupied cells of the {@code Map}. This full rebuild is required
+	 * after a map was loaded or reset; edits only update the cells around the edited area. The
+	 * navigation graphs are discarded and built again on their next query.
 	 */
 	public void updateTiles()
 	{
+		navGraphs.clear();
+		this.updateTiles( 0, 0, map.getColumns() - 1, map.getRows() - 1 );
+	}
+	
+	// updateTiles
+	//============
+	/**
+	 * Updates the tile ID and the corner overlays of the occupied cells within a range. Empty
+	 * cells are skipped, as their tiles are neither drawn nor saved, and empty chunks are skipped
+	 * as a whole. The range is limited to the {@code Map}. The navigation graphs are updated for
+	 * the range as well, and dormant objects standing on the range are woken, so they fall if their
+	 * ground was removed.
+	 * @param col1 the first column of the range.
+	 * @param row1 the first row of the range.
+	 * @param col2 the last column of the range.
+	 * @param row2 the last row of the range.
+	 */
+	public void updateTiles( int col1, int row1, int col2, int row2 )
+	{
+		// Limit range
+		//============
+		col1 = Math.max( col1, 0 );
+		row1 = Math.max( row1, 0 );
+		col2 = Math.min( col2, map.getColumns() - 1 );
+		row2 = Math.min( row2, map.getRows() - 1 );
+		
 		// Iteration
 		//==========
-		for ( MapCell cell : map.getCells() )
+		for ( int row = row1; row <= row2; row++ )
 		{
-			// Set center tile
-			//================
-			cell.tileId = 4;
-			int tileSetId = cell.tileSetId;
-			
-			// Rectangular (right)
-			//====================
-			if ( compareTiles( tileSetId, cell.x+1, cell.y ) == -1 )
+			for ( int col = col1; col <= col2; col++ )
 			{
-				if ( compareTiles( tileSetId, cell.x, cell.y-1 ) == -1 ) cell.tileId = 8; // Top Right Corner
-				if ( compareTiles( tileSetId, cell.x, cell.y+1 ) == -1 ) cell.tileId = 2; // Bottom Right Corner
-				if ( compareTiles( tileSetId, cell.x, cell.y-1 ) >= +0 &&
-				     compareTiles( tileSetId, cell.x, cell.y+1 ) >= +0 ) cell.tileId = 5; // Right Side Center
-			}
-
-			// Rectangular (left)
-			//===================
-			if ( compareTiles( tileSetId, cell.x-1, cell.y ) == -1 )
-			{
-				if ( compareTiles( tileSetId, cell.x, cell.y-1 ) == -1 ) cell.tileId = 6; // Top Left Corner
-				if ( compareTiles( tileSetId, cell.x, cell.y+1 ) == -1 ) cell.tileId = 0; // Bottom Left Corner
-				if ( compareTiles( tileSetId, cell.x, cell.y-1 ) >= +0 &&
-				     compareTiles( tileSetId, cell.x, cell.y+1 ) >= +0 ) cell.tileId = 3; // Left Side Center
-			}
-				
-			// Rectangular center (top, bottom)
-			//=================================
-			if ( compareTiles( tileSetId, cell.x-1, cell.y ) >= +0 &&
-			     compareTiles( tileSetId, cell.x+1, cell.y ) >= +0 )
-			{
-				if ( compareTiles( tileSetId, cell.x, cell.y-1 ) == -1 ) cell.tileId = 7; // Top Center
-				if ( compareTiles( tileSetId, cell.x, cell.y+1 ) == -1 ) cell.tileId = 1; // Bottom Center
-			}
-				
-			// Single Tiles (Horizontal)
-			//==========================
-			if ( compareTiles( tileSetId, cell.x, cell.y-1 ) == -1 &&
-			     compareTiles( tileSetId, cell.x, cell.y+1 ) == -1 )
-			{
-				if ( compareTiles( tileSetId, cell.x+1, cell.y ) == -1 ) cell.tileId = 11; // Single Left
-				if ( compareTiles( tileSetId, cell.x-1, cell.y ) == -1 ) cell.tileId = 9;  // Single Right
-				if ( compareTiles( tileSetId, cell.x+1, cell.y ) >= +0 &&
-				     compareTiles( tileSetId, cell.x-1, cell.y ) >= +0 ) cell.tileId = 10; // Single Horizontal Center
+				if ( map.isChunkEmpty( col, row ) )
+				{
+					col |= Map.CHUNK_SIZE - 1;
+				}
+				else if ( map.getTileSetId( col, row ) >= 0 )
+				{
+					int mask = AutoTile.getMask( map, col, row );
+					
+					map.setTile( col, row, AutoTile.getTileId( mask ), AutoTile.getCorners( mask ) );
+				}
 			}
-
-			// Single Tiles (Vertical)
-			//========================
-			if ( compareTiles( tileSetId, cell.x+1, cell.y ) == -1 &&
-			     compareTiles( tileSetId, cell.x-1, cell.y ) == -1 )
+		}
+		
+		// Update navigation
+		//==================
+		for ( int i = 0; i < navGraphs.size(); i++ )
+		{
+			navGraphs.get( i ).updateCells( col1, row1, col2, row2 );
+		}
+		
+		// Wake objects on the range
+		//==========================
+		tmp_tileArea.set( col1 * Map.CELL_SIZE, row1 * Map.CELL_SIZE,
+		                  ( col2 - col1 + 1 ) * Map.CELL_SIZE, ( row2 - row1 + 2 ) * Map.CELL_SIZE );
+		
+		for ( MapObject o : this.getMapObjects( tmp_tileArea ) )
+		{
+			if ( o.getBounds().y >= tmp_tileArea.y && o.getBounds().y <= tmp_tileArea.y + tmp_tileArea.height )
 			{
-				if ( compareTiles( tileSetId, cell.x, cell.y+1 ) == -1 ) cell.tileId = 12; // Single Bottom
-				if ( compareTiles( tileSetId, cell.x, cell.y-1 ) == -1 ) cell.tileId = 14; // Single Top
-				
-				if ( compareTiles( tileSetId, cell.x, cell.y-1 ) >= +0 &&
-				     compareTiles( tileSetId, cell.x, cell.y+1 ) >= +0 ) cell.tileId = 13; // Single Vertical Center
-				     
-				if ( compareTiles( tileSetId, cell.x, cell.y-1 ) == -1 &&
-				     compareTiles( tileSetId, cell.x, cell.y+1 ) == -1 ) cell.tileId = 15; // Single Tile
+				o.wake();
 			}
 		}
 	}
@@ -248,46 +424,343 @@ public class WorldController implements Serializable
 	// updateMapObjects
 	//=================
 	/**
-	 * Processes all {@code MapObjects} applied to this {@code WorldController}.
+	 * Processes all {@code MapObjects} applied to this {@code WorldController} in two phases. The
+	 * read phase collects a neighbour snapshot for every active object without modifying the
+	 * world, so it runs on a {@code ForkJoinPool} if the number of active objects reaches the
+	 * {@code parallelThreshold}. The apply phase then updates the objects one after another in
+	 * the order of the object list. Objects that move during the apply phase touch the cells they
+	 * leave and enter, and every later object whose scan area covers a touched cell is scanned
+	 * again before its update. So each object sees the neighbours of the current positions, as
+	 * if it had been scanned right before its update. Objects spawned during the apply phase are
+	 * updated from the next tick on.
 	 */
 	private void updateMapObjects()
 	{
-		// Update all objects
-		//===================
+		// Update activity regions
+		//========================
+		this.updateActivityRegions();
+		sleepingCount = 0;
+		dormantCount  = 0;
+		
+		// Stream regions
+		//===============
+		if ( streamer != null )
+		{
+			streamer.update( playerRegion, cameraRegion );
+		}
+		
+		// Wake due objects
+		//=================
+		timerWheel.advance( clock.getTime() );
+		
+		// Search paths
+		//=============
+		for ( int i = 0; i < navGraphs.size(); i++ )
+		{
+			navGraphs.get( i ).processRequests();
+		}
+		
+		// Collect active objects
+		//=======================
+		activeMapObjects.clear();
+		
 		for ( int i = 0; i < mapObjects.size(); i++ )
 		{
-			// Update if alive
-			//================
 			MapObject o = mapObjects.get( i );
 			
 			if ( o.isAlive() )
 			{
-				o.setSurroundingObjects( getMapObjects( o.getScanArea() ) );
+				// Sleep outside activity regions
+				//===============================
+				o.setSleeping( !this.isActive( o ) );
+				
+				if ( o.isSleeping() )
+				{
+					sleepingCount++;
+				}
+				else if ( o.isDormant() )
+				{
+					dormantCount++;
+				}
+				else
+				{
+					activeMapObjects.add( o );
+				}
+			}
+		}
+		
+		// Read phase: neighbour snapshots
+		//================================
+		if ( activeMapObjects.size() >= parallelThreshold )
+		{
+			ForkJoinPool.commonPool().invoke( new NeighbourScan( activeMapObjects, 0, activeMapObjects.size() ) );
+		}
+		else
+		{
+			for ( int i = 0; i < activeMapObjects.size(); i++ )
+			{
+				activeMapObjects.get( i ).scanNeighbours();
+			}
+		}
+		
+		// Apply phase: update objects
+		//============================
+		spatialHash.nextStamp();
+		
+		for ( int i = 0; i < activeMapObjects.size(); i++ )
+		{
+			MapObject o = activeMapObjects.get( i );
+			
+			if ( o.isAlive() )
+			{
+				if ( o.getBodyType() != MapObject.BODY_STATIC )
+				{
+					// Re-scan moved neighbours
+					//=========================
+					if ( spatialHash.isTouched( o.getScanArea() ) )
+					{
+						o.scanNeighbours();
+					}
+					tmp_movedBounds.set( o.getBounds() );
+				}
+				o.setSurroundingObjects( o.getNeighbourSnapshot() );
 				o.update();
+				
+				if ( o.getBodyType() != MapObject.BODY_STATIC )
+				{
+					// Touch cells left and entered
+					//=============================
+					if ( tmp_movedBounds.equals( o.getBounds() ) == false )
+					{
+						spatialHash.touch( tmp_movedBounds );
+						spatialHash.touch( o.getBounds() );
+					}
+					spatialHash.update( o );
+				}
+				timerWheel.schedule( o, clock.getTime() );
 			}
-			if ( !o.isAlive() && o.getAlpha() == 0f )
+		}
+		
+		// Player contacts
+		//================
+		this.updateTriggers();
+		
+		// Queue dead objects
+		//===================
+		for ( int i = 0; i < mapObjects.size(); i++ )
+		{
+			MapObject o = mapObjects.get( i );
+			
+			// Keep dead player for restart
+			//=============================
+			if ( !o.isAlive() && ( o.getAlpha() == 0f || ( Resources.isHeadless() && o != player ) ) )
 			{
-				deadMapObjects.add( o );
+				this.despawnMapObject( o );
 			}
-		};
+		}
 		
-		// Remove dead objects
-		//====================
-		for ( MapObject d : deadMapObjects )
+		// Apply spawns + removals
+		//========================
+		this.applyMapObjectCommands();
+	}
+	
+	// updateActivityRegions
+	//======================
+	/**
+	 * Updates the activity regions around the player and the visible area of the
+	 * {@code WorldCamera}. Both regions are extended by the {@code activityMargin}.
+	 */
+	private void updateActivityRegions()
+	{
+		// Player region
+		//==============
+		if ( player != null )
 		{
-			// Remove from lists
-			//==================
-			mapObjects.remove( d );
-			markedMapObjects.remove( d );
+			Rectangle b = player.getBounds();
 			
-			// Remove player
-			//==============
-			if ( player == d )
+			playerRegion.set( b.x - activityMargin,
+			                  b.y - activityMargin,
+			                  b.width  + activityMargin * 2f,
+			                  b.height + activityMargin * 2f );
+		}
+		else
+		{
+			playerRegion.set( 0f, 0f, 0f, 0f );
+		}
+		
+		// Camera region
+		//==============
+		float w = worldCamera.viewportWidth  * worldCamera.zoom;
+		float h = worldCamera.viewportHeight * worldCamera.zoom;
+		
+		if ( w > 0f && h > 0f )
+		{
+			cameraRegion.set( worldCamera.position.x - w / 2f - activityMargin,
+			                  worldCamera.position.y - h / 2f - activityMargin,
+			                  w + activityMargin * 2f,
+			                  h + activityMargin * 2f );
+		}
+		else
+		{
+			cameraRegion.set( 0f, 0f, 0f, 0f );
+		}
+	}
+	
+	// isActive
+	//=========
+	/**
+	 * Checks whether a {@code MapObject} has to be updated. This is the case if the activity
+	 * regions are disabled, if the object is always active or if it overlaps an activity region.
+	 * @param o the {@code MapObject} to check.
+	 * @return {@code true} if the object has to be updated.
+	 */
+	public boolean isActive( MapObject o )
+	{
+		// Check exceptions
+		//=================
+		if ( isActivityRegionsEnabled == false || o.isAlwaysActive() )
+		{
+			return ( true );
+		}
+		
+		// Check regions
+		//==============
+		Rectangle b = o.getBounds();
+		
+		if ( playerRegion.width > 0f && playerRegion.overlaps( b ) )
+		{
+			return ( true );
+		}
+		if ( cameraRegion.width > 0f && cameraRegion.overlaps( b ) )
+		{
+			return ( true );
+		}
+		return ( false );
+	}
+	
+	// setActivityRegionsEnabled
+	//==========================
+	/**
+	 * Enables or disables the activity regions. If disabled, all {@code MapObjects} are updated
+	 * regardless of their distance to the player and the camera.
+	 * @param value {@code true} to enable the activity regions.
+	 */
+	public void setActivityRegionsEnabled( boolean value )
+	{
+		isActivityRegionsEnabled = value;
+	}
+	
+	// isActivityRegionsEnabled
+	//=========================
+	public boolean isActivityRegionsEnabled()
+	{
+		return ( isActivityRegionsEnabled );
+	}
+	
+	// setActivityMargin
+	//==================
+	/**
+	 * Sets the distance the activity regions reach beyond the player bounds and the visible area.
+	 * @param margin the margin in units.
+	 */
+	public void setActivityMargin( float margin )
+	{
+		activityMargin = Math.max( margin, 0f );
+	}
+	
+	// getActivityMargin
+	//==================
+	public float getActivityMargin()
+	{
+		return ( activityMargin );
+	}
+	
+	// setParallelThreshold
+	//=====================
+	/**
+	 * Sets the number of active {@code MapObjects} from which on the neighbour snapshots are
+	 * collected in parallel.
+	 * @param threshold the minimum number of active objects. Use {@code Integer.MAX_VALUE} to
+	 * always collect the snapshots on the calling thread.
+	 */
+	public void setParallelThreshold( int threshold )
+	{
+		parallelThreshold = Math.max( threshold, 1 );
+	}
+	
+	// getParallelThreshold
+	//=====================
+	public int getParallelThreshold()
+	{
+		return ( parallelThreshold );
+	}
+	
+	// getDormantCount
+	//================
+	/**
+	 * @return the number of {@code MapObjects} whose update was skipped by the last tick, because
+	 * they wait for their wake-up in the {@code TimerWheel}.
+	 */
+	public int getDormantCount()
+	{
+		return ( dormantCount );
+	}
+	
+	// getNavGraph
+	//============
+	/**
+	 * Returns the navigation graph for the movement profile of a {@code MapObject}, i.e. its
+	 * height, jump height and movement speed. Objects of the same profile share a graph.
+	 * @param o the {@code MapObject}.
+	 * @return the {@code NavGraph}. It is created on first use.
+	 */
+	public NavGraph getNavGraph( MapObject o )
+	{
+		int clearance = (int) Math.ceil( o.getBounds().height / Map.CELL_SIZE );
+		
+		for ( int i = 0; i < navGraphs.size(); i++ )
+		{
+			if ( navGraphs.get( i ).matches( clearance, o.getJumpHeight(), o.getMovementSpeed() ) )
 			{
-				player = null;
+				return ( navGraphs.get( i ) );
 			}
 		}
-		deadMapObjects.clear();
+		NavGraph navGraph = new NavGraph( map, clearance, o.getJumpHeight(), o.getMovementSpeed() );
+		
+		navGraphs.add( navGraph );
+		
+		return ( navGraph );
+	}
+	
+	// getNavGraphs
+	//=============
+	/**
+	 * @return the navigation graphs created for the current world.
+	 */
+	public ArrayList<NavGraph> getNavGraphs()
+	{
+		return ( navGraphs );
+	}
+	
+	// getTimerWheel
+	//==============
+	/**
+	 * @return the {@code TimerWheel} scheduling the wake-ups of dormant {@code MapObjects}.
+	 */
+	public TimerWheel getTimerWheel()
+	{
+		return ( timerWheel );
+	}
+	
+	// getSleepingCount
+	//=================
+	/**
+	 * @return the number of {@code MapObjects} that were skipped during the last tick because
+	 * they were located outside the activity regions.
+	 */
+	public int getSleepingCount()
+	{
+		return ( sleepingCount );
 	}
 	
 	// updatePopups
@@ -320,6 +793,7 @@ public class WorldController implements Serializable
 		for ( MapPopup p : deadPopups )
 		{
 			popups.remove( p );
+			popupPool.free( p );
 		}
 		deadPopups.clear();
 	}
@@ -359,62 +833,54 @@ public class WorldController implements Serializable
 	//=============
 	private void updateTimers()
 	{
-		// Game is paused
-		//===============
-		if ( JPlatformerGame.get().isPaused() == true )
+		// Update game time
+		//=================
+		if ( map.getCountdownTime() != Map.COUNTDOWN_DISABLED )
 		{
-			// Initialize pause counter
-			//=========================
-			if ( pauseStartTime == 0 )
+			// When countdown enabled
+			//=======================
+			gameElapsedTime = map.getCountdownTime() - ( clock.getTime() - gameStartTime );
+			
+			if ( gameElapsedTime < 0 )
 			{
-				pauseStartTime = System.currentTimeMillis();
+				gameElapsedTime = 0;
 			}
 		}
-		// Game is running
-		//===============
 		else
 		{
-			// Add pause delay
-			//================
-			if ( pauseStartTime != 0 )
-			{
-				// Get delay
-				//==========
-				long delay = System.currentTimeMillis() - pauseStartTime;
-				pauseStartTime = 0;
-				
-				// Object routine times
-				//=====================
-				for ( MapObject o : mapObjects )
-				{
-					o.setRoutineTimer( o.getRoutineTimer() + delay );
-				}
-				
-				// Game time
-				//==========
-				gameStartTime += delay;
-			}
-			
-			// Update game time
-			//=================
-			if ( map.getCountdownTime() != Map.COUNTDOWN_DISABLED )
-			{
-				// When countdown enabled
-				//=======================
-				gameElapsedTime = map.getCountdownTime() - ( System.currentTimeMillis() - gameStartTime );
-				
-				if ( gameElapsedTime < 0 )
-				{
-					gameElapsedTime = 0;
-				}
-			}
-			else
-			{
-				// When countdown disabled
-				//========================
-				gameElapsedTime = System.currentTimeMillis() - gameStartTime;
-			}
+			// When countdown disabled
+			//========================
+			gameElapsedTime = clock.getTime() - gameStartTime;
+		}
+	}
+	
+	// updateTriggers
+	//===============
+	/**
+	 * Performs the contact pass of the {@code TriggerIndex} for the player, if live. The areas of the
+	 * {@code Map} are passed on every call, as the {@code TriggerIndex} only indexes them again if
+	 * they have changed.
+	 */
+	private void updateTriggers()
+	{
+		// Return if editor
+		//=================
+		if ( isLive == false || player == null || player.isAlive() == false )
+		{
+			triggerIndex.reset();
+			return;
 		}
+		
+		// Update volumes
+		//===============
+		triggerIndex.setVolume( TriggerIndex.VOLUME_START, map.getStartArea() );
+		triggerIndex.setVolume( TriggerIndex.VOLUME_FINISH, map.getFinishArea() );
+		
+		// Update contacts
+		//================
+		tmp_contacts.clear();
+		triggerIndex.update( player, this.getMapObjects( player.getBounds(), tmp_contacts ) );
+		tmp_contacts.clear();
 	}
 	
 	// updateWorldState
@@ -452,7 +918,7 @@ public class WorldController implements Serializable
 			
 			// Finish area
 			//============
-			if ( player.getBounds().overlaps( map.getFinishArea() ) )
+			if ( triggerIndex.isInside( TriggerIndex.VOLUME_FINISH ) )
 			{
 				worldState = STATE_VIEW_STATS;
 			}
@@ -521,14 +987,35 @@ public class WorldController implements Serializable
 	//===========
 	public void resetTimer()
 	{
-		gameStartTime = System.currentTimeMillis();
+		gameStartTime = clock.getTime();
+		this.updateTimers();
+	}
+	
+	// getElapsedTime
+	//===============
+	public long getElapsedTime()
+	{
+		return ( gameElapsedTime );
+	}
+	
+	// getPowerNetwork
+	//================
+	/**
+	 * @return the {@code PowerNetwork} connecting the power supported {@code MapObjects}.
+	 */
+	public PowerNetwork getPowerNetwork()
+	{
+		return ( powerNetwork );
 	}
 	
-	// getElapsedTime
-	//===============
-	public long getElapsedTime()
+	// getClock
+	//=========
+	/**
+	 * @return the {@code WorldClock} providing the game time of this world.
+	 */
+	public WorldClock getClock()
 	{
-		return ( gameElapsedTime );
+		return ( clock );
 	}
 	
 	// addPopup
@@ -541,7 +1028,10 @@ public class WorldController implements Serializable
 	 */
 	public void addPopup( String text, float x, float y )
 	{
-		popups.add( new MapPopup( text, x, y ) );
+		MapPopup popup = popupPool.obtain();
+		
+		popup.set( text, x, y );
+		popups.add( popup );
 	}
 	
 	// getPopups
@@ -576,9 +1066,9 @@ public class WorldController implements Serializable
 		
 		// Compare tile set
 		//=================
-		if ( map.getCellAt( col, row ).tileSetId == tileSetId )
+		if ( map.getTileSetId( col, row ) == tileSetId )
 		{
-			return ( map.getCellAt( col, row ).tileSetId );
+			return ( tileSetId );
 		}
 		return ( -1 );
 	}
@@ -587,54 +1077,51 @@ public class WorldController implements Serializable
 	//=========
 	/**
 	 * Sets the {@code tileSetId} attribute of all {@code MapCells} within an area to a specified
-	 * value.
+	 * value. Only the edited cells and their direct neighbours are autotiled again, so the cost
+	 * of an edit does not depend on the size of the map.
 	 * @param area the {@code Map} area that contains the cells to edit in pixels.
 	 * @param value the new value.
 	 */
 	public void setCells( Rectangle area, int value )
 	{
-		// Values
-		//=======
-		Rectangle cell = new Rectangle();
-			
-		// Iteration
+		// Overlapped cells
+		//=================
+		int col1 = Math.max( (int) Math.floor( area.x / Map.CELL_SIZE ), 0 );
+		int row1 = Math.max( (int) Math.floor( area.y / Map.CELL_SIZE ), 0 );
+		int col2 = Math.min( (int) Math.ceil( ( area.x + area.width  ) / Map.CELL_SIZE ) - 1, map.getColumns() - 1 );
+		int row2 = Math.min( (int) Math.ceil( ( area.y + area.height ) / Map.CELL_SIZE ) - 1, map.getRows() - 1 );
+		
+		if ( col1 > col2 || row1 > row2 )
+		{
+			return;
+		}
+		
+		// Set floor
 		//==========
-		for ( int y = 0; y < map.getRows(); y++ )
+		for ( int row = row1; row <= row2; row++ )
 		{
-			for ( int x = 0; x < map.getColumns(); x++ )
+			for ( int col = col1; col <= col2; col++ )
 			{
-				// Calculate bounds
-				//=================
-				cell.x      = Map.CELL_SIZE * x;
-				cell.y      = Map.CELL_SIZE * y;
-				cell.width  = Map.CELL_SIZE;
-				cell.height = Map.CELL_SIZE;
-
-				// Set floor
-				//==========			
-				if ( area.overlaps( cell ) )
-				{
-					map.getCellAt( x, y ).tileSetId = value;
-				}
+				map.setTileSetId( col, row, value );
 			}
 		}
 		
-		// Update tiles
-		//=============
-		this.updateTiles();
+		// Update dirty region
+		//====================
+		this.updateTiles( col1 - 1, row1 - 1, col2 + 1, row2 + 1 );
 	}
 	
 	// getVisibleCells
 	//================
 	/**
-	 * @return an array of all visible {@code MapCells} based on the applied {@code WorldCamera}.
+	 * Calculates the range of cells visible through the applied {@code WorldCamera}. The range is
+	 * specified in cells: {@code x} and {@code y} are the first visible column and row,
+	 * {@code width} and {@code height} the number of visible columns and rows. Callers should walk
+	 * the range row by row, which is the order the cells are stored in.
+	 * @return the visible cell range. The same {@code Rectangle} is returned on every call.
 	 */
-	public ArrayList<MapCell> getVisibleCells()
+	public Rectangle getVisibleCells()
 	{
-		// Clear cell list
-		//================
-		visibleMapCells.clear();
-		
 		// Visible cells start
 		//====================
 		int x1 = (int) ( worldCamera.getOffset().x / worldCamera.toUnits( Map.CELL_SIZE ) );
@@ -651,29 +1138,12 @@ public class WorldController implements Serializable
 		if ( x2 > map.getColumns() ) x2 = map.getColumns();
 		if ( y2 > map.getRows() )    y2 = map.getRows();
 
-		// Iteration
-		//==========
-		for ( int y = y1; y < y2; y++ )
-		{
-			// Check row visibility
-			//=====================
-			if ( Map.CELL_SIZE * y > worldCamera.getOffset().y + worldCamera.viewportHeight * worldCamera.zoom )
-			{
-				break;
-			}
-			
-			// Check column visibility
-			//========================
-			for ( int x = x1; x < x2; x++ )
-			{
-				if ( Map.CELL_SIZE * x > worldCamera.getOffset().x + worldCamera.viewportWidth * worldCamera.zoom )
-				{
-					break;
-				}
-				visibleMapCells.add( map.getCellAt( x, y ) );
-			}
-		}
-		return ( visibleMapCells );
+		// Limit to viewport
+		//==================
+		x2 = Math.min( x2, (int) Math.floor( ( worldCamera.getOffset().x + worldCamera.viewportWidth  * worldCamera.zoom ) / Map.CELL_SIZE ) + 1 );
+		y2 = Math.min( y2, (int) Math.floor( ( worldCamera.getOffset().y + worldCamera.viewportHeight * worldCamera.zoom ) / Map.CELL_SIZE ) + 1 );
+		
+		return ( visibleCells.set( x1, y1, Math.max( x2 - x1, 0 ), Math.max( y2 - y1, 0 ) ) );
 	}
 	
 	// setMap
@@ -684,6 +1154,7 @@ public class WorldController implements Serializable
 	public void setMap( Map newMap )
 	{
 		map = newMap;
+		navGraphs.clear();
 	}
 	
 	// getMap
@@ -703,7 +1174,25 @@ public class WorldController implements Serializable
 	 */
 	public void setMapObjects( ArrayList<MapObject> objects )
 	{
+		// Set objects
+		//============
 		mapObjects = objects;
+		pendingSpawns.clear();
+		pendingRemovals.clear();
+		
+		// Rebuild spatial hash + power network
+		//=====================================
+		spatialHash.clear();
+		staticHash.clear();
+		powerNetwork.clear();
+		triggerIndex.reset();
+		timerWheel.clear( clock.getTime() );
+		
+		for ( MapObject object : mapObjects )
+		{
+			this.getSpatialHash( object ).insert( object );
+			powerNetwork.add( object );
+		}
 	}
 	
 	// addMapObject
@@ -732,6 +1221,8 @@ public class WorldController implements Serializable
 	{
 		newMapObject.setPosition( x, y, center );
 		mapObjects.add( newMapObject );
+		this.getSpatialHash( newMapObject ).insert( newMapObject );
+		powerNetwork.add( newMapObject );
 	}
 		
 	// removeMapObject
@@ -742,17 +1233,208 @@ public class WorldController implements Serializable
 	 */
 	public void removeMapObject( MapObject mapObject )
 	{
-		// Reset player
+		// Remove object
+		//==============
+		mapObjects.remove( mapObject );
+		markedMapObjects.remove( mapObject );
+		
+		this.releaseMapObject( mapObject );
+	}
+	
+	// spawnMapObject
+	//===============
+	/**
+	 * Queues a new {@code MapObject} to be added to the {@code Map} by the next call of
+	 * {@code applyMapObjectCommands()}. Objects should use this method instead of
+	 * {@code addMapObject()} while the world is updated.
+	 * @param newMapObject the {@code MapObject} to add.
+	 * @param x the initial x-position on the {@code Map} in units.
+	 * @param y the initial y-position on the {@code Map} in units.
+	 * @param center if this value is {@code true}, the object will be centered at the given point.
+	 */
+	public void spawnMapObject( MapObject newMapObject, float x, float y, boolean center )
+	{
+		newMapObject.setPosition( x, y, center );
+		pendingSpawns.add( newMapObject );
+	}
+	
+	// despawnMapObject
+	//=================
+	/**
+	 * Queues a {@code MapObject} to be removed from the {@code Map} by the next call of
+	 * {@code applyMapObjectCommands()}. Queuing an object several times has no further effect.
+	 * @param mapObject the {@code MapObject} to remove.
+	 */
+	public void despawnMapObject( MapObject mapObject )
+	{
+		pendingRemovals.add( mapObject );
+	}
+	
+	// applyMapObjectCommands
+	//=======================
+	/**
+	 * Applies all queued spawns and removals. The removed objects are dropped from the object list
+	 * and the list of marked objects in a single pass each, which keeps the order of the remaining
+	 * objects. The spawned objects are then appended in the order they were queued.
+	 */
+	public void applyMapObjectCommands()
+	{
+		// Compact object lists
+		//=====================
+		if ( pendingRemovals.isEmpty() == false )
+		{
+			int count = 0;
+			
+			for ( int i = 0; i < mapObjects.size(); i++ )
+			{
+				MapObject o = mapObjects.get( i );
+				
+				if ( pendingRemovals.contains( o ) )
+				{
+					this.releaseMapObject( o );
+				}
+				else
+				{
+					mapObjects.set( count++, o );
+				}
+			}
+			mapObjects.subList( count, mapObjects.size() ).clear();
+			markedMapObjects.removeAll( pendingRemovals );
+		}
+		
+		// Append spawned objects
+		//=======================
+		for ( int i = 0; i < pendingSpawns.size(); i++ )
+		{
+			MapObject o = pendingSpawns.get( i );
+			
+			if ( pendingRemovals.contains( o ) )
+			{
+				this.releaseMapObject( o );
+			}
+			else
+			{
+				mapObjects.add( o );
+				this.getSpatialHash( o ).insert( o );
+				powerNetwork.add( o );
+			}
+		}
+		
+		// Clear queues
 		//=============
+		pendingSpawns.clear();
+		pendingRemovals.clear();
+	}
+	
+	// releaseMapObject
+	//=================
+	/**
+	 * Clears all references to a {@code MapObject} that has been taken off the object list and
+	 * returns it to its pool, if existent.
+	 */
+	private void releaseMapObject( MapObject mapObject )
+	{
+		// Reset references
+		//=================
 		if ( mapObject == player )
 		{
 			player = null;
 		}
+		if ( mapObject == hoveredMapObject )
+		{
+			hoveredMapObject = null;
+		}
+		this.getSpatialHash( mapObject ).remove( mapObject );
+		powerNetwork.remove( mapObject );
+		triggerIndex.remove( mapObject );
+		mapObject.detachContacts();
+		timerWheel.cancel( mapObject );
 		
-		// Remove object
+		// Release object
+		//===============
+		mapObject.setSpawner( null );
+		
+		if ( mapObject.isPooled() )
+		{
+			mapObject.setPooled( false );
+			this.getMapObjectPool( mapObject.getClass() ).free( mapObject );
+		}
+	}
+	
+	// obtainMapObject
+	//================
+	/**
+	 * Obtains a {@code MapObject} of the specified type from a {@code WorldPool}. Spawners should
+	 * use this method instead of creating new objects. The returned object still has to be added
+	 * by {@code addMapObject}. Once it is removed from the world, it returns to its pool.
+	 * @param type the class of the {@code MapObject}. It must offer a public constructor taking a
+	 * {@code WorldController}.
+	 * @param spawner the spawning {@code MapObject} or {@code null}.
+	 * @return the {@code MapObject} or {@code null} if the spawn budget of the spawner is exhausted
+	 * or if the object could not be created.
+	 */
+	public <T extends MapObject> T obtainMapObject( Class<T> type, MapObject spawner )
+	{
+		// Check spawn budget
+		//===================
+		if ( spawner != null && spawner.canSpawn() == false )
+		{
+			return ( null );
+		}
+		
+		// Obtain object
 		//==============
-		mapObjects.remove( mapObject );
-		markedMapObjects.remove( mapObject );
+		WorldPool<MapObject> pool = this.getMapObjectPool( type );
+		boolean isReused          = pool.getFree() > 0;
+		MapObject object          = pool.obtain();
+		
+		if ( object == null )
+		{
+			return ( null );
+		}
+		
+		// Prepare object
+		//===============
+		if ( isReused )
+		{
+			MapObject.idCount++;
+			object.setId( MapObject.idCount );
+		}
+		object.setPooled( true );
+		object.setSpawner( spawner );
+		
+		return ( type.cast( object ) );
+	}
+	
+	// getMapObjectPool
+	//=================
+	/**
+	 * @param type the class of the pooled {@code MapObjects}.
+	 * @return the {@code WorldPool} of the specified type. A new pool is created if necessary.
+	 */
+	public WorldPool<MapObject> getMapObjectPool( final Class<? extends MapObject> type )
+	{
+		// Create pool
+		//============
+		if ( mapObjectPools.containsKey( type ) == false )
+		{
+			mapObjectPools.put( type, new WorldPool<MapObject>()
+			{
+				@Override
+				protected MapObject newObject()
+				{
+					return ( MapObject.createFromClassName( type.getName(), WorldController.this ) );
+				}
+			} );
+		}
+		return ( mapObjectPools.get( type ) );
+	}
+	
+	// getPopupPool
+	//=============
+	public WorldPool<MapPopup> getPopupPool()
+	{
+		return ( popupPool );
 	}
 	
 	// removeMapObjects
@@ -763,26 +1445,16 @@ public class WorldController implements Serializable
 	 */
 	public void removeMapObjects( Rectangle area )
 	{
-		// Values
-		//=======
-		ArrayList<MapObject> objectsToRemove = new ArrayList<MapObject>();
-		
-		// Find objects
-		//=============
-		for ( MapObject object : mapObjects )
+		// Queue objects
+		//==============
+		for ( MapObject object : this.getMapObjects( area ) )
 		{
-			if ( area.overlaps( object.getBounds() ) == true )
-			{
-				objectsToRemove.add( object );
-			}
+			this.despawnMapObject( object );
 		}
-
+		
 		// Remove objects
 		//===============
-		for ( MapObject object : objectsToRemove )
-		{
-			this.removeMapObject( object );
-		}
+		this.applyMapObjectCommands();
 	}
 	
 	// resetMapObjectRoutines
@@ -812,6 +1484,53 @@ public class WorldController implements Serializable
 		return ( mapObjects );
 	}
 	
+	// takeMapObjects
+	//===============
+	/**
+	 * Takes all {@code MapObjects} whose center lies within an area out of the world, e.g. to
+	 * persist them. Unlike removed objects, the taken objects are not returned to their pools and
+	 * keep their state. The player is never taken.
+	 * @param area the area on the {@code Map} in units.
+	 * @param result the list to add the taken objects to. The list is not cleared.
+	 * @return the {@code result} list.
+	 */
+	public ArrayList<MapObject> takeMapObjects( Rectangle area, ArrayList<MapObject> result )
+	{
+		int count = 0;
+		
+		for ( int i = 0; i < mapObjects.size(); i++ )
+		{
+			MapObject o = mapObjects.get( i );
+			Rectangle b = o.getBounds();
+			
+			if ( o != player && area.contains( b.x + b.width / 2f, b.y + b.height / 2f ) )
+			{
+				// Clear references
+				//=================
+				if ( o == hoveredMapObject )
+				{
+					hoveredMapObject = null;
+				}
+				this.getSpatialHash( o ).remove( o );
+				powerNetwork.remove( o );
+				triggerIndex.remove( o );
+				o.detachContacts();
+				timerWheel.cancel( o );
+				o.setSpawner( null );
+				o.setSurroundingObjects( new ArrayList<MapObject>() );
+				result.add( o );
+			}
+			else
+			{
+				mapObjects.set( count++, o );
+			}
+		}
+		mapObjects.subList( count, mapObjects.size() ).clear();
+		markedMapObjects.removeAll( result );
+		
+		return ( result );
+	}
+	
 	// getMapObjects
 	//==============
 	/**
@@ -824,6 +1543,30 @@ public class WorldController implements Serializable
 		//==============
 		tmp_objectsInArea.clear();
 		
+		return ( this.getMapObjects( area, tmp_objectsInArea ) );
+	}
+	
+	// getMapObjects
+	//==============
+	/**
+	 * Adds all {@code MapObjects} overlapping an area to a list. Unlike
+	 * {@code getMapObjects( Rectangle )}, this method does not modify the {@code WorldController},
+	 * so it may be called by several threads as long as no object is moved, added or removed.
+	 * @param area the area on the {@code Map} to scan for {@code MapObjects}.
+	 * @param result the list to add the objects to. The list is not cleared.
+	 * @return the {@code result} list.
+	 */
+	public ArrayList<MapObject> getMapObjects( Rectangle area, ArrayList<MapObject> result )
+	{
+		// Query spatial hash
+		//===================
+		if ( isSpatialHashEnabled == true )
+		{
+			spatialHash.query( area, result );
+			
+			return ( staticHash.query( area, result ) );
+		}
+		
 		// Iterate map objects
 		//====================
 		for ( int i = 0; i < mapObjects.size(); i++ )
@@ -832,10 +1575,89 @@ public class WorldController implements Serializable
 			//=================
 			if ( mapObjects.get( i ).getBounds().overlaps( area ) )
 			{
-				tmp_objectsInArea.add( mapObjects.get( i ) );
+				result.add( mapObjects.get( i ) );
+			}
+		}
+		return ( result );
+	}
+	
+	// getMapObjectAt
+	//===============
+	/**
+	 * @param x the x-position on the {@code Map} in units.
+	 * @param y the y-position on the {@code Map} in units.
+	 * @return the most recently placed {@code MapObject} containing the specified point or
+	 * {@code null} if there is no such object.
+	 */
+	public MapObject getMapObjectAt( float x, float y )
+	{
+		// Values
+		//=======
+		MapObject result = null;
+		Rectangle point  = new Rectangle( x, y, 0f, 0f );
+		
+		// Find object with highest ID
+		//============================
+		for ( MapObject o : this.getMapObjects( point ) )
+		{
+			if ( o.getBounds().contains( x, y ) && ( result == null || o.getId() > result.getId() ) )
+			{
+				result = o;
 			}
 		}
-		return ( tmp_objectsInArea );
+		return ( result );
+	}
+	
+	// setSpatialHashEnabled
+	//======================
+	/**
+	 * @param value if this value is {@code false}, area queries scan all {@code MapObjects}
+	 * instead of using the {@code SpatialHash}.
+	 */
+	public void setSpatialHashEnabled( boolean value )
+	{
+		isSpatialHashEnabled = value;
+	}
+	
+	// isSpatialHashEnabled
+	//=====================
+	public boolean isSpatialHashEnabled()
+	{
+		return ( isSpatialHashEnabled );
+	}
+	
+	// getSpatialHash
+	//===============
+	/**
+	 * @return the {@code SpatialHash} containing all kinematic and dynamic {@code MapObjects} of
+	 * this world.
+	 */
+	public SpatialHash getSpatialHash()
+	{
+		return ( spatialHash );
+	}
+	
+	// getSpatialHash
+	//===============
+	/**
+	 * @param o a {@code MapObject}.
+	 * @return the {@code SpatialHash} storing the specified object, i.e. the static hash for
+	 * static objects.
+	 */
+	public SpatialHash getSpatialHash( MapObject o )
+	{
+		return ( o.getBodyType() == MapObject.BODY_STATIC ? staticHash : spatialHash );
+	}
+	
+	// getStaticHash
+	//==============
+	/**
+	 * @return the {@code SpatialHash} containing all static {@code MapObjects} of this world. It
+	 * only changes if static objects are added, removed or placed, e.g. by the editor.
+	 */
+	public SpatialHash getStaticHash()
+	{
+		return ( staticHash );
 	}
 	
 	// setHoveredMapObject
@@ -914,6 +1736,10 @@ public class WorldController implements Serializable
 	{	
 		// Set new player
 		//===============
+		if ( player != newPlayer )
+		{
+			triggerIndex.reset();
+		}
 		player = newPlayer;
 		
 		// Add player at the end
@@ -926,6 +1752,42 @@ public class WorldController implements Serializable
 		this.updateCamera();
 	}
 	
+	// getTriggerIndex
+	//================
+	/**
+	 * @return the {@code TriggerIndex} detecting the contacts of the player.
+	 */
+	public TriggerIndex getTriggerIndex()
+	{
+		return ( triggerIndex );
+	}
+	
+	// setStreamer
+	//============
+	/**
+	 * Attaches a {@code WorldStreamer}, which loads and unloads the regions of the world around the
+	 * activity regions. A previously attached streamer is closed, so its regions are persisted.
+	 * @param newStreamer the {@code WorldStreamer} or {@code null} to stop streaming.
+	 */
+	public void setStreamer( WorldStreamer newStreamer )
+	{
+		if ( streamer != null && streamer != newStreamer )
+		{
+			streamer.close();
+		}
+		streamer = newStreamer;
+	}
+	
+	// getStreamer
+	//============
+	/**
+	 * @return the attached {@code WorldStreamer} or {@code null} if the world is not streamed.
+	 */
+	public WorldStreamer getStreamer()
+	{
+		return ( streamer );
+	}
+	
 	// getPlayer
 	//==========
 	/**
@@ -79,7 +79,11 @@ public class WorldFile
 				{
 					// Add to temporary array
 					//=======================
-					if ( map.getCellAt( x, y ).tileSetId >= 0 )
+					if ( map.isChunkEmpty( x, y ) )
+					{
+						y |= Map.CHUNK_SIZE - 1;
+					}
+					else if ( map.getTileSetId( x, y ) >= 0 )
 					{
 						tmp_cells.add( map.getCellAt( x, y ) );
 					}
@@ -177,8 +181,8 @@ public class WorldFile
 				
 				// Transfer attributes
 				//====================
-				map.getCellAt( cell.x, cell.y ).tileId = cell.tileId;
-				map.getCellAt( cell.x, cell.y ).tileSetId = cell.tileSetId;
+				map.setTileSetId( cell.x, cell.y, cell.tileSetId );
+				map.setTileId( cell.x, cell.y, cell.tileId );
 			}
 			
 			// Map object data
@@ -193,6 +197,11 @@ public class WorldFile
 			{
 				o.initFrames();
 				o.setWorldController( worldController );
+				
+				if ( o.getCollisionLayer() == MapObject.LAYER_NONE )
+				{
+					o.resetCollisionLayers();
+				}
 			} 
 			
 			// Reset player position
@@ -232,7 +241,7 @@ public class WorldFile
 			// Exception
 			//==========
 			e.printStackTrace();
-			System.err.println( "Error reading map file: " + Gdx.files.internal( path ).file().getName() + "!" );
+			System.err.println( "Error reading map file: " + new File( path ).getName() + "!" );
 			worldController.resetWorld();
 			return ( false );
 		}
@@ -285,7 +294,7 @@ public class WorldFile
 		{
 			// Exception
 			//==========
-			System.err.println( "Error reading map file: " + Gdx.files.internal( path ).file().getName() + "!" );
+			System.err.println( "Error reading map file: " + new File( path ).getName() + "!" );
 			return ( new Map( 0, 0 ) );
 		}
 	}
@@ -0,0 +1,78 @@
+package com.sh.jplatformer.world;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * The {@code WorldPool} class is a {@code Pool} for short-living world components like spawned
+ * {@code MapObjects} or {@code MapPopups}. It counts how many requests could be served by a free
+ * instance (hits) and how many required a new instance (misses).
+ */
+
+public abstract class WorldPool<T> extends Pool<T>
+{
+	// Constants
+	//==========
+	public static final int INITIAL_CAPACITY = 16;
+	public static final int MAX_CAPACITY     = 256;
+
+	// Properties
+	//===========
+	private int hits;
+	private int misses;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new empty {@code WorldPool} keeping at most {@code MAX_CAPACITY} free instances.
+	 */
+	public WorldPool()
+	{
+		super( INITIAL_CAPACITY, MAX_CAPACITY );
+	}
+
+	// obtain
+	//=======
+	@Override
+	public T obtain()
+	{
+		// Count request
+		//==============
+		if ( this.getFree() > 0 )
+		{
+			hits++;
+		}
+		else
+		{
+			misses++;
+		}
+		return ( super.obtain() );
+	}
+
+	// getHits
+	//========
+	/**
+	 * @return the number of requests that were served by a free instance.
+	 */
+	public int getHits()
+	{
+		return ( hits );
+	}
+
+	// getMisses
+	//==========
+	/**
+	 * @return the number of requests that required a new instance.
+	 */
+	public int getMisses()
+	{
+		return ( misses );
+	}
+
+	// resetCounters
+	//==============
+	public void resetCounters()
+	{
+		hits   = 0;
+		misses = 0;
+	}
+}
@@ -9,8 +9,8 @@ import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.utils.ScissorStack;
 import com.sh.jplatformer.JPlatformerGame;
 import com.sh.jplatformer.resources.Resources;
+import com.sh.jplatformer.world.map.AutoTile;
 import com.sh.jplatformer.world.map.Map;
-import com.sh.jplatformer.world.map.MapCell;
 import com.sh.jplatformer.world.map.MapObject;
 
 /**
@@ -136,7 +136,7 @@ public class WorldRenderer
 		{
 			// Add offset
 			//===========
-			waterOffset += WorldController.worldDelta * Map.WATER_SPEEDS[ map.getWaterSpeedId() ];
+			waterOffset += WorldController.frameDelta * Map.WATER_SPEEDS[ map.getWaterSpeedId() ];
 
 			// Check new offset
 			//=================
@@ -189,15 +189,36 @@ public class WorldRenderer
 	 */
 	private void drawMap( SpriteBatch spriteBatch )
 	{
-		for ( MapCell cell : worldController.getVisibleCells() )
+		// Visible range
+		//==============
+		Map map         = worldController.getMap();
+		Rectangle cells = worldController.getVisibleCells();
+		int col1        = (int) cells.x;
+		int row1        = (int) cells.y;
+		int col2        = col1 + (int) cells.width;
+		int row2        = row1 + (int) cells.height;
+		
+		// Draw row by row
+		//================
+		for ( int row = row1; row < row2; row++ )
 		{
-			if ( cell.tileSetId > -1 )
+			for ( int col = col1; col < col2; col++ )
 			{
-				spriteBatch.draw( Resources.WORLD.mapTiles[cell.tileSetId][cell.tileId],
-				                  cell.x * Map.CELL_SIZE,
-				                  cell.y * Map.CELL_SIZE );
+				int tileSetId = map.getTileSetId( col, row );
 				
-				this.drawTileCorner( cell, spriteBatch );
+				if ( tileSetId > -1 )
+				{
+					spriteBatch.draw( Resources.WORLD.mapTiles[tileSetId][map.getTileId( col, row )],
+					                  col * Map.CELL_SIZE,
+					                  row * Map.CELL_SIZE );
+					
+					int corners = map.getTileCorners( col, row );
+					
+					if ( corners != 0 )
+					{
+						this.drawTileCorner( tileSetId, corners, col, row, spriteBatch );
+					}
+				}
 			}
 		}
 	}
@@ -205,64 +226,49 @@ public class WorldRenderer
 	// drawTileCorner
 	//===============
 	/**
-	 * Draws {@code tileId} specific corner sprites.
-	 * @param cell the {@code MapCell} to check.
+	 * Draws the inner corner overlays stored for a cell by the autotiling.
+	 * @param tileSetId the tile set ID of the cell.
+	 * @param corners the {@code AutoTile} corner bits of the cell.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
 	 * @param spriteBatch the {@code SpriteBatch} to render.
 	 */
-	private void drawTileCorner( MapCell cell, SpriteBatch spriteBatch )
+	private void drawTileCorner( int tileSetId, int corners, int col, int row, SpriteBatch spriteBatch )
 	{
-		// Temporary values
+		// Bottom right corner
+		//====================
+		if ( ( corners & AutoTile.CORNER_BOTTOM_RIGHT ) != 0 )
+		{
+			spriteBatch.draw( Resources.WORLD.mapTiles[tileSetId][AutoTile.TILE_BOTTOM_RIGHT],
+			                  col * Map.CELL_SIZE + Map.CELL_SIZE / 2,
+			                  row * Map.CELL_SIZE - Map.CELL_SIZE / 2 );
+		}
+		
+		// Top right corner
 		//=================
-		int tileSetId = cell.tileSetId;
+		if ( ( corners & AutoTile.CORNER_TOP_RIGHT ) != 0 )
+		{
+			spriteBatch.draw( Resources.WORLD.mapTiles[tileSetId][AutoTile.TILE_TOP_RIGHT],
+			                  col * Map.CELL_SIZE + Map.CELL_SIZE / 2,
+			                  row * Map.CELL_SIZE + Map.CELL_SIZE / 2 );
+		}
 		
-		// Right side corners
+		// Bottom left corner
 		//===================
-		if ( worldController.compareTiles( tileSetId, cell.x+1, cell.y ) >= +0 )
+		if ( ( corners & AutoTile.CORNER_BOTTOM_LEFT ) != 0 )
 		{
-			// Bottom right corner
-			//====================
-			if ( worldController.compareTiles( tileSetId, cell.x,   cell.y-1 ) >= +0 &&
-			     worldController.compareTiles( tileSetId, cell.x+1, cell.y-1 ) == -1 )
-			{
-				spriteBatch.draw( Resources.WORLD.mapTiles[tileSetId][19],
-				                  cell.x * Map.CELL_SIZE + Map.CELL_SIZE / 2,
-				                  cell.y * Map.CELL_SIZE - Map.CELL_SIZE / 2 );
-			}
-			
-			// Top right corner
-			//=================
-			if ( worldController.compareTiles( tileSetId, cell.x,   cell.y+1 ) >= +0 &&
-			     worldController.compareTiles( tileSetId, cell.x+1, cell.y+1 ) == -1 )
-			{
-				spriteBatch.draw( Resources.WORLD.mapTiles[tileSetId][17],
-		                          cell.x * Map.CELL_SIZE + Map.CELL_SIZE / 2,
-		                          cell.y * Map.CELL_SIZE + Map.CELL_SIZE / 2 );
-			}
+			spriteBatch.draw( Resources.WORLD.mapTiles[tileSetId][AutoTile.TILE_BOTTOM_LEFT],
+			                  col * Map.CELL_SIZE - Map.CELL_SIZE / 2,
+			                  row * Map.CELL_SIZE - Map.CELL_SIZE / 2 );
 		}
-			
-		// Left side corners
-		//==================
-		if ( worldController.compareTiles( tileSetId, cell.x-1, cell.y ) >= +0 )
+		
+		// Top left corner
+		//================
+		if ( ( corners & AutoTile.CORNER_TOP_LEFT ) != 0 )
 		{
-			// Bottom left corner
-			//===================
-			if ( worldController.compareTiles( tileSetId, cell.x,   cell.y-1 ) >= +0 &&
-			     worldController.compareTiles( tileSetId, cell.x-1, cell.y-1 ) == -1 )
-			{
-				spriteBatch.draw( Resources.WORLD.mapTiles[tileSetId][18],
-		                          cell.x * Map.CELL_SIZE - Map.CELL_SIZE / 2,
-		                          cell.y * Map.CELL_SIZE - Map.CELL_SIZE / 2 );
-			}
-			
-			// Top left corner
-			//================
-			if ( worldController.compareTiles( tileSetId, cell.x,   cell.y+1 ) >= +0 &&
-			     worldController.compareTiles( tileSetId, cell.x-1, cell.y+1 ) == -1 )
-			{
-				spriteBatch.draw( Resources.WORLD.mapTiles[tileSetId][16],
-		                          cell.x * Map.CELL_SIZE - Map.CELL_SIZE / 2,
-		                          cell.y * Map.CELL_SIZE + Map.CELL_SIZE / 2 );
-			}
+			spriteBatch.draw( Resources.WORLD.mapTiles[tileSetId][AutoTile.TILE_TOP_LEFT],
+			                  col * Map.CELL_SIZE - Map.CELL_SIZE / 2,
+			                  row * Map.CELL_SIZE + Map.CELL_SIZE / 2 );
 		}
 	}
 	
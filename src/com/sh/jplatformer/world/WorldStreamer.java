@@ -0,0 +1,671 @@
+package com.sh.jplatformer.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.sh.jplatformer.world.map.Map;
+import com.sh.jplatformer.world.map.MapObject;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code WorldStreamer} class loads and unloads the regions of a huge world around the player
+ * and the camera while the world is simulated. A streamed world is a directory containing a header
+ * world file, which holds the map properties and the player, and one region file per region of
+ * {@code REGION_SIZE} x {@code REGION_SIZE} cells with its tiles and {@code MapObjects}.
+ * {@code split()} creates such a directory from a loaded world, {@code open()} loads its header.
+ * <p>
+ * Regions overlapping the activity regions of the {@code WorldController} extended by
+ * {@code LOAD_MARGIN} are read by a background thread. Loaded regions that no longer overlap the
+ * activity regions extended by {@code EVICT_MARGIN} are taken out of the world and written back
+ * with the current state of their objects. An object belongs to the region containing its center
+ * when it is evicted; the player is never evicted.
+ * <p>
+ * The simulation thread and the background thread only exchange regions through two lock-free
+ * queues. The simulation only waits for a region if the activity region around the player reaches
+ * it before it has been read, which happens right after opening a world. Requests are processed in
+ * order, so a region that is loaded again while it is still being written is read after the write.
+ */
+
+public class WorldStreamer
+{
+	// Constants
+	//==========
+	public static final int REGION_SIZE         = Map.CHUNK_SIZE * 2;
+	public static final float LOAD_MARGIN       = REGION_SIZE * Map.CELL_SIZE * 0.5f;
+	public static final float EVICT_MARGIN      = REGION_SIZE * Map.CELL_SIZE * 1.5f;
+	public static final String HEADER_FILE      = "world." + WorldFile.FILE_EXTENSION;
+	public static final String REGION_EXTENSION = ".region";
+	private static final long WAIT_NANOS        = 100000L;
+
+	// Region states
+	//==============
+	private static final byte STATE_UNLOADED = 0;
+	private static final byte STATE_LOADING  = 1;
+	private static final byte STATE_LOADED   = 2;
+	private static final byte STATE_FAILED   = 3;
+
+	// World
+	//======
+	private WorldController worldController;
+	private File directory;
+	private int regionColumns;
+	private int regionRows;
+	private byte[] states;
+	private ArrayList<Region> loadedRegions;
+	private int pendingCount;
+
+	// Hand-off
+	//=========
+	private ConcurrentLinkedQueue<Region> requests;
+	private ConcurrentLinkedQueue<Region> results;
+	private volatile boolean isClosing;
+	private Thread worker;
+
+	// Temporary values
+	//=================
+	private Rectangle tmp_area;
+	private ArrayList<Region> tmp_regions;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new {@code WorldStreamer} for a world and starts its background thread. All
+	 * regions are initially unloaded. The streamer has to be attached to the world by
+	 * {@code WorldController.setStreamer()}.
+	 * @param newWorldController the {@code WorldController} of the world.
+	 * @param newDirectory the directory of the streamed world.
+	 */
+	public WorldStreamer( WorldController newWorldController, File newDirectory )
+	{
+		// World
+		//======
+		worldController = newWorldController;
+		directory       = newDirectory;
+		regionColumns   = ( worldController.getMap().getColumns() + REGION_SIZE - 1 ) / REGION_SIZE;
+		regionRows      = ( worldController.getMap().getRows()    + REGION_SIZE - 1 ) / REGION_SIZE;
+		states          = new byte[regionColumns * regionRows];
+		loadedRegions   = new ArrayList<Region>();
+
+		// Hand-off
+		//=========
+		requests = new ConcurrentLinkedQueue<Region>();
+		results  = new ConcurrentLinkedQueue<Region>();
+		worker   = new Thread( new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				processRequests();
+			}
+		}, "WorldStreamer" );
+		worker.setDaemon( true );
+		worker.start();
+
+		// Temporary values
+		//=================
+		tmp_area    = new Rectangle();
+		tmp_regions = new ArrayList<Region>();
+	}
+
+	// split
+	//======
+	/**
+	 * Splits a loaded world into a streamed world directory. All tiles and objects except the
+	 * player are moved into region files, so the {@code WorldController} only keeps the header
+	 * data and the player afterwards.
+	 * @param worldController the world to split.
+	 * @param directory the directory to create. Existing region files are overwritten.
+	 * @return {@code false} if an error occurred.
+	 */
+	public static boolean split( WorldController worldController, File directory )
+	{
+		// Create directory
+		//=================
+		if ( directory.isDirectory() == false && directory.mkdirs() == false )
+		{
+			System.err.println( "Error creating world directory: " + directory.getPath() + "!" );
+			return ( false );
+		}
+
+		// Evict all regions
+		//==================
+		WorldStreamer streamer = new WorldStreamer( worldController, directory );
+
+		for ( int i = 0; i < streamer.states.length; i++ )
+		{
+			streamer.states[i] = STATE_LOADED;
+			streamer.loadedRegions.add( new Region( i % streamer.regionColumns, i / streamer.regionColumns ) );
+		}
+		streamer.close();
+
+		// Write header
+		//=============
+		WorldFile.saveWorld( new File( directory, HEADER_FILE ).getPath(), worldController );
+
+		return ( true );
+	}
+
+	// open
+	//=====
+	/**
+	 * Loads the header of a streamed world into a {@code WorldController} and attaches a new
+	 * {@code WorldStreamer}. The regions are loaded by the following updates of the world.
+	 * @param directory the directory of the streamed world.
+	 * @param worldController the {@code WorldController} to load the world into.
+	 * @return {@code false} if the header could not be loaded.
+	 */
+	public static boolean open( File directory, WorldController worldController )
+	{
+		if ( WorldFile.loadWorld( new File( directory, HEADER_FILE ).getPath(), worldController ) == false )
+		{
+			return ( false );
+		}
+		worldController.setStreamer( new WorldStreamer( worldController, directory ) );
+
+		return ( true );
+	}
+
+	// update
+	//=======
+	/**
+	 * Installs the regions read by the background thread, requests the regions near the activity
+	 * regions and evicts the regions far from them. This method is called by the
+	 * {@code WorldController} before the objects are updated.
+	 * @param playerRegion the activity region around the player.
+	 * @param cameraRegion the activity region around the visible area.
+	 */
+	public void update( Rectangle playerRegion, Rectangle cameraRegion )
+	{
+		// Install loaded regions
+		//=======================
+		Region region;
+
+		while ( ( region = results.poll() ) != null )
+		{
+			this.install( region );
+		}
+
+		// Request near regions
+		//=====================
+		this.request( playerRegion );
+		this.request( cameraRegion );
+		this.await( playerRegion );
+
+		// Evict far regions
+		//==================
+		tmp_regions.clear();
+
+		for ( int i = 0; i < loadedRegions.size(); i++ )
+		{
+			region = loadedRegions.get( i );
+
+			if ( this.isNear( region, playerRegion, EVICT_MARGIN ) == false &&
+			     this.isNear( region, cameraRegion, EVICT_MARGIN ) == false )
+			{
+				tmp_regions.add( region );
+			}
+		}
+		for ( int i = 0; i < tmp_regions.size(); i++ )
+		{
+			this.evict( tmp_regions.get( i ) );
+		}
+	}
+
+	// close
+	//======
+	/**
+	 * Evicts all loaded regions, so the state of their objects is persisted, and stops the
+	 * background thread after all regions have been written. Regions that are still being read are
+	 * discarded, as their files are unchanged.
+	 */
+	public void close()
+	{
+		// Evict loaded regions
+		//=====================
+		while ( loadedRegions.isEmpty() == false )
+		{
+			this.evict( loadedRegions.get( loadedRegions.size() - 1 ) );
+		}
+
+		// Stop background thread
+		//=======================
+		isClosing = true;
+		LockSupport.unpark( worker );
+
+		try
+		{
+			worker.join();
+		}
+		catch ( InterruptedException e )
+		{
+			System.err.println( "Interrupted while writing regions to: " + directory.getPath() + "!" );
+			Thread.currentThread().interrupt();
+		}
+		results.clear();
+	}
+
+	// request
+	//========
+	/**
+	 * Requests all unloaded regions overlapping an area extended by {@code LOAD_MARGIN}.
+	 */
+	private void request( Rectangle area )
+	{
+		// Skip empty areas
+		//=================
+		if ( area.width <= 0f || area.height <= 0f )
+		{
+			return;
+		}
+
+		// Region range
+		//=============
+		float regionUnits = REGION_SIZE * Map.CELL_SIZE;
+		int col1          = Math.max( (int) Math.floor( ( area.x - LOAD_MARGIN ) / regionUnits ), 0 );
+		int row1          = Math.max( (int) Math.floor( ( area.y - LOAD_MARGIN ) / regionUnits ), 0 );
+		int col2          = Math.min( (int) Math.floor( ( area.x + area.width  + LOAD_MARGIN ) / regionUnits ), regionColumns - 1 );
+		int row2          = Math.min( (int) Math.floor( ( area.y + area.height + LOAD_MARGIN ) / regionUnits ), regionRows - 1 );
+
+		// Queue requests
+		//===============
+		for ( int row = row1; row <= row2; row++ )
+		{
+			for ( int col = col1; col <= col2; col++ )
+			{
+				if ( states[row * regionColumns + col] == STATE_UNLOADED )
+				{
+					states[row * regionColumns + col] = STATE_LOADING;
+					pendingCount++;
+
+					requests.offer( new Region( col, row ) );
+					LockSupport.unpark( worker );
+				}
+			}
+		}
+	}
+
+	// await
+	//======
+	/**
+	 * Waits until all regions overlapping an area are installed, so the objects in the area never
+	 * run into missing tiles.
+	 */
+	private void await( Rectangle area )
+	{
+		// Skip empty areas
+		//=================
+		if ( area.width <= 0f || area.height <= 0f )
+		{
+			return;
+		}
+
+		// Region range
+		//=============
+		float regionUnits = REGION_SIZE * Map.CELL_SIZE;
+		int col1          = Math.max( (int) Math.floor( area.x / regionUnits ), 0 );
+		int row1          = Math.max( (int) Math.floor( area.y / regionUnits ), 0 );
+		int col2          = Math.min( (int) Math.floor( ( area.x + area.width  ) / regionUnits ), regionColumns - 1 );
+		int row2          = Math.min( (int) Math.floor( ( area.y + area.height ) / regionUnits ), regionRows - 1 );
+
+		// Install regions
+		//================
+		for ( int row = row1; row <= row2; row++ )
+		{
+			for ( int col = col1; col <= col2; col++ )
+			{
+				while ( states[row * regionColumns + col] == STATE_LOADING )
+				{
+					Region region = results.poll();
+
+					if ( region == null )
+					{
+						LockSupport.parkNanos( WAIT_NANOS );
+					}
+					else
+					{
+						this.install( region );
+					}
+				}
+			}
+		}
+	}
+
+	// install
+	//========
+	/**
+	 * Adds the tiles and objects of a region read by the background thread to the world. A region
+	 * whose file could not be read is not installed and never requested again, so it is never
+	 * evicted and its file is never overwritten or deleted.
+	 */
+	private void install( Region region )
+	{
+		Map map  = worldController.getMap();
+		int col1  = region.col * REGION_SIZE;
+		int row1  = region.row * REGION_SIZE;
+
+		// Keep failed region unloaded
+		//============================
+		if ( region.isFailed )
+		{
+			states[region.row * regionColumns + region.col] = STATE_FAILED;
+			pendingCount--;
+			return;
+		}
+
+		// Tiles
+		//======
+		if ( region.tileSetIds != null )
+		{
+			for ( int i = 0; i < region.tileSetIds.length; i++ )
+			{
+				if ( region.tileSetIds[i] >= 0 )
+				{
+					map.setTileSetId( col1 + i % REGION_SIZE, row1 + i / REGION_SIZE, region.tileSetIds[i] );
+				}
+			}
+			worldController.updateTiles( col1 - 1, row1 - 1, col1 + REGION_SIZE, row1 + REGION_SIZE );
+		}
+
+		// Objects
+		//========
+		if ( region.objects != null )
+		{
+			for ( MapObject o : region.objects )
+			{
+				o.initFrames();
+				o.setWorldController( worldController );
+
+				if ( o.getCollisionLayer() == MapObject.LAYER_NONE )
+				{
+					o.resetCollisionLayers();
+				}
+				worldController.addMapObject( o, o.getBounds().x, o.getBounds().y, false );
+			}
+		}
+
+		// Update state
+		//=============
+		region.tileSetIds = null;
+		region.objects    = null;
+		states[region.row * regionColumns + region.col] = STATE_LOADED;
+		loadedRegions.add( region );
+		pendingCount--;
+	}
+
+	// evict
+	//======
+	/**
+	 * Takes the tiles and objects of a loaded region out of the world and queues the region to be
+	 * written by the background thread.
+	 */
+	private void evict( Region region )
+	{
+		Map map  = worldController.getMap();
+		int col1 = region.col * REGION_SIZE;
+		int row1 = region.row * REGION_SIZE;
+
+		// Tiles
+		//======
+		byte[] tileSetIds = new byte[REGION_SIZE * REGION_SIZE];
+		boolean isEmpty   = true;
+
+		for ( int i = 0; i < tileSetIds.length; i++ )
+		{
+			int col = col1 + i % REGION_SIZE;
+			int row = row1 + i / REGION_SIZE;
+
+			tileSetIds[i] = (byte) map.getTileSetId( col, row );
+
+			if ( tileSetIds[i] >= 0 )
+			{
+				map.setTileSetId( col, row, -1 );
+				isEmpty = false;
+			}
+		}
+		if ( isEmpty == false )
+		{
+			worldController.updateTiles( col1 - 1, row1 - 1, col1 + REGION_SIZE, row1 + REGION_SIZE );
+		}
+
+		// Objects
+		//========
+		float regionUnits = REGION_SIZE * Map.CELL_SIZE;
+
+		tmp_area.set( region.col * regionUnits, region.row * regionUnits, regionUnits, regionUnits );
+		region.objects    = worldController.takeMapObjects( tmp_area, new ArrayList<MapObject>() );
+		region.tileSetIds = isEmpty ? null : tileSetIds;
+		region.isSave     = true;
+
+		// Update state
+		//=============
+		states[region.row * regionColumns + region.col] = STATE_UNLOADED;
+		loadedRegions.remove( region );
+
+		requests.offer( region );
+		LockSupport.unpark( worker );
+	}
+
+	// isNear
+	//=======
+	private boolean isNear( Region region, Rectangle area, float margin )
+	{
+		// Skip empty areas
+		//=================
+		if ( area.width <= 0f || area.height <= 0f )
+		{
+			return ( false );
+		}
+
+		// Check overlap
+		//==============
+		float regionUnits = REGION_SIZE * Map.CELL_SIZE;
+		float x           = region.col * regionUnits;
+		float y           = region.row * regionUnits;
+
+		return ( x < area.x + area.width + margin && x + regionUnits > area.x - margin &&
+		         y < area.y + area.height + margin && y + regionUnits > area.y - margin );
+	}
+
+	// processRequests
+	//================
+	/**
+	 * The loop of the background thread. Regions to write are written, regions to read are read
+	 * and handed to the simulation thread. The thread parks while there are no requests and ends
+	 * when the streamer is closed and all requests are processed.
+	 */
+	private void processRequests()
+	{
+		while ( true )
+		{
+			Region region = requests.poll();
+
+			if ( region == null )
+			{
+				if ( isClosing )
+				{
+					return;
+				}
+				LockSupport.park( this );
+			}
+			else if ( region.isSave )
+			{
+				this.write( region );
+			}
+			else
+			{
+				this.read( region );
+				results.offer( region );
+			}
+		}
+	}
+
+	// read
+	//=====
+	/**
+	 * Reads the tiles and objects of a region. A missing region file is an empty region. If the
+	 * file cannot be read, the region is marked as failed and nothing of it is installed.
+	 */
+	@SuppressWarnings("unchecked")
+	private void read( Region region )
+	{
+		File file = this.getRegionFile( region );
+
+		if ( file.exists() == false )
+		{
+			return;
+		}
+
+		try ( InputStream fis = new FileInputStream( file ); )
+		{
+			ObjectInputStream in = new ObjectInputStream( fis );
+
+			region.tileSetIds = ( byte[] )               in.readObject();
+			region.objects    = ( ArrayList<MapObject> ) in.readObject();
+		}
+		catch ( Exception e )
+		{
+			region.tileSetIds = null;
+			region.objects    = null;
+			region.isFailed   = true;
+			System.err.println( "Error reading region file: " + file.getName() + "!" );
+		}
+	}
+
+	// write
+	//======
+	/**
+	 * Writes the tiles and objects of a region. The file of an empty region is deleted.
+	 */
+	private void write( Region region )
+	{
+		File file = this.getRegionFile( region );
+
+		// Delete empty region
+		//====================
+		if ( region.tileSetIds == null && region.objects.isEmpty() )
+		{
+			if ( file.exists() && file.delete() == false )
+			{
+				System.err.println( "Error deleting region file: " + file.getName() + "!" );
+			}
+			return;
+		}
+
+		// Write region
+		//=============
+		try ( OutputStream fos = new FileOutputStream( file ); )
+		{
+			ObjectOutputStream out = new RegionOutputStream( fos );
+
+			out.writeObject( region.tileSetIds );
+			out.writeObject( region.objects );
+			out.flush();
+		}
+		catch ( Exception e )
+		{
+			System.err.println( "Error writing region file: " + file.getName() + "!" );
+		}
+	}
+
+	// getRegionFile
+	//==============
+	private File getRegionFile( Region region )
+	{
+		return ( new File( directory, region.col + "_" + region.row + REGION_EXTENSION ) );
+	}
+
+	// getRegionCount
+	//===============
+	/**
+	 * @return the total number of regions of the world.
+	 */
+	public int getRegionCount()
+	{
+		return ( states.length );
+	}
+
+	// getLoadedCount
+	//===============
+	/**
+	 * @return the number of regions currently loaded into the world.
+	 */
+	public int getLoadedCount()
+	{
+		return ( loadedRegions.size() );
+	}
+
+	// getPendingCount
+	//================
+	/**
+	 * @return the number of requested regions which have not been installed yet.
+	 */
+	public int getPendingCount()
+	{
+		return ( pendingCount );
+	}
+
+	// getDirectory
+	//=============
+	public File getDirectory()
+	{
+		return ( directory );
+	}
+
+	// Region
+	//=======
+	/**
+	 * A region on its way between the world and its file. Loaded regions carry no data; the tiles
+	 * and objects are only attached while the region is read or written.
+	 */
+	private static class Region
+	{
+		private final int col;
+		private final int row;
+		private byte[] tileSetIds;
+		private ArrayList<MapObject> objects;
+		private boolean isSave;
+		private boolean isFailed;
+
+		// Constructor
+		//============
+		private Region( int newCol, int newRow )
+		{
+			col = newCol;
+			row = newRow;
+		}
+	}
+
+	// RegionOutputStream
+	//===================
+	/**
+	 * An {@code ObjectOutputStream} that writes {@code null} instead of the
+	 * {@code WorldController} referenced by every {@code MapObject}, so a region file only contains
+	 * its own objects.
+	 */
+	private static class RegionOutputStream extends ObjectOutputStream
+	{
+		// Constructor
+		//============
+		private RegionOutputStream( OutputStream out ) throws IOException
+		{
+			super( out );
+			this.enableReplaceObject( true );
+		}
+
+		// replaceObject
+		//==============
+		@Override
+		protected Object replaceObject( Object obj ) throws IOException
+		{
+			return ( obj instanceof WorldController ? null : obj );
+		}
+	}
+}
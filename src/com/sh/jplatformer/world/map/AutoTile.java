@@ -0,0 +1,204 @@
+package com.sh.jplatformer.world.map;
+
+/**
+ * The {@code AutoTile} class selects the sprites of {@code Map} cells from their neighbours. The
+ * 8 neighbours of a cell are reduced to a bitmask with one bit per neighbour of the same tile
+ * set. A table with 256 entries maps every mask to the base tile ID and to the inner corner
+ * overlays, so a cell is autotiled with 8 reads and 2 table lookups.
+ * <p>
+ * Neighbours out of the map are replaced by the nearest cell of the map, so a tile set touching
+ * the map border is continued beyond it.
+ */
+
+public class AutoTile
+{
+	// Neighbour bits
+	//===============
+	public static final int NORTH      = 1;
+	public static final int NORTH_EAST = 2;
+	public static final int EAST       = 4;
+	public static final int SOUTH_EAST = 8;
+	public static final int SOUTH      = 16;
+	public static final int SOUTH_WEST = 32;
+	public static final int WEST       = 64;
+	public static final int NORTH_WEST = 128;
+
+	// Corner bits
+	//============
+	public static final int CORNER_BOTTOM_RIGHT = 1;
+	public static final int CORNER_TOP_RIGHT    = 2;
+	public static final int CORNER_BOTTOM_LEFT  = 4;
+	public static final int CORNER_TOP_LEFT     = 8;
+
+	// Corner tile IDs
+	//================
+	public static final int TILE_BOTTOM_RIGHT = 19;
+	public static final int TILE_TOP_RIGHT    = 17;
+	public static final int TILE_BOTTOM_LEFT  = 18;
+	public static final int TILE_TOP_LEFT     = 16;
+
+	// Tables
+	//=======
+	private static final byte[] TILE_IDS = new byte[256];
+	private static final byte[] CORNERS  = new byte[256];
+
+	static
+	{
+		for ( int mask = 0; mask < 256; mask++ )
+		{
+			TILE_IDS[mask] = (byte) selectTileId( mask );
+			CORNERS[mask]  = (byte) selectCorners( mask );
+		}
+	}
+
+	// Constructor
+	//============
+	private AutoTile()
+	{
+	}
+
+	// getMask
+	//========
+	/**
+	 * @param map the {@code Map}.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @return the bitmask of the neighbours that belong to the same tile set as the cell.
+	 */
+	public static int getMask( Map map, int col, int row )
+	{
+		// Clamp neighbours
+		//=================
+		int tileSetId = map.getTileSetId( col, row );
+		int west      = Math.max( col - 1, 0 );
+		int east      = Math.min( col + 1, map.getColumns() - 1 );
+		int south     = Math.max( row - 1, 0 );
+		int north     = Math.min( row + 1, map.getRows() - 1 );
+		int mask      = 0;
+
+		// Compare neighbours
+		//===================
+		if ( map.getTileSetId( col,  north ) == tileSetId ) mask |= NORTH;
+		if ( map.getTileSetId( east, north ) == tileSetId ) mask |= NORTH_EAST;
+		if ( map.getTileSetId( east, row   ) == tileSetId ) mask |= EAST;
+		if ( map.getTileSetId( east, south ) == tileSetId ) mask |= SOUTH_EAST;
+		if ( map.getTileSetId( col,  south ) == tileSetId ) mask |= SOUTH;
+		if ( map.getTileSetId( west, south ) == tileSetId ) mask |= SOUTH_WEST;
+		if ( map.getTileSetId( west, row   ) == tileSetId ) mask |= WEST;
+		if ( map.getTileSetId( west, north ) == tileSetId ) mask |= NORTH_WEST;
+
+		return ( mask );
+	}
+
+	// getTileId
+	//==========
+	/**
+	 * @param mask the neighbour mask of a cell.
+	 * @return the base tile ID of the cell.
+	 */
+	public static int getTileId( int mask )
+	{
+		return ( TILE_IDS[mask & 0xFF] );
+	}
+
+	// getCorners
+	//===========
+	/**
+	 * @param mask the neighbour mask of a cell.
+	 * @return the {@code CORNER_*} bits of the inner corner overlays to draw on the cell.
+	 */
+	public static int getCorners( int mask )
+	{
+		return ( CORNERS[mask & 0xFF] );
+	}
+
+	// selectTileId
+	//=============
+	/**
+	 * Selects the base tile for a neighbour mask. Only the direct neighbours are considered.
+	 */
+	private static int selectTileId( int mask )
+	{
+		// Values
+		//=======
+		boolean n = ( mask & NORTH ) != 0;
+		boolean e = ( mask & EAST  ) != 0;
+		boolean s = ( mask & SOUTH ) != 0;
+		boolean w = ( mask & WEST  ) != 0;
+		int tileId = 4;
+
+		// Rectangular (right)
+		//====================
+		if ( !e )
+		{
+			if ( !s ) tileId = 8;      // Top Right Corner
+			if ( !n ) tileId = 2;      // Bottom Right Corner
+			if ( s && n ) tileId = 5;  // Right Side Center
+		}
+
+		// Rectangular (left)
+		//===================
+		if ( !w )
+		{
+			if ( !s ) tileId = 6;      // Top Left Corner
+			if ( !n ) tileId = 0;      // Bottom Left Corner
+			if ( s && n ) tileId = 3;  // Left Side Center
+		}
+
+		// Rectangular center (top, bottom)
+		//=================================
+		if ( w && e )
+		{
+			if ( !s ) tileId = 7;      // Top Center
+			if ( !n ) tileId = 1;      // Bottom Center
+		}
+
+		// Single Tiles (Horizontal)
+		//==========================
+		if ( !s && !n )
+		{
+			if ( !e ) tileId = 11;     // Single Left
+			if ( !w ) tileId = 9;      // Single Right
+			if ( e && w ) tileId = 10; // Single Horizontal Center
+		}
+
+		// Single Tiles (Vertical)
+		//========================
+		if ( !e && !w )
+		{
+			if ( !n ) tileId = 12;     // Single Bottom
+			if ( !s ) tileId = 14;     // Single Top
+			if ( s && n ) tileId = 13; // Single Vertical Center
+			if ( !s && !n ) tileId = 15; // Single Tile
+		}
+		return ( tileId );
+	}
+
+	// selectCorners
+	//==============
+	/**
+	 * Selects the inner corner overlays for a neighbour mask. A corner is drawn where two direct
+	 * neighbours belong to the tile set, but the diagonal neighbour between them does not.
+	 */
+	private static int selectCorners( int mask )
+	{
+		int corners = 0;
+
+		// Right side corners
+		//===================
+		if ( ( mask & EAST ) != 0 )
+		{
+			if ( ( mask & SOUTH ) != 0 && ( mask & SOUTH_EAST ) == 0 ) corners |= CORNER_BOTTOM_RIGHT;
+			if ( ( mask & NORTH ) != 0 && ( mask & NORTH_EAST ) == 0 ) corners |= CORNER_TOP_RIGHT;
+		}
+
+		// Left side corners
+		//==================
+		if ( ( mask & WEST ) != 0 )
+		{
+			if ( ( mask & SOUTH ) != 0 && ( mask & SOUTH_WEST ) == 0 ) corners |= CORNER_BOTTOM_LEFT;
+			if ( ( mask & NORTH ) != 0 && ( mask & NORTH_WEST ) == 0 ) corners |= CORNER_TOP_LEFT;
+		}
+		return ( corners );
+	}
+}
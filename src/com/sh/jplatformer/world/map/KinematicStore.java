@@ -0,0 +1,339 @@
+package com.sh.jplatformer.world.map;
+
+import java.util.Arrays;
+
+/**
+ * The {@code KinematicStore} class keeps the kinematic state of registered {@code MapObjects} in
+ * primitive arrays (structure of arrays). Every object occupies a dense slot, so passes over
+ * positions and forces run as tight loops over contiguous memory instead of visiting the
+ * {@code Rectangle} and force fields of every object.
+ * <p>
+ * The store is a mirror: {@code gather()} copies the state of the objects into the arrays,
+ * {@code scatter()} writes positions and forces back. {@code integrate()} advances the forces
+ * and positions without collision detection, using the same force functions as
+ * {@code MapObject}.
+ * <p>
+ * The store is not attached to the {@code WorldController}, as mirroring the objects in every
+ * tick costs more than the array loops save. It is measured by {@code Benchmarks.kinematics()}.
+ */
+
+public class KinematicStore
+{
+	// Constants
+	//==========
+	public static final int FLAG_GRAVITY   = 1;
+	public static final int FLAG_ON_GROUND = 2;
+
+	public static final float GRAVITY             = 1100f;
+	public static final float MAX_FALL_FORCE      = -600f;
+	public static final float MIN_JUMP_FORCE      = 150f;
+	public static final float MAX_JUMP_FORCE      = 450f;
+	public static final float JUMP_FORCE_FACTOR   = 8f;
+	public static final float HORIZONTAL_FRICTION = 120f;
+	private static final int INITIAL_CAPACITY     = 256;
+
+	// Arrays
+	//=======
+	public float[] x;
+	public float[] y;
+	public float[] w;
+	public float[] h;
+	public float[] vx;
+	public float[] vy;
+	public float[] jumpTargetY;
+	public int[] flags;
+	private MapObject[] objects;
+	private int size;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new empty {@code KinematicStore}.
+	 */
+	public KinematicStore()
+	{
+		this.allocate( INITIAL_CAPACITY );
+	}
+
+	// allocate
+	//=========
+	private void allocate( int capacity )
+	{
+		x           = new float[capacity];
+		y           = new float[capacity];
+		w           = new float[capacity];
+		h           = new float[capacity];
+		vx          = new float[capacity];
+		vy          = new float[capacity];
+		jumpTargetY = new float[capacity];
+		flags       = new int[capacity];
+		objects     = new MapObject[capacity];
+	}
+
+	// grow
+	//=====
+	private void grow( int capacity )
+	{
+		x           = Arrays.copyOf( x,           capacity );
+		y           = Arrays.copyOf( y,           capacity );
+		w           = Arrays.copyOf( w,           capacity );
+		h           = Arrays.copyOf( h,           capacity );
+		vx          = Arrays.copyOf( vx,          capacity );
+		vy          = Arrays.copyOf( vy,          capacity );
+		jumpTargetY = Arrays.copyOf( jumpTargetY, capacity );
+		flags       = Arrays.copyOf( flags,       capacity );
+		objects     = Arrays.copyOf( objects,     capacity );
+	}
+
+	// clear
+	//======
+	/**
+	 * Removes all {@code MapObjects} from this {@code KinematicStore}.
+	 */
+	public void clear()
+	{
+		for ( int i = 0; i < size; i++ )
+		{
+			objects[i].hasKinematicSlot = false;
+			objects[i] = null;
+		}
+		size = 0;
+	}
+
+	// register
+	//=========
+	/**
+	 * Assigns the next free slot to a {@code MapObject} and copies its current state into the
+	 * arrays. Objects that are already registered are ignored.
+	 * @param o the {@code MapObject} to register.
+	 */
+	public void register( MapObject o )
+	{
+		// Ignore if registered
+		//=====================
+		if ( o.hasKinematicSlot == true )
+		{
+			return;
+		}
+
+		// Grow arrays
+		//============
+		if ( size == objects.length )
+		{
+			this.grow( objects.length * 2 );
+		}
+
+		// Assign slot
+		//============
+		objects[size]      = o;
+		o.kinematicSlot    = size;
+		o.hasKinematicSlot = true;
+
+		this.read( size );
+		size++;
+	}
+
+	// unregister
+	//===========
+	/**
+	 * Releases the slot of a {@code MapObject}. The last slot is moved into the gap, so the slots
+	 * stay dense.
+	 * @param o the {@code MapObject} to unregister.
+	 */
+	public void unregister( MapObject o )
+	{
+		// Ignore if not registered
+		//=========================
+		if ( o.hasKinematicSlot == false )
+		{
+			return;
+		}
+
+		// Move last slot into gap
+		//========================
+		int slot = o.kinematicSlot;
+		int last = size - 1;
+
+		if ( slot != last )
+		{
+			x[slot]           = x[last];
+			y[slot]           = y[last];
+			w[slot]           = w[last];
+			h[slot]           = h[last];
+			vx[slot]          = vx[last];
+			vy[slot]          = vy[last];
+			jumpTargetY[slot] = jumpTargetY[last];
+			flags[slot]       = flags[last];
+			objects[slot]     = objects[last];
+
+			objects[slot].kinematicSlot = slot;
+		}
+
+		// Release slot
+		//=============
+		objects[last]      = null;
+		o.hasKinematicSlot = false;
+		size--;
+	}
+
+	// gather
+	//=======
+	/**
+	 * Copies the current state of all registered {@code MapObjects} into the arrays.
+	 */
+	public void gather()
+	{
+		for ( int i = 0; i < size; i++ )
+		{
+			this.read( i );
+		}
+	}
+
+	// scatter
+	//========
+	/**
+	 * Writes the positions and forces of the arrays back to the registered {@code MapObjects}.
+	 */
+	public void scatter()
+	{
+		for ( int i = 0; i < size; i++ )
+		{
+			MapObject o = objects[i];
+
+			o.bounds.x        = x[i];
+			o.bounds.y        = y[i];
+			o.horizontalForce = vx[i];
+			o.verticalForce   = vy[i];
+			o.jumpTargetY     = jumpTargetY[i];
+		}
+	}
+
+	// integrate
+	//==========
+	/**
+	 * Advances the forces and positions of all slots by one simulation step. Objects are moved
+	 * freely, so this pass does not replace the collision handling of {@code MapObject.move()}.
+	 * @param delta the simulation step in seconds.
+	 */
+	public void integrate( float delta )
+	{
+		// Horizontal movement
+		//====================
+		for ( int i = 0; i < size; i++ )
+		{
+			x[i] += vx[i] * delta;
+			vx[i] = decayHorizontalForce( vx[i], delta );
+		}
+
+		// Vertical forces
+		//================
+		for ( int i = 0; i < size; i++ )
+		{
+			if ( ( flags[i] & FLAG_GRAVITY ) != 0 )
+			{
+				if ( jumpTargetY[i] > y[i] )
+				{
+					// Jump up to reverse point
+					//=========================
+					vy[i] = jumpForce( y[i], jumpTargetY[i] );
+					y[i] += vy[i] * delta;
+					
+					if ( y[i] >= jumpTargetY[i] )
+					{
+						vy[i]          = -0.00001f;
+						jumpTargetY[i] = -999f;
+					}
+				}
+				else
+				{
+					// Fall
+					//=====
+					vy[i] = fallForce( vy[i], delta );
+					y[i] += vy[i] * delta;
+				}
+			}
+		}
+	}
+
+	// size
+	//=====
+	/**
+	 * @return the number of occupied slots.
+	 */
+	public int size()
+	{
+		return ( size );
+	}
+
+	// getMapObject
+	//=============
+	/**
+	 * @param slot the slot index.
+	 * @return the {@code MapObject} occupying the slot.
+	 */
+	public MapObject getMapObject( int slot )
+	{
+		return ( objects[slot] );
+	}
+
+	// read
+	//=====
+	private void read( int slot )
+	{
+		MapObject o = objects[slot];
+
+		x[slot]           = o.bounds.x;
+		y[slot]           = o.bounds.y;
+		w[slot]           = o.bounds.width;
+		h[slot]           = o.bounds.height;
+		vx[slot]          = o.horizontalForce;
+		vy[slot]          = o.verticalForce;
+		jumpTargetY[slot] = o.jumpTargetY;
+		flags[slot]       = ( o.ignoreGravity ? 0 : FLAG_GRAVITY ) | ( o.isOnGround ? FLAG_ON_GROUND : 0 );
+	}
+
+	// decayHorizontalForce
+	//=====================
+	/**
+	 * @param force the current horizontal force.
+	 * @param delta the simulation step in seconds.
+	 * @return the horizontal force reduced by the friction, stopping at 0.
+	 */
+	public static float decayHorizontalForce( float force, float delta )
+	{
+		if ( force > 0f )
+		{
+			return ( Math.max( force - HORIZONTAL_FRICTION * delta, 0f ) );
+		}
+		return ( Math.min( force + HORIZONTAL_FRICTION * delta, 0f ) );
+	}
+
+	// fallForce
+	//==========
+	/**
+	 * @param force the current vertical force.
+	 * @param delta the simulation step in seconds.
+	 * @return the vertical force increased by the gravity, limited to {@code MAX_FALL_FORCE}.
+	 */
+	public static float fallForce( float force, float delta )
+	{
+		return ( Math.max( force - GRAVITY * delta, MAX_FALL_FORCE ) );
+	}
+
+	// jumpForce
+	//==========
+	/**
+	 * @param y the current y-position.
+	 * @param targetY the y-position of the jump reverse point.
+	 * @return the upward force, which decreases while approaching the reverse point.
+	 */
+	public static float jumpForce( float y, float targetY )
+	{
+		float force = ( targetY - y ) * JUMP_FORCE_FACTOR;
+
+		if ( force < MIN_JUMP_FORCE ) force = MIN_JUMP_FORCE;
+		if ( force > MAX_JUMP_FORCE ) force = MAX_JUMP_FORCE;
+
+		return ( force );
+	}
+}
@@ -3,10 +3,27 @@ package com.sh.jplatformer.world.map;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.sh.jplatformer.util.Lang;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * The {@code Map} class provides a model for two-dimensional game maps.
+ * <p>
+ * The cells are stored in chunks of {@code CHUNK_SIZE} x {@code CHUNK_SIZE} cells, which are
+ * looked up in a chunk table. A chunk holds a {@code byte} tile set ID and a {@code short} per
+ * cell in row-major order; the {@code short} holds the tile ID in its low byte and the
+ * {@code AutoTile} corner overlays in its high byte. Chunks are only allocated while they contain
+ * an occupied cell, so empty sky costs a single table entry per 1024 cells. A chunk takes about
+ * 3.3 KB, the same 3 bytes per cell as a dense layout, while a 100000x20000 map with ground and
+ * scattered platforms needs 25 MB instead of 6 GB. {@code MapCell} objects are only
+ * created as views on request.
+ * <p>
+ * Besides the tiles, every chunk keeps its solidity bits, one {@code int} per row. Collision and
+ * AI queries test single cells and whole runs of a row with one word operation per chunk and
+ * skip empty chunks. Line-of-sight raycasts walk the bits cell by cell. The bits are updated by
+ * {@code setTileSetId()}.
  * @author Stefan Hsemann
  */
 
@@ -32,9 +49,16 @@ public class Map implements Serializable
 		 150, 50, 0, -50, -150
 	};
 	
+	// Chunks
+	//=======
+	public static final int CHUNK_SHIFT = 5;
+	public static final int CHUNK_SIZE  = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	
 	// Array properties
 	//================
-	private MapCell cells[];
+	private Chunk[] chunks;
+	private transient int chunkColumns;
 	private int rows;
 	private int columns;
 	private Rectangle mapBounds;
@@ -128,20 +152,244 @@ public class Map implements Serializable
 		//=================
 		columns   = newColumns;
 		rows      = newRows;
-		cells     = new MapCell[columns * rows];
 		mapBounds = new Rectangle( 0f, 0f, Map.CELL_SIZE * columns, Map.CELL_SIZE * rows );
 		
-		// Create cells
-		//=============
-		if ( cells.length > 0 )
+		// Clear cells
+		//============
+		chunkColumns = ( columns + CHUNK_MASK ) >> CHUNK_SHIFT;
+		chunks       = new Chunk[chunkColumns * ( ( rows + CHUNK_MASK ) >> CHUNK_SHIFT )];
+	}
+	
+	// readObject
+	//===========
+	private void readObject( ObjectInputStream in ) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		
+		chunkColumns = ( columns + CHUNK_MASK ) >> CHUNK_SHIFT;
+		
+		// Create empty chunks for streams of MapCell based maps
+		//======================================================
+		if ( chunks == null )
+		{
+			chunks = new Chunk[chunkColumns * ( ( rows + CHUNK_MASK ) >> CHUNK_SHIFT )];
+		}
+	}
+	
+	// getChunk
+	//=========
+	/**
+	 * @return the chunk containing the specified cell or {@code null} if the chunk is empty. The
+	 * cell must be within the map.
+	 */
+	private Chunk getChunk( int col, int row )
+	{
+		return ( chunks[( row >> CHUNK_SHIFT ) * chunkColumns + ( col >> CHUNK_SHIFT )] );
+	}
+	
+	// isChunkEmpty
+	//=============
+	/**
+	 * Checks whether the chunk containing a cell is empty. Empty chunks contain no occupied cells,
+	 * so loops over large areas can skip the {@code CHUNK_SIZE} cells of a chunk row at once.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @return {@code true} if no cell of the chunk is occupied or if the cell is out of map,
+	 * {@code false} otherwise.
+	 */
+	public boolean isChunkEmpty( int col, int row )
+	{
+		if ( col < 0 || row < 0 || col >= columns || row >= rows )
+		{
+			return ( true );
+		}
+		return ( this.getChunk( col, row ) == null );
+	}
+	
+	// getChunkCount
+	//==============
+	/**
+	 * @return the number of allocated chunks, i.e. of chunks with at least one occupied cell.
+	 */
+	public int getChunkCount()
+	{
+		int count = 0;
+		
+		for ( Chunk chunk : chunks )
 		{
-			for ( int i = 0; i < columns * rows; i++ )
+			if ( chunk != null )
 			{
-				cells[i] = new MapCell();
-				cells[i].x = ( (int) ( i / rows ) );
-				cells[i].y = i - ( cells[i].x * rows );
+				count++;
 			}
 		}
+		return ( count );
+	}
+	
+	// setTileSetId
+	//=============
+	/**
+	 * Sets the tile set ID of a cell and updates the solidity bits of its chunk. The chunk is
+	 * allocated when its first cell is occupied and released when its last cell is cleared. Cells
+	 * out of the map are ignored.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @param tileSetId the new tile set ID, {@code -1} for an empty cell. The ID must not exceed
+	 * {@code Byte.MAX_VALUE}.
+	 */
+	public void setTileSetId( int col, int row, int tileSetId )
+	{
+		// Ignore cells out of map
+		//========================
+		if ( col < 0 || row < 0 || col >= columns || row >= rows )
+		{
+			return;
+		}
+		
+		// Allocate chunk
+		//===============
+		int index   = ( row >> CHUNK_SHIFT ) * chunkColumns + ( col >> CHUNK_SHIFT );
+		Chunk chunk = chunks[index];
+		
+		if ( chunk == null )
+		{
+			if ( tileSetId < 0 )
+			{
+				return;
+			}
+			chunk         = new Chunk();
+			chunks[index] = chunk;
+		}
+		
+		// Update cell + bit
+		//==================
+		int i            = Chunk.indexOf( col, row );
+		boolean occupied = chunk.tileSetIds[i] >= 0;
+		
+		chunk.tileSetIds[i] = (byte) tileSetId;
+		
+		if ( tileSetId >= 0 )
+		{
+			chunk.solidity[row & CHUNK_MASK] |= 1 << ( col & CHUNK_MASK );
+			
+			if ( occupied == false )
+			{
+				chunk.occupied++;
+			}
+		}
+		else
+		{
+			chunk.solidity[row & CHUNK_MASK] &= ~( 1 << ( col & CHUNK_MASK ) );
+			
+			// Release empty chunk
+			//====================
+			if ( occupied == true && --chunk.occupied == 0 )
+			{
+				chunks[index] = null;
+			}
+		}
+	}
+	
+	// getTileSetId
+	//=============
+	/**
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @return the tile set ID of the cell or {@code -1} if the cell is empty or out of map.
+	 */
+	public int getTileSetId( int col, int row )
+	{
+		if ( col < 0 || row < 0 || col >= columns || row >= rows )
+		{
+			return ( -1 );
+		}
+		Chunk chunk = this.getChunk( col, row );
+		
+		return ( chunk == null ? -1 : chunk.tileSetIds[Chunk.indexOf( col, row )] );
+	}
+	
+	// setTileId
+	//==========
+	/**
+	 * Sets the tile ID of a cell, which selects the sprite of its tile set. The corner overlays
+	 * of the cell are kept. Cells out of the map and cells of empty chunks are ignored, so the
+	 * tile set ID of a new cell has to be set first.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @param tileId the new tile ID.
+	 */
+	public void setTileId( int col, int row, int tileId )
+	{
+		if ( col >= 0 && row >= 0 && col < columns && row < rows )
+		{
+			Chunk chunk = this.getChunk( col, row );
+			
+			if ( chunk != null )
+			{
+				int i = Chunk.indexOf( col, row );
+				
+				chunk.tiles[i] = (short) ( ( chunk.tiles[i] & 0xFF00 ) | ( tileId & 0xFF ) );
+			}
+		}
+	}
+	
+	// setTile
+	//========
+	/**
+	 * Sets the tile ID and the corner overlays of a cell. Cells out of the map and cells of empty
+	 * chunks are ignored.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @param tileId the new tile ID.
+	 * @param corners the {@code AutoTile} corner bits.
+	 */
+	public void setTile( int col, int row, int tileId, int corners )
+	{
+		if ( col >= 0 && row >= 0 && col < columns && row < rows )
+		{
+			Chunk chunk = this.getChunk( col, row );
+			
+			if ( chunk != null )
+			{
+				chunk.tiles[Chunk.indexOf( col, row )] = (short) ( ( corners << 8 ) | ( tileId & 0xFF ) );
+			}
+		}
+	}
+	
+	// getTileId
+	//==========
+	/**
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @return the tile ID of the cell or {@code 0} if the cell is out of map or its chunk is empty.
+	 */
+	public int getTileId( int col, int row )
+	{
+		if ( col < 0 || row < 0 || col >= columns || row >= rows )
+		{
+			return ( 0 );
+		}
+		Chunk chunk = this.getChunk( col, row );
+		
+		return ( chunk == null ? 0 : chunk.tiles[Chunk.indexOf( col, row )] & 0xFF );
+	}
+	
+	// getTileCorners
+	//===============
+	/**
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @return the {@code AutoTile} corner bits of the cell or {@code 0} if the cell is out of map
+	 * or its chunk is empty.
+	 */
+	public int getTileCorners( int col, int row )
+	{
+		if ( col < 0 || row < 0 || col >= columns || row >= rows )
+		{
+			return ( 0 );
+		}
+		Chunk chunk = this.getChunk( col, row );
+		
+		return ( chunk == null ? 0 : ( chunk.tiles[Chunk.indexOf( col, row )] >> 8 ) & 0xFF );
 	}
 	
 	// isBlocked
@@ -152,8 +400,7 @@ public class Map implements Serializable
 	 */
 	public boolean isBlocked( Vector2 position )
 	{
-		return ( this.isBlocked( this.getCellAt( position ).x,
-		                         this.getCellAt( position ).y ) );
+		return ( this.isBlocked( position.x, position.y ) );
 	}
 	
 	// isBlocked
@@ -165,8 +412,7 @@ public class Map implements Serializable
 	 */
 	public boolean isBlocked( float x, float y )
 	{
-		return ( this.isBlocked( this.getCellAt( x, y ).x,
-		                         this.getCellAt( x, y ).y ) );
+		return ( this.isBlocked( this.getColumnAt( x ), this.getRowAt( y ) ) );
 	}
 	
 	// isBlocked
@@ -179,25 +425,269 @@ public class Map implements Serializable
 	 */
 	public boolean isBlocked( int col, int row )
 	{
-		// Read Data
-		//==========
-		try
+		if ( col < 0 || row < 0 || col >= columns || row >= rows )
+		{
+			return ( true );
+		}
+		Chunk chunk = this.getChunk( col, row );
+		
+		return ( chunk != null && ( chunk.solidity[row & CHUNK_MASK] & ( 1 << ( col & CHUNK_MASK ) ) ) != 0 );
+	}
+	
+	// isBlocked
+	//==========
+	/**
+	 * Checks a rectangular range of cells. The range is visited without creating any objects, so
+	 * this method is suited for collision checks of moving objects.
+	 * @param col1 the first column of the range.
+	 * @param row1 the first row of the range.
+	 * @param col2 the last column of the range.
+	 * @param row2 the last row of the range.
+	 * @return {@code true} if any cell of the range is blocked or out of map, {@code false}
+	 * otherwise.
+	 */
+	public boolean isBlocked( int col1, int row1, int col2, int row2 )
+	{
+		for ( int row = row1; row <= row2; row++ )
+		{
+			if ( this.isBlockedRun( row, col1, col2 ) )
+			{
+				return ( true );
+			}
+		}
+		return ( false );
+	}
+	
+	// isBlockedRun
+	//=============
+	/**
+	 * Checks whether any cell of a horizontal run is blocked. The run is tested with one word
+	 * operation per chunk; empty chunks are skipped.
+	 * @param row the row of the run.
+	 * @param col1 the first column of the run.
+	 * @param col2 the last column of the run.
+	 * @return {@code true} if at least one cell of the run is blocked or out of map, {@code false}
+	 * otherwise or if the run is empty.
+	 */
+	public boolean isBlockedRun( int row, int col1, int col2 )
+	{
+		// Check range
+		//============
+		if ( col1 > col2 )
 		{
-			return ( this.getCellAt( col, row ).tileSetId >= 0 );
+			return ( false );
 		}
-		catch ( Exception e )
+		if ( col1 < 0 || row < 0 || col2 >= columns || row >= rows )
 		{
-			System.err.println( "Error reading map value at " + "[x=" + col + ", y=" + row + "]!" );
 			return ( true );
 		}
+		
+		// Check chunks
+		//=============
+		int base   = ( row >> CHUNK_SHIFT ) * chunkColumns;
+		int first  = col1 >> CHUNK_SHIFT;
+		int last   = col2 >> CHUNK_SHIFT;
+		int bitRow = row & CHUNK_MASK;
+		int mask   = -1 << ( col1 & CHUNK_MASK );
+		
+		for ( int c = first; c < last; c++ )
+		{
+			Chunk chunk = chunks[base + c];
+			
+			if ( chunk != null && ( chunk.solidity[bitRow] & mask ) != 0 )
+			{
+				return ( true );
+			}
+			mask = -1;
+		}
+		mask &= -1 >>> ( CHUNK_MASK - ( col2 & CHUNK_MASK ) );
+		
+		Chunk chunk = chunks[base + last];
+		
+		return ( chunk != null && ( chunk.solidity[bitRow] & mask ) != 0 );
+	}
+	
+	// isSolidRun
+	//===========
+	/**
+	 * Checks whether all cells of a horizontal run are blocked, e.g. whether a platform covers a
+	 * specified range. Cells out of map are treated as blocked.
+	 * @param row the row of the run.
+	 * @param col1 the first column of the run.
+	 * @param col2 the last column of the run.
+	 * @return {@code true} if all cells of the run are blocked or if the run is empty,
+	 * {@code false} otherwise.
+	 */
+	public boolean isSolidRun( int row, int col1, int col2 )
+	{
+		// Clip range
+		//===========
+		if ( row < 0 || row >= rows )
+		{
+			return ( true );
+		}
+		col1 = Math.max( col1, 0 );
+		col2 = Math.min( col2, columns - 1 );
+		
+		if ( col1 > col2 )
+		{
+			return ( true );
+		}
+		
+		// Check chunks
+		//=============
+		int base   = ( row >> CHUNK_SHIFT ) * chunkColumns;
+		int first  = col1 >> CHUNK_SHIFT;
+		int last   = col2 >> CHUNK_SHIFT;
+		int bitRow = row & CHUNK_MASK;
+		int mask   = -1 << ( col1 & CHUNK_MASK );
+		
+		for ( int c = first; c < last; c++ )
+		{
+			Chunk chunk = chunks[base + c];
+			
+			if ( chunk == null || ( chunk.solidity[bitRow] & mask ) != mask )
+			{
+				return ( false );
+			}
+			mask = -1;
+		}
+		mask &= -1 >>> ( CHUNK_MASK - ( col2 & CHUNK_MASK ) );
+		
+		Chunk chunk = chunks[base + last];
+		
+		return ( chunk != null && ( chunk.solidity[bitRow] & mask ) == mask );
+	}
+	
+	// getBlockedRowBelow
+	//===================
+	/**
+	 * Searches a column downwards for the first blocked cell, e.g. to find the ground below an
+	 * object or to detect a gap ahead. Empty chunks are skipped as a whole.
+	 * @param col the column to search.
+	 * @param row the row to start at. This row is included in the search.
+	 * @return the row of the first blocked cell at or below {@code row} or {@code -1} if there is
+	 * no blocked cell. Columns out of map are blocked.
+	 */
+	public int getBlockedRowBelow( int col, int row )
+	{
+		// Check column
+		//=============
+		row = Math.min( row, rows - 1 );
+		
+		if ( col < 0 || col >= columns )
+		{
+			return ( row >= 0 ? row : -1 );
+		}
+		
+		// Search chunks
+		//==============
+		for ( ; row >= 0; row-- )
+		{
+			Chunk chunk = this.getChunk( col, row );
+			
+			if ( chunk == null )
+			{
+				row &= ~CHUNK_MASK;
+			}
+			else if ( ( chunk.solidity[row & CHUNK_MASK] & ( 1 << ( col & CHUNK_MASK ) ) ) != 0 )
+			{
+				return ( row );
+			}
+		}
+		return ( -1 );
+	}
+	
+	// raycast
+	//========
+	/**
+	 * Walks the cells along a line segment, e.g. for line-of-sight checks, and returns the first
+	 * blocked cell. The cells are visited in the order the segment passes them (DDA), so the walk
+	 * takes one step per crossed cell border and does not create any objects.
+	 * @param x1 the x-position of the start in units.
+	 * @param y1 the y-position of the start in units.
+	 * @param x2 the x-position of the end in units.
+	 * @param y2 the y-position of the end in units.
+	 * @param hit the {@code MapCell} to fill with the blocked cell or {@code null}. Cells out of
+	 * map are blocked.
+	 * @return the distance from the start to the border of the blocked cell in units or {@code -1}
+	 * if no cell between start and end is blocked.
+	 */
+	public float raycast( float x1, float y1, float x2, float y2, MapCell hit )
+	{
+		// Cells
+		//======
+		float dx    = x2 - x1;
+		float dy    = y2 - y1;
+		int col     = (int) Math.floor( x1 / CELL_SIZE );
+		int row     = (int) Math.floor( y1 / CELL_SIZE );
+		int lastCol = (int) Math.floor( x2 / CELL_SIZE );
+		int lastRow = (int) Math.floor( y2 / CELL_SIZE );
+		int stepCol = dx > 0f ? 1 : -1;
+		int stepRow = dy > 0f ? 1 : -1;
+		
+		// Segment fractions to the next borders
+		//======================================
+		float deltaCol = dx != 0f ? Math.abs( CELL_SIZE / dx ) : Float.POSITIVE_INFINITY;
+		float deltaRow = dy != 0f ? Math.abs( CELL_SIZE / dy ) : Float.POSITIVE_INFINITY;
+		float nextCol  = dx != 0f ? ( ( col + ( dx > 0f ? 1 : 0 ) ) * CELL_SIZE - x1 ) / dx : Float.POSITIVE_INFINITY;
+		float nextRow  = dy != 0f ? ( ( row + ( dy > 0f ? 1 : 0 ) ) * CELL_SIZE - y1 ) / dy : Float.POSITIVE_INFINITY;
+		float t        = 0f;
+		
+		// Walk cells
+		//===========
+		while ( true )
+		{
+			if ( this.isBlocked( col, row ) )
+			{
+				if ( hit != null )
+				{
+					this.getCellAt( col, row, hit );
+				}
+				return ( t * (float) Math.sqrt( dx * dx + dy * dy ) );
+			}
+			if ( col == lastCol && row == lastRow )
+			{
+				return ( -1f );
+			}
+			
+			// Cross next border
+			//==================
+			if ( row == lastRow || ( col != lastCol && nextCol < nextRow ) )
+			{
+				col     += stepCol;
+				t        = nextCol;
+				nextCol += deltaCol;
+			}
+			else
+			{
+				row     += stepRow;
+				t        = nextRow;
+				nextRow += deltaRow;
+			}
+		}
+	}
+	
+	// isLineOfSight
+	//==============
+	/**
+	 * @param x1 the x-position of the start in units.
+	 * @param y1 the y-position of the start in units.
+	 * @param x2 the x-position of the end in units.
+	 * @param y2 the y-position of the end in units.
+	 * @return {@code true} if no cell between start and end is blocked, {@code false} otherwise.
+	 */
+	public boolean isLineOfSight( float x1, float y1, float x2, float y2 )
+	{
+		return ( this.raycast( x1, y1, x2, y2, null ) < 0f );
 	}
 	
 	// getCellAt
 	//==========
 	/**
 	 * @param position the absolute position on the map in screen coordinates.
-	 * @return the {@code MapCell} at the specified position. If the specified cell is out of map,
-	 * the last valid cell is returned.
+	 * @return a new {@code MapCell} view of the cell at the specified position. If the position is
+	 * out of map, the last valid cell is returned.
 	 */
 	public MapCell getCellAt( Vector2 position )
 	{
@@ -209,24 +699,50 @@ public class Map implements Serializable
 	/**
 	 * @param x the absolute x-position on the map in screen coordinates.
 	 * @param y the absolute y-position on the map in screen coordinates.
-	 * @return the {@code MapCell} at the specified position. If the specified cell is out of map,
-	 * the last valid cell is returned.
+	 * @return a new {@code MapCell} view of the cell at the specified position. If the position is
+	 * out of map, the last valid cell is returned.
 	 */
 	public MapCell getCellAt( float x, float y )
 	{
-		// Calculate cell
-		//===============
+		return ( this.getCellAt( this.getColumnAt( x ), this.getRowAt( y ) ) );
+	}
+	
+	// getColumnAt
+	//============
+	/**
+	 * @param x the absolute x-position on the map in units.
+	 * @return the column at the specified position. If the position is out of map, the last valid
+	 * column is returned.
+	 */
+	public int getColumnAt( float x )
+	{
 		int col = (int) ( x / CELL_SIZE );
-		int row = (int) ( y / CELL_SIZE );
 		
 		// Set limits
 		//===========
 		if ( x < 0 ) col = 0;
-		if ( y < 0 ) row = 0;
 		if ( col > columns-1 ) col = columns-1;
-		if ( row > rows-1    ) row = rows-1;
 		
-		return ( this.getCellAt( col, row ) );
+		return ( col );
+	}
+	
+	// getRowAt
+	//=========
+	/**
+	 * @param y the absolute y-position on the map in units.
+	 * @return the row at the specified position. If the position is out of map, the last valid
+	 * row is returned.
+	 */
+	public int getRowAt( float y )
+	{
+		int row = (int) ( y / CELL_SIZE );
+		
+		// Set limits
+		//===========
+		if ( y < 0 ) row = 0;
+		if ( row > rows-1 ) row = rows-1;
+		
+		return ( row );
 	}
 	
 	// getCellAt
@@ -234,22 +750,36 @@ public class Map implements Serializable
 	/**
 	 * @param col the column of the cell.
 	 * @param row the row of the cell.
-	 * @return the specified {@code MapCell}. If an error occurred or if the cell is out of the map,
-	 * {@code null} is returned.
+	 * @return a new {@code MapCell} view of the specified cell or {@code null} if the cell is out
+	 * of the map. Changes to the view do not affect the map.
 	 */
 	public MapCell getCellAt( int col, int row )
 	{
-		// Read Data
-		//==========
-		try
-		{
-			return ( cells[col * rows + row] );
-		}
-		catch ( Exception e )
+		if ( col < 0 || row < 0 || col >= columns || row >= rows )
 		{
-			//System.err.println( "Error reading map value at " + "[x=" + col + ", y=" + row + "]!" );
 			return ( null );
 		}
+		return ( this.getCellAt( col, row, new MapCell() ) );
+	}
+	
+	// getCellAt
+	//==========
+	/**
+	 * Copies the values of a cell into an existing {@code MapCell}, so one view can be reused for
+	 * many cells.
+	 * @param col the column of the cell.
+	 * @param row the row of the cell.
+	 * @param cell the {@code MapCell} to fill. Cells out of map are reported as empty.
+	 * @return the {@code cell} argument.
+	 */
+	public MapCell getCellAt( int col, int row, MapCell cell )
+	{
+		cell.x         = col;
+		cell.y         = row;
+		cell.tileSetId = this.getTileSetId( col, row );
+		cell.tileId    = this.getTileId( col, row );
+		
+		return ( cell );
 	}
 	
 	// getMapBounds
@@ -350,13 +880,6 @@ public class Map implements Serializable
 		return ( columns );
 	}
 	
-	// getCellsInTotal
-	//================
-	public MapCell[] getCells()
-	{
-		return ( cells );
-	}
-	
 	// setCountdownTime
 	//=================
 	/**
@@ -500,4 +1023,39 @@ public class Map implements Serializable
 	{
 		return ( finishArea );
 	}
-}
\ No newline at end of file
+	
+	// Chunk
+	//======
+	/**
+	 * A chunk of {@code CHUNK_SIZE} x {@code CHUNK_SIZE} cells in row-major order. Besides the
+	 * tiles, a chunk keeps one {@code int} of solidity bits per row and the number of its occupied
+	 * cells.
+	 */
+	private static class Chunk implements Serializable
+	{
+		// Constants
+		//==========
+		private static final long serialVersionUID = 1L;
+		
+		// Cells
+		//======
+		private final byte[] tileSetIds = new byte[CHUNK_SIZE * CHUNK_SIZE];
+		private final short[] tiles     = new short[CHUNK_SIZE * CHUNK_SIZE];
+		private final int[] solidity    = new int[CHUNK_SIZE];
+		private int occupied;
+		
+		// Constructor
+		//============
+		private Chunk()
+		{
+			Arrays.fill( tileSetIds, (byte) -1 );
+		}
+		
+		// indexOf
+		//========
+		private static int indexOf( int col, int row )
+		{
+			return ( ( ( row & CHUNK_MASK ) << CHUNK_SHIFT ) | ( col & CHUNK_MASK ) );
+		}
+	}
+}
@@ -3,7 +3,9 @@ package com.sh.jplatformer.world.map;
 import java.io.Serializable;
 
 /**
- * The {@code MapCell} class provides a data model for {@code Map} cells.
+ * The {@code MapCell} class provides a data model for {@code Map} cells. The {@code Map} keeps
+ * its cells in primitive arrays, so a {@code MapCell} is a detached view of one cell, filled by
+ * {@code Map.getCellAt()}. It is also the record type of the cells stored in world files.
  * @author Stefan Hsemann
  */
 
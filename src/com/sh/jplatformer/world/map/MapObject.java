@@ -3,12 +3,14 @@ package com.sh.jplatformer.world.map;
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.HashMap;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.sh.jplatformer.resources.Resources;
 import com.sh.jplatformer.world.WorldController;
 
@@ -18,7 +20,7 @@ import com.sh.jplatformer.world.WorldController;
  * @author Stefan Hsemann
  */
 
-public abstract class MapObject implements Serializable
+public abstract class MapObject implements Serializable, Poolable
 {
 	// Object management
 	//==================
@@ -45,6 +47,28 @@ public abstract class MapObject implements Serializable
 	public static final int ALIGN_BOTTOM = 3;
 	public static final int ALIGN_CENTER = 4;
 	
+	public static final int NO_SPAWN_BUDGET = 0;
+	
+	public static final long WAKE_EVERY_TICK = Long.MIN_VALUE;
+	public static final long WAKE_NEVER      = Long.MAX_VALUE;
+	
+	public static final int LAYER_NONE       = 0;
+	public static final int LAYER_PLAYER     = 1;
+	public static final int LAYER_ENEMY      = 2;
+	public static final int LAYER_PROJECTILE = 4;
+	public static final int LAYER_ITEM       = 8;
+	public static final int LAYER_MACHINE    = 16;
+	public static final int LAYER_SOLID      = 32;
+	public static final int LAYER_ALL        = 63;
+	
+	public static final int BODY_STATIC    = 0;
+	public static final int BODY_KINEMATIC = 1;
+	public static final int BODY_DYNAMIC   = 2;
+	
+	// Prototypes
+	//===========
+	private static final HashMap<Class<?>, MapObject> prototypes = new HashMap<Class<?>, MapObject>();
+	
 	// States 
 	//=======
 	protected String name;
@@ -56,6 +80,7 @@ public abstract class MapObject implements Serializable
 	//================
 	protected WorldController worldController;
 	protected ArrayList<MapObject> surroundingObjects;
+	private transient ArrayList<MapObject> neighbourSnapshot;
 	
 	// Energy
 	//=======
@@ -78,6 +103,12 @@ public abstract class MapObject implements Serializable
 	protected Rectangle bounds;
 	protected Rectangle scanArea;
 	
+	// Collision layers
+	//=================
+	protected int collisionLayer;
+	protected int collisionMask;
+	private transient ArrayList<MapObject> collisionObjects;
+	
 	// Orientation
 	//============
 	protected int verticalAlignment;
@@ -90,7 +121,7 @@ public abstract class MapObject implements Serializable
 	
 	// Rendering
 	//==========
-	protected transient Sprite[] frames;
+	protected transient TextureRegion[] frames;
 	protected long frameTimer;
 	protected int currentFrame;
 	protected int frameSize;
@@ -101,6 +132,47 @@ public abstract class MapObject implements Serializable
 	protected Sound soundFile;
 	protected long soundId;
 	
+	// Spawning
+	//=========
+	protected int spawnBudget;
+	protected transient MapObject spawner;
+	protected transient int liveSpawns;
+	protected transient boolean isPooled;
+	
+	// Activity
+	//=========
+	protected transient boolean isSleeping;
+	protected transient long sleepStartTime;
+	protected transient long suspendedTime;
+	
+	// Spatial hash
+	//=============
+	transient boolean isHashed;
+	transient int hashCol1;
+	transient int hashRow1;
+	transient int hashCol2;
+	transient int hashRow2;
+	
+	// Kinematic store
+	//================
+	transient boolean hasKinematicSlot;
+	transient int kinematicSlot;
+	
+	// Timer wheel
+	//============
+	transient boolean isDormant;
+	transient boolean isWheeled;
+	transient int wheelLevel;
+	transient int wheelSlot;
+	transient long wheelTime;
+	transient MapObject wheelPrev;
+	transient MapObject wheelNext;
+	
+	// Contact graph
+	//==============
+	private transient ArrayList<MapObject> supports;
+	private transient ArrayList<MapObject> riders;
+	
 	// Constructor
 	//============
 	/**
@@ -130,6 +202,8 @@ public abstract class MapObject implements Serializable
 		direction          = MapObject.DIR_EAST;
 		deltaMovementSpeed = new Vector2();
 		isBlockingSpace    = true;
+		collisionLayer     = LAYER_SOLID;
+		collisionMask      = LAYER_SOLID;
 		
 		// Rendering
 		//==========
@@ -187,38 +261,73 @@ public abstract class MapObject implements Serializable
 		
 		// Draw frames
 		//============
-		frames[ currentFrame ].setPosition( bounds.x + bounds.width / 2f - frameSize / 2f, bounds.y );
-		frames[ currentFrame ].draw( batch, alpha  );
+		this.drawFrame( batch, bounds.x + bounds.width / 2f - frameSize / 2f, bounds.y, alpha );
+	}
+	
+	// drawFrame
+	//==========
+	/**
+	 * Draws the {@code currentFrame} of this {@code MapObject} at a specified position. The frames
+	 * are shared with all objects of the same name, so the alpha value is applied to the batch.
+	 * @param batch the {@code SpriteBatch} to render.
+	 * @param x the x-position in units.
+	 * @param y the y-position in units.
+	 * @param frameAlpha the alpha value to draw the frame with.
+	 */
+	protected void drawFrame( SpriteBatch batch, float x, float y, float frameAlpha )
+	{
+		batch.setColor( 1f, 1f, 1f, frameAlpha );
+		batch.draw( frames[ currentFrame ], x, y );
+		batch.setColor( Color.WHITE );
 	}
 	
 	// update
 	//=======
 	/**
-	 * Updates this {@code MapObject}.
+	 * Updates this {@code MapObject}. Forces are only integrated for dynamic objects, static
+	 * objects skip the movement updates entirely, see {@code getBodyType()}.
 	 */
 	public void update()
 	{
-		// Updates
-		//========
-		this.updateSpeed();
-		this.updateState();
-		this.applyHorizontalForce();
-		this.applyVerticalForce();
-		this.act();
-		this.updateFrame();
+		int bodyType = this.getBodyType();
+		
+		// Movement updates
+		//=================
+		if ( bodyType != BODY_STATIC )
+		{
+			this.updateSpeed();
+			this.updateState();
+		}
 		
-		// Perform player collision
-		//=========================
-		if ( worldController.isLive() )
+		// Force integration
+		//==================
+		if ( bodyType == BODY_DYNAMIC )
 		{
-			if ( worldController.getPlayer() != null )
-			{
-				if ( worldController.getPlayer().getBounds().overlaps( bounds ) )
-				{
-					this.onPlayerCollision();
-				}
-			}
+			this.applyHorizontalForce();
+			this.applyVerticalForce();
 		}
+		
+		// Routine
+		//========
+		this.act();
+		this.updateFrame();
+	}
+	
+	// getBodyType
+	//============
+	/**
+	 * Returns how this {@code MapObject} moves. Dynamic objects (default) are moved by forces and
+	 * gravity. Kinematic objects only move by their own routine, so no forces are integrated.
+	 * Static objects never move: they skip all movement updates, receive no neighbour snapshot
+	 * and are stored in the static {@code SpatialHash} of the {@code WorldController}, which is
+	 * not updated by the object pass. Forces applied to kinematic or static objects, e.g. by
+	 * treadmills, have no effect. Only objects that ignore gravity may be static, otherwise an
+	 * object placed without support would float instead of falling.
+	 * @return {@code BODY_STATIC}, {@code BODY_KINEMATIC} or {@code BODY_DYNAMIC}.
+	 */
+	public int getBodyType()
+	{
+		return ( BODY_DYNAMIC );
 	}
 	
 	// updateSpeed
@@ -261,14 +370,14 @@ public abstract class MapObject implements Serializable
 		{
 			// Increase
 			//=========
-			alpha += WorldController.worldDelta * 7f;
+			alpha += WorldController.frameDelta * 7f;
 			if ( alpha > 1f ) alpha = 1f;
 		}
 		else
 		{
 			// Decrease
 			//=========
-			alpha -= WorldController.worldDelta * 7f;
+			alpha -= WorldController.frameDelta * 7f;
 			if ( alpha < 0f ) alpha = 0f;
 		}
 	}
@@ -276,45 +385,63 @@ public abstract class MapObject implements Serializable
 	// initFrames
 	//===========
 	/**
-	 * Initializes the {@code frames} array by searching {@code Resources.WORLD.objectsSprites} for
-	 * a sprite by the key of the {@code name} of this {@code MapObject} and reads the frames based
-	 * on {@code MAX_SIZE}. 
+	 * Initializes the {@code frames} array with the shared frames of the sprite in
+	 * {@code Resources.WORLD.objectsSprites} by the key of the {@code name} of this
+	 * {@code MapObject}. No frames are read in headless mode.
 	 */
 	public void initFrames()
 	{
-		// Read frames
-		//============
-		try
+		// Skip when headless
+		//===================
+		if ( Resources.isHeadless() )
 		{
-			// Values
-			//=======
-			Sprite sprite             = Resources.WORLD.objectsSprites.get( name );
-			TextureRegion[][] regions = sprite.split( frameSize, frameSize );
-			frames                    = new Sprite[regions[0].length];
-	
-			// Read sprites
-			//=============
-			for ( int i = 0; i < frames.length; i++ )
-			{
-				frames[i] = new Sprite( regions[0][i] );
-			}
+			return;
 		}
-		catch ( Exception e )
+		
+		// Get shared frames
+		//==================
+		frames = Resources.WORLD.getObjectFrames( name, frameSize );
+		
+		if ( frames == null )
 		{
 			System.err.println( "Error initializing frames for map object: " + name + "!" );
 		}
 	}
 	
+	// onPlayerEnter
+	//==============
+	/**
+	 * This method is called if the {@code WorldController} is live and if the bounds of this
+	 * {@code MapObject} start to overlap the bounds of the player object (if existent). It is
+	 * called before {@code onPlayerCollision()}. Like all contact events, it is only called if the
+	 * collision mask contains {@code LAYER_PLAYER}. See {@code TriggerIndex}.
+	 */
+	public void onPlayerEnter()
+	{
+	}
+	
 	// onPlayerCollision
 	//==================
 	/**
-	 * This method is called if the {@code WorldController} is live and if the bounds of this
-	 * {@code MapObject} overlap the bounds of the player object (if existent). 
+	 * This method is called once per tick if the {@code WorldController} is live and if the bounds
+	 * of this {@code MapObject} overlap the bounds of the player object (if existent). The contacts
+	 * are detected by the {@code TriggerIndex} of the {@code WorldController} after all objects
+	 * have been updated, so this method is also called for sleeping and dormant objects.
 	 */
 	public void onPlayerCollision()
 	{
 	}
 	
+	// onPlayerExit
+	//=============
+	/**
+	 * This method is called if the {@code WorldController} is live and if the bounds of this
+	 * {@code MapObject} stop overlapping the bounds of the player object. See {@code TriggerIndex}.
+	 */
+	public void onPlayerExit()
+	{
+	}
+	
 	// act
 	//====
 	/**
@@ -355,6 +482,7 @@ public abstract class MapObject implements Serializable
 		if ( forceJump == true || isOnGround == true )
 		{
 			jumpTargetY = bounds.y + jumpHeight;
+			this.wake();
 		}
 	}
 	
@@ -368,8 +496,14 @@ public abstract class MapObject implements Serializable
 	// move
 	//=====
 	/**
-	 * Moves this {@code MapObject} by the specified velocity on the {@code Map}. If the destination
-	 * cell is blocked, no movement will be performed.
+	 * Moves this {@code MapObject} by the specified velocity on the {@code Map}. The bounds are
+	 * swept along each axis, vertically first, against the cells and the blocking objects in the
+	 * way. If the sweep is blocked, this object is placed at the edge of the nearest obstacle.
+	 * No objects are created, so this method can be called any number of times per frame.
+	 * <p>
+	 * The vertical resolution maintains the contact graph: after landing, all blocking objects
+	 * level with the bottom edge are the supports of this object, moving up or falling freely
+	 * clears the supports. See {@code getSupports()} and {@code getRiders()}.
 	 * @param speedX the horizontal speed.
 	 * @param speedY the vertical speed.
 	 * @return {@code true} if the movement was successful, {@code false} if the movement was
@@ -393,207 +527,148 @@ public abstract class MapObject implements Serializable
 		//=================
 		boolean isBlockedX = false;
 		boolean isBlockedY = false;
-		Vector2 detection1 = new Vector2( 0f, 0f );
-		Vector2 detection2 = new Vector2( 0f, 0f );
-		Vector2 detection3 = new Vector2( 0f, 0f );
-		Rectangle detection4 = new Rectangle();
+		MapObject obstacle = null;
 		
 		// Move up
 		//========
 		if ( speedY > 0f )
 		{
-			// Set collision vectors
-			//======================
-			detection1.set( bounds.x,                     bounds.y + bounds.height + speedY );
-			detection2.set( bounds.x + bounds.width - 1f, bounds.y + bounds.height + speedY );
-			detection3.set( bounds.x + bounds.width / 2f, bounds.y + bounds.height + speedY );
-			detection4.set( bounds.x, bounds.y + speedY , bounds.width, bounds.height );
-			
 			// Check tiles
 			//============
-			if ( !map.isBlocked( detection1 ) &&
-			     !map.isBlocked( detection2 ) &&
-			     !map.isBlocked( detection3 ) )
+			int row = map.getRowAt( bounds.y + bounds.height + speedY );
+			
+			if ( map.isBlocked( map.getColumnAt( bounds.x ), row, map.getColumnAt( bounds.x + bounds.width - 1f ), row ) )
+			{
+				bounds.y = Map.CELL_SIZE * row - bounds.height;
+				isBlockedY = true;
+				this.setVerticalForce( 0f );
+			}
+			else
 			{
 				// Check objects
 				//==============
-				for ( int i = 0; i < surroundingObjects.size(); i++ )
+				float y1 = Math.min( bounds.y + speedY, bounds.y + bounds.height );
+				obstacle = this.getBlockingObject( bounds.x, y1, bounds.width, bounds.y + bounds.height + speedY - y1, 0f, speedY );
+				
+				if ( obstacle != null )
 				{
-					if ( surroundingObjects.get( i ) != this &&
-					     surroundingObjects.get( i ).isBlockingSpace == true &&
-					     surroundingObjects.get( i ).getBounds().overlaps( detection4 ) )
-					{
-						// Reset position
-						//===============
-						bounds.y = surroundingObjects.get( i ).getBounds().y - bounds.height;
-						isBlockedY = true;
-						this.setVerticalForce( 0f );
-						break;
-					}
+					bounds.y = obstacle.getBounds().y - bounds.height;
+					isBlockedY = true;
+					this.setVerticalForce( 0f );
 				}
-				
-				// Perform movement
-				//=================
-				if ( isBlockedY == false )
+				else
 				{
 					bounds.y += speedY;
 					isOnGround = false;
+					this.clearSupports();
 				}
 			}
-			else
-			{
-				bounds.y = Map.CELL_SIZE * ( map.getCellAt( detection1 ).y ) - bounds.height;
-				isBlockedY = true;
-				this.setVerticalForce( 0f );
-			}
 		}
 		
 		// Move down
 		//==========
 		if ( speedY < 0f )
 		{
-			// Set collision vectors
-			//======================
-			detection1.set( bounds.x,                     bounds.y + speedY );
-			detection2.set( bounds.x + bounds.width - 1f, bounds.y + speedY );
-			detection3.set( bounds.x + bounds.width / 2f, bounds.y + speedY );
-			detection4.set( bounds.x, bounds.y + speedY , bounds.width, bounds.height );
-			
 			// Check tiles
 			//============
-			if ( !map.isBlocked( detection1 ) &&
-			     !map.isBlocked( detection2 ) &&
-			     !map.isBlocked( detection3 ) )
+			int row = map.getRowAt( bounds.y + speedY );
+			
+			if ( map.isBlocked( map.getColumnAt( bounds.x ), row, map.getColumnAt( bounds.x + bounds.width - 1f ), row ) )
+			{
+				bounds.y = Map.CELL_SIZE * ( row + 1f );
+				isBlockedY = true;
+				isOnGround = true;
+				this.setVerticalForce( 0f );
+				this.updateSupports();
+			}
+			else
 			{
 				// Check objects
 				//==============
-				for ( int i = 0; i < surroundingObjects.size(); i++ )
+				float y2 = Math.max( bounds.y + bounds.height + speedY, bounds.y );
+				obstacle = this.getBlockingObject( bounds.x, bounds.y + speedY, bounds.width, y2 - bounds.y - speedY, 0f, speedY );
+				
+				if ( obstacle != null )
 				{
-					if ( surroundingObjects.get( i ) != this &&
-					     surroundingObjects.get( i ).isBlockingSpace == true &&
-					     surroundingObjects.get( i ).getBounds().overlaps( detection4 ) )
-					{
-						// Reset position
-						//===============
-						bounds.y = surroundingObjects.get( i ).getBounds().y + surroundingObjects.get( i ).getBounds().height;
-						isBlockedY = true;
-						isOnGround = true;
-						this.setVerticalForce( 0f );
-						break;
-					}
+					bounds.y = obstacle.getBounds().y + obstacle.getBounds().height;
+					isBlockedY = true;
+					isOnGround = true;
+					this.setVerticalForce( 0f );
+					this.updateSupports();
 				}
-				
-				// Perform movement
-				//=================
-				if ( isBlockedY == false )
+				else
 				{
 					bounds.y += speedY;
 					isOnGround = false;
+					this.clearSupports();
 				}
 			}
-			else
-			{
-				bounds.y = Map.CELL_SIZE * ( map.getCellAt( detection1 ).y + 1f );
-				isBlockedY = true;
-				isOnGround = true;
-				this.setVerticalForce( 0f );
-			}
 		}
 
 		// Move east
 		//==========
 		if ( speedX > 0f )
 		{
-			// Set collision vectors
-			//======================
-			detection1.set( bounds.x + bounds.width + speedX, bounds.y );
-			detection2.set( bounds.x + bounds.width + speedX, bounds.y + bounds.height - 1f );
-			detection3.set( bounds.x + bounds.width + speedX, bounds.y + bounds.height / 2f );
-			detection4.set( bounds.x + speedX, bounds.y, bounds.width, bounds.height );
-			
 			// Check tiles
 			//============
-			if ( !map.isBlocked( detection1 ) &&
-			     !map.isBlocked( detection2 ) &&
-			     !map.isBlocked( detection3 ) )
+			int col = map.getColumnAt( bounds.x + bounds.width + speedX );
+			
+			if ( map.isBlocked( col, map.getRowAt( bounds.y ), col, map.getRowAt( bounds.y + bounds.height - 1f ) ) )
+			{
+				bounds.x = Map.CELL_SIZE * col - bounds.width;
+				isBlockedX = true;
+			}
+			else
 			{
 				// Check objects
 				//==============
-				for ( int i = 0; i < surroundingObjects.size(); i++ )
+				float x1 = Math.min( bounds.x + speedX, bounds.x + bounds.width );
+				obstacle = this.getBlockingObject( x1, bounds.y, bounds.x + bounds.width + speedX - x1, bounds.height, speedX, 0f );
+				
+				if ( obstacle != null )
 				{
-					if ( surroundingObjects.get( i ) != this &&
-					     surroundingObjects.get( i ).isBlockingSpace == true &&
-					     surroundingObjects.get( i ).getBounds().overlaps( detection4 ) )
-					{
-						// Reset position
-						//===============
-						bounds.x = surroundingObjects.get( i ).getBounds().x - bounds.width;
-						isBlockedX = true;
-						break;
-					}
+					bounds.x = obstacle.getBounds().x - bounds.width;
+					isBlockedX = true;
 				}
-				
-				// Perform movement
-				//=================
-				if ( isBlockedX == false )
+				else
 				{
 					bounds.x += speedX;
 					direction = DIR_EAST;
 				}
 			}
-			else
-			{
-				bounds.x = Map.CELL_SIZE * ( map.getCellAt( detection1 ).x ) - bounds.width;
-				isBlockedX = true;
-			}
 		}
 		
 		// Move west
 		//==========
 		if ( speedX < 0f )
 		{
-			// Set collision vectors
-			//======================
-			detection1.set( bounds.x + speedX, bounds.y );
-			detection2.set( bounds.x + speedX, bounds.y + bounds.height - 1f );
-			detection3.set( bounds.x + speedX, bounds.y + bounds.height / 2f );
-			detection4.set( bounds.x + speedX, bounds.y, bounds.width, bounds.height );
-			
 			// Check tiles
 			//============
-			if ( !map.isBlocked( detection1 ) &&
-			     !map.isBlocked( detection2 ) &&
-			     !map.isBlocked( detection3 ) )
+			int col = map.getColumnAt( bounds.x + speedX );
+			
+			if ( map.isBlocked( col, map.getRowAt( bounds.y ), col, map.getRowAt( bounds.y + bounds.height - 1f ) ) )
+			{
+				bounds.x = Map.CELL_SIZE * ( col + 1f );
+				isBlockedX = true;
+			}
+			else
 			{
 				// Check objects
 				//==============
-				for ( int i = 0; i < surroundingObjects.size(); i++ )
+				float x2 = Math.max( bounds.x + bounds.width + speedX, bounds.x );
+				obstacle = this.getBlockingObject( bounds.x + speedX, bounds.y, x2 - bounds.x - speedX, bounds.height, speedX, 0f );
+				
+				if ( obstacle != null )
 				{
-					if ( surroundingObjects.get( i ) != this &&
-					     surroundingObjects.get( i ).isBlockingSpace == true &&
-					     surroundingObjects.get( i ).getBounds().overlaps( detection4 ) )
-					{
-						// Reset position
-						//===============
-						bounds.x = surroundingObjects.get( i ).getBounds().x + surroundingObjects.get( i ).getBounds().width;
-						isBlockedX = true;
-						break;
-					}
+					bounds.x = obstacle.getBounds().x + obstacle.getBounds().width;
+					isBlockedX = true;
 				}
-				
-				// Perform movement
-				//=================
-				if ( isBlockedX == false )
+				else
 				{
 					bounds.x += speedX;
 					direction = DIR_WEST;
 				}
 			}
-			else
-			{
-				bounds.x = Map.CELL_SIZE * ( map.getCellAt( detection1 ).x + 1f );
-				isBlockedX = true;
-			}
 		}
 		
 		// Kill when in water
@@ -634,12 +709,194 @@ public abstract class MapObject implements Serializable
 		{
 			this.setAlive( false );
 		}
+		
+		// Update spatial hash
+		//====================
+		this.updateSpatialHash();
+		
 		return ( !isBlockedX && !isBlockedY );
 	}
 	
+	// getBlockingObject
+	//==================
+	/**
+	 * Returns the blocking surrounding object that is hit first by a sweep along one axis. The
+	 * swept area reaches from the leading edge of this object to its leading edge after the
+	 * movement, but always includes the destination bounds. Only the collision candidates are
+	 * checked, see {@code getCollisionObjects()}.
+	 * @param x the x-position of the swept area.
+	 * @param y the y-position of the swept area.
+	 * @param width the width of the swept area.
+	 * @param height the height of the swept area.
+	 * @param speedX the horizontal speed, 0 for a vertical sweep.
+	 * @param speedY the vertical speed, 0 for a horizontal sweep.
+	 * @return the nearest blocking {@code MapObject} overlapping the area or {@code null}.
+	 */
+	private MapObject getBlockingObject( float x, float y, float width, float height, float speedX, float speedY )
+	{
+		ArrayList<MapObject> candidates = this.getCollisionObjects();
+		MapObject nearest               = null;
+		float nearestEdge               = 0f;
+		
+		for ( int i = 0; i < candidates.size(); i++ )
+		{
+			MapObject o = candidates.get( i );
+			Rectangle b = o.getBounds();
+			
+			// Check overlap
+			//==============
+			if ( o == this || o.isBlockingSpace == false ||
+			     x >= b.x + b.width || x + width <= b.x || y >= b.y + b.height || y + height <= b.y )
+			{
+				continue;
+			}
+			
+			// Distance of the facing edge
+			//============================
+			float edge;
+			
+			if      ( speedY > 0f ) edge = b.y;
+			else if ( speedY < 0f ) edge = -( b.y + b.height );
+			else if ( speedX > 0f ) edge = b.x;
+			else                    edge = -( b.x + b.width );
+			
+			if ( nearest == null || edge < nearestEdge )
+			{
+				nearest     = o;
+				nearestEdge = edge;
+			}
+		}
+		return ( nearest );
+	}
+	
+	// updateSupports
+	//================
+	/**
+	 * Sets the supports of this object after landing, i.e. all blocking collision candidates
+	 * whose top edge is level with the bottom edge of this object. The edges have been placed on
+	 * each other by the resolver, so they can be compared exactly.
+	 */
+	private void updateSupports()
+	{
+		// Create supports
+		//================
+		if ( supports == null )
+		{
+			supports = new ArrayList<MapObject>();
+		}
+		
+		// Leave old supports
+		//===================
+		for ( int i = supports.size() - 1; i >= 0; i-- )
+		{
+			MapObject o = supports.get( i );
+			
+			if ( this.isSupportedBy( o ) == false )
+			{
+				o.riders.remove( this );
+				supports.remove( i );
+			}
+		}
+		
+		// Enter new supports
+		//===================
+		ArrayList<MapObject> candidates = this.getCollisionObjects();
+		
+		for ( int i = 0; i < candidates.size(); i++ )
+		{
+			MapObject o = candidates.get( i );
+			
+			if ( this.isSupportedBy( o ) && supports.contains( o ) == false )
+			{
+				supports.add( o );
+				o.getRiders().add( this );
+			}
+		}
+	}
+	
+	// isSupportedBy
+	//==============
+	private boolean isSupportedBy( MapObject o )
+	{
+		Rectangle b = o.getBounds();
+		
+		return ( o.isBlockingSpace && o.isAlive && b.y + b.height == bounds.y &&
+		         b.x < bounds.x + bounds.width && b.x + b.width > bounds.x );
+	}
+	
+	// clearSupports
+	//==============
+	/**
+	 * Removes all supports of this object, e.g. when it moves up or falls freely.
+	 */
+	private void clearSupports()
+	{
+		if ( supports == null )
+		{
+			return;
+		}
+		for ( int i = 0; i < supports.size(); i++ )
+		{
+			supports.get( i ).riders.remove( this );
+		}
+		supports.clear();
+	}
+	
+	// getSupports
+	//============
+	/**
+	 * @return the blocking {@code MapObjects} this object stood on after its last vertical
+	 * movement. The list is empty if the object stands on cells only or does not stand at all and
+	 * must not be modified.
+	 */
+	public ArrayList<MapObject> getSupports()
+	{
+		if ( supports == null )
+		{
+			supports = new ArrayList<MapObject>();
+		}
+		return ( supports );
+	}
+	
+	// getRiders
+	//==========
+	/**
+	 * @return the {@code MapObjects} standing on this object, i.e. the objects this object is a
+	 * support of. The list must not be modified.
+	 */
+	public ArrayList<MapObject> getRiders()
+	{
+		if ( riders == null )
+		{
+			riders = new ArrayList<MapObject>();
+		}
+		return ( riders );
+	}
+	
+	// detachContacts
+	//===============
+	/**
+	 * Removes this {@code MapObject} from the contact graph, i.e. it leaves its supports and it is
+	 * removed from the supports of its riders. This method is called when the object leaves the
+	 * world.
+	 */
+	public void detachContacts()
+	{
+		this.clearSupports();
+		
+		if ( riders != null )
+		{
+			for ( int i = 0; i < riders.size(); i++ )
+			{
+				riders.get( i ).supports.remove( this );
+			}
+			riders.clear();
+		}
+	}
+	
 	// getFrames
 	//==========
-	public Sprite[] getFrames()
+	public TextureRegion[] getFrames()
 	{
 		return ( frames );
 	}
@@ -730,9 +987,24 @@ public abstract class MapObject implements Serializable
 	
 	// setPowerId
 	//===========
+	/**
+	 * Sets the {@code powerId} and moves this {@code MapObject} to the related channel of the
+	 * {@code PowerNetwork}, if registered.
+	 * @param newId the new {@code powerId}.
+	 */
 	public void setPowerId( int newId )
 	{
-		powerId = newId;
+		// Set id
+		//=======
+		int oldId = powerId;
+		powerId   = newId;
+		
+		// Update power network
+		//=====================
+		if ( oldId != newId && worldController != null && worldController.getPowerNetwork() != null )
+		{
+			worldController.getPowerNetwork().reassign( this, oldId );
+		}
 	}
 	
 	// getPowerId
@@ -744,9 +1016,28 @@ public abstract class MapObject implements Serializable
 	
 	// setPowerOn
 	//===========
+	/**
+	 * Sets the power state. If the state changes, {@code onPowerChanged()} is called.
+	 * @param value the new power state.
+	 */
 	public void setPowerOn( boolean value )
 	{
-		isPowerOn = value;
+		if ( isPowerOn != value )
+		{
+			isPowerOn = value;
+			this.onPowerChanged();
+			this.wake();
+		}
+	}
+	
+	// onPowerChanged
+	//===============
+	/**
+	 * This method is called whenever the power state of this {@code MapObject} changes, e.g. if
+	 * its channel is toggled by a {@code Switch}.
+	 */
+	protected void onPowerChanged()
+	{
 	}
 	
 	// isPowerOn
@@ -784,11 +1075,85 @@ public abstract class MapObject implements Serializable
 		return ( isBlockingSpace );
 	}
 	
+	// setCollisionLayer
+	//==================
+	/**
+	 * Sets the collision layers of this {@code MapObject}. Other objects are only blocked by this
+	 * object if their collision mask intersects these layers.
+	 * @param newLayer a combination of {@code LAYER_*} flags.
+	 */
+	public void setCollisionLayer( int newLayer )
+	{
+		collisionLayer = newLayer & LAYER_ALL;
+	}
+	
+	// getCollisionLayer
+	//==================
+	public int getCollisionLayer()
+	{
+		return ( collisionLayer );
+	}
+	
+	// setCollisionMask
+	//=================
+	/**
+	 * Sets the collision mask of this {@code MapObject}, i.e. the layers of the objects it
+	 * interacts with. Surrounding objects outside the mask are skipped by the broadphase and the
+	 * movement, so only objects on a layer of the mask may block this object. If the mask contains
+	 * {@code LAYER_PLAYER}, the object receives the contact events of the player, see
+	 * {@code onPlayerCollision()}. Otherwise the {@code TriggerIndex} skips it.
+	 * @param newMask a combination of {@code LAYER_*} flags.
+	 */
+	public void setCollisionMask( int newMask )
+	{
+		collisionMask = newMask & LAYER_ALL;
+	}
+	
+	// getCollisionMask
+	//=================
+	public int getCollisionMask()
+	{
+		return ( collisionMask );
+	}
+	
+	// resetCollisionLayers
+	//=====================
+	/**
+	 * Restores the collision layer and mask set by the constructor of the class of this
+	 * {@code MapObject}, e.g. for objects saved before collision layers existed.
+	 */
+	public void resetCollisionLayers()
+	{
+		MapObject prototype;
+		
+		// Get prototype
+		//==============
+		synchronized ( prototypes )
+		{
+			prototype = prototypes.get( this.getClass() );
+			
+			if ( prototype == null )
+			{
+				prototype = createFromClassName( this.getClass().getName(), null );
+				prototypes.put( this.getClass(), prototype );
+			}
+		}
+		
+		// Copy layers
+		//============
+		if ( prototype != null )
+		{
+			collisionLayer = prototype.collisionLayer;
+			collisionMask  = prototype.collisionMask;
+		}
+	}
+	
 	// setRoutineTimer
 	//================
 	public void setRoutineTimer( long newTime )
 	{
 		routineTimer = newTime;
+		this.wake();
 	}
 	
 	
@@ -800,6 +1165,7 @@ public abstract class MapObject implements Serializable
 	public void resetRoutineTimer()
 	{
 		routineTimer = 0;
+		this.wake();
 	}
 	
 	// getRoutineTimer
@@ -809,6 +1175,152 @@ public abstract class MapObject implements Serializable
 		return ( routineTimer );
 	}
 	
+	// getTime
+	//========
+	/**
+	 * @return the current game time of the {@code WorldClock} in milliseconds. All routine, frame
+	 * and audio timers of this {@code MapObject} should be based on this value.
+	 */
+	protected long getTime()
+	{
+		return ( worldController.getClock().getTime() - suspendedTime );
+	}
+	
+	// isAlwaysActive
+	//===============
+	/**
+	 * Returns whether this {@code MapObject} has to be updated even if it is located outside the
+	 * activity regions of the {@code WorldController}. By default, this applies to all objects of
+	 * the power network, so machines stay synchronized with their switches.
+	 * @return {@code true} if this object never sleeps.
+	 */
+	public boolean isAlwaysActive()
+	{
+		return ( isPowerSupported );
+	}
+	
+	// getWakeTime
+	//============
+	/**
+	 * Returns the game time up to which this {@code MapObject} does not need to be updated.
+	 * Objects whose routine only changes on timers override this method, so the
+	 * {@code TimerWheel} of the {@code WorldController} skips their updates until then. The
+	 * object is updated again in the first tick in which {@code getTime()} exceeds the returned
+	 * time, which matches checks like {@code routineTimer < getTime()}. Objects are also woken
+	 * early by {@code wake()}.
+	 * <p>
+	 * An update skipped this way must not have had any effect. This is the case for objects that
+	 * are at rest (see {@code isAtRest()}), do not collide harmfully with the player and do not
+	 * animate.
+	 * @return the game time in milliseconds, {@code WAKE_NEVER} to sleep until woken or
+	 * {@code WAKE_EVERY_TICK} (default) to be updated in every tick.
+	 */
+	public long getWakeTime()
+	{
+		return ( WAKE_EVERY_TICK );
+	}
+	
+	// isAtRest
+	//=========
+	/**
+	 * @return {@code true} if this {@code MapObject} keeps its position without being updated,
+	 * i.e. it is static or it has no horizontal force or jump target and it either ignores the
+	 * gravity or stands on cells of the {@code Map}.
+	 */
+	protected boolean isAtRest()
+	{
+		// Check body type
+		//================
+		if ( this.getBodyType() == BODY_STATIC )
+		{
+			return ( true );
+		}
+		
+		// Check forces
+		//=============
+		if ( horizontalForce != 0f || jumpTargetY > bounds.y )
+		{
+			return ( false );
+		}
+		if ( ignoreGravity == true )
+		{
+			return ( true );
+		}
+		
+		// Check ground cells
+		//===================
+		Map map = worldController.getMap();
+		
+		return ( isOnGround == true && bounds.y % Map.CELL_SIZE == 0f &&
+		         map.isSolidRun( (int) ( bounds.y / Map.CELL_SIZE ) - 1,
+		                         map.getColumnAt( bounds.x ),
+		                         map.getColumnAt( bounds.x + bounds.width - 1f ) ) );
+	}
+	
+	// wake
+	//=====
+	/**
+	 * Wakes this {@code MapObject} if it is dormant, so it is updated by the next tick. This method
+	 * is called whenever a property is changed from outside the routine of the object, e.g. by a
+	 * power change, a force or a new position.
+	 */
+	public void wake()
+	{
+		if ( isDormant == true && worldController != null && worldController.getTimerWheel() != null )
+		{
+			worldController.getTimerWheel().cancel( this );
+		}
+	}
+	
+	// isDormant
+	//==========
+	/**
+	 * @return {@code true} if the updates of this {@code MapObject} are skipped until it is woken
+	 * by the {@code TimerWheel} or by {@code wake()}.
+	 */
+	public boolean isDormant()
+	{
+		return ( isDormant );
+	}
+	
+	// setSleeping
+	//============
+	/**
+	 * Suspends or resumes the simulation of this {@code MapObject}. While sleeping, the game time
+	 * returned by {@code getTime()} stands still, so all timers continue where they stopped once
+	 * the object wakes up.
+	 * @param value {@code true} to suspend the object, {@code false} to resume it.
+	 */
+	public void setSleeping( boolean value )
+	{
+		// Ignore if unchanged
+		//====================
+		if ( value == isSleeping )
+		{
+			return;
+		}
+		
+		// Suspend / resume clock
+		//=======================
+		if ( value == true )
+		{
+			sleepStartTime = worldController.getClock().getTime();
+		}
+		else
+		{
+			suspendedTime += worldController.getClock().getTime() - sleepStartTime;
+			this.wake();
+		}
+		isSleeping = value;
+	}
+	
+	// isSleeping
+	//===========
+	public boolean isSleeping()
+	{
+		return ( isSleeping );
+	}
+	
 	// setSurroundingObjects
 	//======================
 	/**
@@ -819,6 +1331,104 @@ public abstract class MapObject implements Serializable
 	public void setSurroundingObjects( ArrayList<MapObject> mapObjects )
 	{
 		surroundingObjects = mapObjects;
+		
+		// Filter collision candidates
+		//============================
+		if ( mapObjects != neighbourSnapshot || collisionObjects == null )
+		{
+			this.filterCollisionObjects( mapObjects );
+		}
+	}
+	
+	// scanNeighbours
+	//===============
+	/**
+	 * Collects all {@code MapObjects} overlapping the scan area into the neighbour snapshot of this
+	 * {@code MapObject}. Every object owns its snapshot, so different objects may be scanned by
+	 * different threads as long as no object is moved, added or removed at the same time. The
+	 * snapshot becomes stale if other objects move in or out of the scan area, so the
+	 * {@code WorldController} scans an object again if its neighbours moved before its update.
+	 */
+	public void scanNeighbours()
+	{
+		// Create snapshot
+		//================
+		if ( neighbourSnapshot == null )
+		{
+			neighbourSnapshot = new ArrayList<MapObject>();
+		}
+		neighbourSnapshot.clear();
+		
+		// Skip static objects
+		//====================
+		if ( this.getBodyType() == BODY_STATIC )
+		{
+			this.filterCollisionObjects( neighbourSnapshot );
+			return;
+		}
+		
+		// Scan area
+		//==========
+		worldController.getMapObjects( this.getScanArea(), neighbourSnapshot );
+		
+		// Broadphase
+		//===========
+		this.filterCollisionObjects( neighbourSnapshot );
+	}
+	
+	// filterCollisionObjects
+	//=======================
+	/**
+	 * Collects the objects of a list whose collision layer intersects the collision mask of this
+	 * {@code MapObject} into the collision candidates.
+	 */
+	private void filterCollisionObjects( ArrayList<MapObject> mapObjects )
+	{
+		// Create candidates
+		//==================
+		if ( collisionObjects == null )
+		{
+			collisionObjects = new ArrayList<MapObject>();
+		}
+		collisionObjects.clear();
+		
+		// Filter objects
+		//===============
+		for ( int i = 0; i < mapObjects.size(); i++ )
+		{
+			MapObject o = mapObjects.get( i );
+			
+			if ( o != this && ( collisionMask & o.collisionLayer ) != 0 )
+			{
+				collisionObjects.add( o );
+			}
+		}
+	}
+	
+	// getCollisionObjects
+	//====================
+	/**
+	 * @return the surrounding objects that may block this {@code MapObject}, i.e. whose collision
+	 * layer intersects the collision mask of this object.
+	 */
+	public ArrayList<MapObject> getCollisionObjects()
+	{
+		if ( collisionObjects == null )
+		{
+			this.filterCollisionObjects( surroundingObjects );
+		}
+		return ( collisionObjects );
+	}
+	
+	// getNeighbourSnapshot
+	//=====================
+	/**
+	 * @return the {@code MapObjects} collected by the last call of {@code scanNeighbours()} or
+	 * {@code null} if this object has not been scanned yet.
+	 */
+	public ArrayList<MapObject> getNeighbourSnapshot()
+	{
+		return ( neighbourSnapshot );
 	}
 	
 	// getSurroundingObjects
@@ -828,6 +1438,129 @@ public abstract class MapObject implements Serializable
 		return ( surroundingObjects );
 	}
 	
+	// reset
+	//======
+	/**
+	 * Resets the runtime state of this {@code MapObject} (movement, routine, frames) to the state
+	 * of a newly constructed object. This method is called when the object is returned to a
+	 * {@code WorldPool}. Subclasses with additional runtime state should override it.
+	 */
+	@Override
+	public void reset()
+	{
+		// States
+		//=======
+		isAlive = ( worldController != null );
+		state   = STATE_STANDING;
+		
+		// Movement
+		//=========
+		direction       = DIR_EAST;
+		isOnGround      = false;
+		jumpTargetY     = 0f;
+		horizontalForce = 0f;
+		verticalForce   = 0f;
+		deltaMovementSpeed.setZero();
+		
+		// Routine + rendering
+		//====================
+		routineMode  = 0;
+		routineTimer = 0L;
+		frameTimer   = 0L;
+		currentFrame = 0;
+		alpha        = 0f;
+		
+		// Spawning + contacts
+		//====================
+		this.setSpawner( null );
+		this.detachContacts();
+		
+		// Activity
+		//=========
+		isSleeping    = false;
+		suspendedTime = 0L;
+	}
+	
+	// setSpawner
+	//===========
+	/**
+	 * Sets the {@code MapObject} that spawned this object. The number of live spawns of the old
+	 * and the new spawner is updated accordingly.
+	 * @param newSpawner the spawning {@code MapObject} or {@code null}.
+	 */
+	public void setSpawner( MapObject newSpawner )
+	{
+		// Release old spawner
+		//====================
+		if ( spawner != null )
+		{
+			spawner.liveSpawns--;
+		}
+		
+		// Set new spawner
+		//================
+		spawner = newSpawner;
+		
+		if ( spawner != null )
+		{
+			spawner.liveSpawns++;
+		}
+	}
+	
+	// getSpawner
+	//===========
+	public MapObject getSpawner()
+	{
+		return ( spawner );
+	}
+	
+	// setPooled
+	//==========
+	/**
+	 * Marks this {@code MapObject} as obtained from a {@code WorldPool}. Only pooled objects are
+	 * returned to their pool when they are removed from the world.
+	 * @param pooled {@code true} if the object was obtained from a pool.
+	 */
+	public void setPooled( boolean pooled )
+	{
+		isPooled = pooled;
+	}
+	
+	// isPooled
+	//=========
+	public boolean isPooled()
+	{
+		return ( isPooled );
+	}
+	
+	// setSpawnBudget
+	//===============
+	/**
+	 * @param budget the maximum number of objects spawned by this {@code MapObject} that may be
+	 * alive at the same time. {@code NO_SPAWN_BUDGET} disables the limit.
+	 */
+	public void setSpawnBudget( int budget )
+	{
+		spawnBudget = budget;
+	}
+	
+	// getSpawnBudget
+	//===============
+	public int getSpawnBudget()
+	{
+		return ( spawnBudget );
+	}
+	
+	// canSpawn
+	//=========
+	/**
+	 * @return {@code true} if the spawn budget of this {@code MapObject} allows another spawn.
+	 */
+	public boolean canSpawn()
+	{
+		return ( spawnBudget == NO_SPAWN_BUDGET || liveSpawns < spawnBudget );
+	}
+	
 	// setMovementSpeed
 	//=================
 	public void setMovementSpeed( float newMovementSpeed )
@@ -868,6 +1601,21 @@ public abstract class MapObject implements Serializable
 	public void setHorizontalForce( float force )
 	{
 		horizontalForce = force;
+		this.wake();
+	}
+	
+	// getHorizontalForce
+	//===================
+	public float getHorizontalForce()
+	{
+		return ( horizontalForce );
+	}
+	
+	// getVerticalForce
+	//=================
+	public float getVerticalForce()
+	{
+		return ( verticalForce );
 	}
 	
 	// setVerticalForce
@@ -895,10 +1643,7 @@ public abstract class MapObject implements Serializable
 		{
 			// Apply force
 			//============
-			verticalForce = ( bounds.y - jumpTargetY ) * -8f;
-			
-			if ( verticalForce < 150f ) verticalForce = 150f;
-			if ( verticalForce > 450f ) verticalForce = 450f;
+			verticalForce = KinematicStore.jumpForce( bounds.y, jumpTargetY );
 			
 			this.move( 0, verticalForce * WorldController.worldDelta );
 			
@@ -916,8 +1661,7 @@ public abstract class MapObject implements Serializable
 		{
 			// Apply force
 			//============
-			verticalForce -= ( 1100f * WorldController.worldDelta );
-			if ( verticalForce < -600 ) verticalForce = -600;
+			verticalForce = KinematicStore.fallForce( verticalForce, WorldController.worldDelta );
 			
 			this.move( 0f, verticalForce * WorldController.worldDelta );
 		}
@@ -940,29 +1684,7 @@ public abstract class MapObject implements Serializable
 		
 		// Decrease force
 		//===============
-		if ( horizontalForce > 0 )
-		{
-			// When positive
-			//==============
-			horizontalForce -= 120f * WorldController.worldDelta;
-			
-			if ( horizontalForce <= 0f )
-			{
-				horizontalForce = 0f;
-			}
-		}
-		else
-		{
-			// When negative
-			//==============
-			horizontalForce += 120f * WorldController.worldDelta;
-			
-			if ( horizontalForce >= 0f )
-			{
-				horizontalForce = 0f;
-			}
-		}
-
+		horizontalForce = KinematicStore.decayHorizontalForce( horizontalForce, WorldController.worldDelta );
 	}
 	
 	// setPosition
@@ -1001,6 +1723,22 @@ public abstract class MapObject implements Serializable
 		// Reset vertical force
 		//=====================
 		this.setVerticalForce( 0f );
+		this.updateSpatialHash();
+		this.wake();
+	}
+	
+	// updateSpatialHash
+	//==================
+	/**
+	 * Moves this {@code MapObject} to its current cells in the {@code SpatialHash} of its
+	 * {@code WorldController}. Objects changing their bounds directly should call this method.
+	 */
+	public void updateSpatialHash()
+	{
+		if ( worldController != null && worldController.getSpatialHash( this ) != null )
+		{
+			worldController.getSpatialHash( this ).update( this );
+		}
 	}
 	
 	// getFrameSize
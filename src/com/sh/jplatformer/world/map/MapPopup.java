@@ -2,13 +2,14 @@ package com.sh.jplatformer.world.map;
 
 import java.io.Serializable;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
 /**
  * The {@code MapPopup} class represents messages that pop up in the game world.
  * @author Stefan Hsemann
  */
 
-public class MapPopup implements Serializable
+public class MapPopup implements Serializable, Poolable
 {
 	// Constants
 	//==========
@@ -35,6 +36,39 @@ public class MapPopup implements Serializable
 		alpha = 1f;
 	}
 	
+	// Constructor
+	//============
+	/**
+	 * Constructs a new empty {@code MapPopup}. Use {@code set} to initialize it.
+	 */
+	public MapPopup()
+	{
+		this( "", 0f, 0f );
+	}
+	
+	// set
+	//====
+	/**
+	 * Initializes this {@code MapPopup} with a new message.
+	 * @param newText the displayed text.
+	 * @param x the x-position (center).
+	 * @param y the y-position (center).
+	 */
+	public void set( String newText, float x, float y )
+	{
+		text = newText;
+		position.set( x, y );
+		alpha = 1f;
+	}
+	
+	// reset
+	//======
+	@Override
+	public void reset()
+	{
+		this.set( "", 0f, 0f );
+	}
+	
 	// getText
 	//========
 	public String getText()
@@ -0,0 +1,1011 @@
+package com.sh.jplatformer.world.map;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import com.sh.jplatformer.world.WorldController;
+
+/**
+ * The {@code NavGraph} class provides the navigation graph of a {@code Map} for walking
+ * {@code MapObjects} of one movement profile, i.e. their height, jump height and movement speed.
+ * <p>
+ * The nodes of the graph are spans: maximal horizontal runs of cells an object can stand in,
+ * i.e. free cells up to the height of the object above a blocked cell. The edges are fall links,
+ * walking off the end of a span, and jump links to the spans within the reach of a jump. The
+ * reach is taken from a simulated jump arc with the forces of the {@code KinematicStore}, so it
+ * matches the actual movement of the objects. Cell edits only rebuild the spans of the edited
+ * rows and the links of the spans within jump reach of them.
+ * <p>
+ * Path queries are answered by an A* search over the spans. Searches run in
+ * {@code processRequests()} with a budget of expanded spans per tick and continue in the next
+ * tick if the budget is exhausted. Results are cached by start and goal span and shared by all
+ * objects of the profile until the graph changes, so many objects chasing the same target do
+ * not search again. The cache keeps the {@code MAX_CACHED_PATHS} most recently used paths.
+ */
+
+public class NavGraph
+{
+	// Constants
+	//==========
+	public static final int DEFAULT_BUDGET   = 2000;
+	public static final int MAX_DROP_ROWS    = 16;
+	public static final int MAX_CACHED_PATHS = 1024;
+	private static final int JUMP_COST       = 2;
+
+	// Profile
+	//========
+	private Map map;
+	private int clearance;
+	private float jumpHeight;
+	private float movementSpeed;
+	private int jumpRows;
+	private int[] jumpCols;
+	private int maxJumpCols;
+
+	// Spans
+	//======
+	private ArrayList<Span>[] rowSpans;
+	private boolean isBuilt;
+	private int nextSpanId;
+	private int spanCount;
+	private int linkCount;
+	private int version;
+
+	// Queries
+	//========
+	private LinkedHashMap<Long, NavPath> cache;
+	private ArrayDeque<NavPath> requests;
+	private NavPath search;
+	private ArrayList<Span> open;
+	private int searchId;
+	private int budget;
+
+	// Metrics
+	//========
+	private long requestCount;
+	private long cacheHitCount;
+	private long expandedCount;
+	private long foundCount;
+	private long failedCount;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new {@code NavGraph}. The graph is built on the first query.
+	 * @param newMap the {@code Map} to navigate.
+	 * @param newClearance the height of the objects in cells.
+	 * @param newJumpHeight the jump height of the objects in units.
+	 * @param newMovementSpeed the movement speed of the objects, see {@code MapObject}.
+	 */
+	public NavGraph( Map newMap, int newClearance, float newJumpHeight, float newMovementSpeed )
+	{
+		map           = newMap;
+		clearance     = Math.max( newClearance, 1 );
+		jumpHeight    = Math.max( newJumpHeight, 0f );
+		movementSpeed = Math.max( newMovementSpeed, 0f );
+		cache         = new LinkedHashMap<Long, NavPath>( 16, 0.75f, true )
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry( java.util.Map.Entry<Long, NavPath> eldest )
+			{
+				return ( size() > MAX_CACHED_PATHS );
+			}
+		};
+		requests      = new ArrayDeque<NavPath>();
+		open          = new ArrayList<Span>();
+		budget        = DEFAULT_BUDGET;
+
+		this.initJumpReach();
+	}
+
+	// initJumpReach
+	//==============
+	/**
+	 * Simulates a jump at full movement speed and stores the number of columns it reaches for
+	 * every height difference from {@code jumpRows} rows up to {@code MAX_DROP_ROWS} rows down.
+	 * An object standing at the border of a cell reaches the next cell after any movement, so
+	 * the reach is rounded down and increased by one column.
+	 */
+	private void initJumpReach()
+	{
+		// Values
+		//=======
+		float delta = WorldController.TICK_DELTA;
+		float speed = movementSpeed * 10f;
+		float x     = 0f;
+		float y     = 0f;
+		float force = 0f;
+
+		jumpRows    = (int) ( jumpHeight / Map.CELL_SIZE );
+		jumpCols    = new int[jumpRows + MAX_DROP_ROWS + 1];
+		maxJumpCols = 0;
+
+		if ( speed <= 0f )
+		{
+			jumpRows = -1;
+			return;
+		}
+
+		// Ascent
+		//=======
+		while ( y < jumpHeight )
+		{
+			y += KinematicStore.jumpForce( y, jumpHeight ) * delta;
+			x += speed * delta;
+		}
+
+		// Descent
+		//========
+		int dRow = jumpRows;
+
+		while ( dRow >= -MAX_DROP_ROWS )
+		{
+			force = KinematicStore.fallForce( force, delta );
+			y    += force * delta;
+			x    += speed * delta;
+
+			while ( dRow >= -MAX_DROP_ROWS && y <= dRow * Map.CELL_SIZE )
+			{
+				jumpCols[dRow + MAX_DROP_ROWS] = (int) ( x / Map.CELL_SIZE ) + 1;
+				maxJumpCols = Math.max( maxJumpCols, jumpCols[dRow + MAX_DROP_ROWS] );
+				dRow--;
+			}
+		}
+	}
+
+	// matches
+	//========
+	/**
+	 * @param newClearance the height of the objects in cells.
+	 * @param newJumpHeight the jump height of the objects in units.
+	 * @param newMovementSpeed the movement speed of the objects.
+	 * @return {@code true} if this graph was built for the specified movement profile.
+	 */
+	public boolean matches( int newClearance, float newJumpHeight, float newMovementSpeed )
+	{
+		return ( clearance == Math.max( newClearance, 1 ) &&
+		         jumpHeight == Math.max( newJumpHeight, 0f ) &&
+		         movementSpeed == Math.max( newMovementSpeed, 0f ) );
+	}
+
+	// build
+	//======
+	/**
+	 * Builds the spans and links of the whole {@code Map}.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private void build()
+	{
+		rowSpans  = new ArrayList[map.getRows()];
+		spanCount = 0;
+		linkCount = 0;
+		isBuilt   = true;
+
+		for ( int row = 1; row < map.getRows(); row++ )
+		{
+			this.buildRow( row, 0, map.getColumns() - 1 );
+		}
+		this.linkColumns( 0, map.getColumns() - 1 );
+	}
+
+	// updateCells
+	//============
+	/**
+	 * Updates the graph after cells of the {@code Map} have been edited. The spans of the rows
+	 * whose walkability depends on the edited cells are rebuilt and the links of all spans within
+	 * jump reach of the rebuilt spans are linked again. Cached paths and pending queries are
+	 * discarded.
+	 * @param col1 the first edited column.
+	 * @param row1 the first edited row.
+	 * @param col2 the last edited column.
+	 * @param row2 the last edited row.
+	 */
+	public void updateCells( int col1, int row1, int col2, int row2 )
+	{
+		if ( isBuilt == false )
+		{
+			return;
+		}
+
+		// Rebuild spans
+		//==============
+		int first = Math.max( row1 - clearance + 1, 1 );
+		int last  = Math.min( row2 + 1, map.getRows() - 1 );
+		int lo    = Math.max( col1, 0 );
+		int hi    = Math.min( col2, map.getColumns() - 1 );
+
+		if ( lo > hi )
+		{
+			return;
+		}
+		int from = lo;
+		int to   = hi;
+
+		for ( int row = first; row <= last; row++ )
+		{
+			long range = this.buildRow( row, lo, hi );
+
+			from = Math.min( from, (int) ( range >> 32 ) );
+			to   = Math.max( to, (int) range );
+		}
+
+		// Link spans
+		//===========
+		this.linkColumns( from - maxJumpCols - 1, to + maxJumpCols + 1 );
+		this.invalidate();
+	}
+
+	// buildRow
+	//=========
+	/**
+	 * Replaces the spans of a row that touch a range of columns.
+	 * @return the range of the replaced and new spans, the first column in the upper and the
+	 * last column in the lower 32 bits.
+	 */
+	private long buildRow( int row, int col1, int col2 )
+	{
+		// Remove touching spans
+		//======================
+		ArrayList<Span> spans = rowSpans[row];
+		int index             = 0;
+		int from              = col1;
+		int to                = col2;
+
+		if ( spans != null )
+		{
+			index   = this.indexOf( spans, col1 - 1 );
+			int end = index;
+
+			while ( end < spans.size() && spans.get( end ).col1 <= col2 + 1 )
+			{
+				Span span = spans.get( end );
+
+				from = Math.min( from, span.col1 );
+				to   = Math.max( to, span.col2 );
+				span.isAlive = false;
+				linkCount   -= span.links.size();
+				end++;
+			}
+			spans.subList( index, end ).clear();
+			spanCount -= end - index;
+		}
+
+		// Scan cells
+		//===========
+		int start = -1;
+
+		for ( int col = from; col <= to + 1; col++ )
+		{
+			// Skip empty ground
+			//==================
+			if ( start < 0 && col <= to && map.isChunkEmpty( col, row - 1 ) )
+			{
+				col |= Map.CHUNK_SIZE - 1;
+				continue;
+			}
+
+			// Open or close span
+			//===================
+			boolean walkable = col <= to && this.isWalkable( col, row );
+
+			if ( walkable && start < 0 )
+			{
+				start = col;
+			}
+			if ( !walkable && start >= 0 )
+			{
+				if ( spans == null )
+				{
+					spans = new ArrayList<Span>( 2 );
+					rowSpans[row] = spans;
+				}
+				spans.add( index++, new Span( nextSpanId++, row, start, col - 1 ) );
+				spanCount++;
+				start = -1;
+			}
+		}
+		return ( ( (long) from << 32 ) | ( to & 0xFFFFFFFFL ) );
+	}
+
+	// isWalkable
+	//===========
+	private boolean isWalkable( int col, int row )
+	{
+		return ( map.isBlocked( col, row - 1 ) && !map.isBlocked( col, row, col, row + clearance - 1 ) );
+	}
+
+	// indexOf
+	//========
+	/**
+	 * @return the index of the first span of a row that ends at or after a column.
+	 */
+	private int indexOf( ArrayList<Span> spans, int col )
+	{
+		int lo = 0;
+		int hi = spans.size();
+
+		while ( lo < hi )
+		{
+			int mid = ( lo + hi ) >>> 1;
+
+			if ( spans.get( mid ).col2 < col )
+			{
+				lo = mid + 1;
+			}
+			else
+			{
+				hi = mid;
+			}
+		}
+		return ( lo );
+	}
+
+	// getSpan
+	//========
+	/**
+	 * @return the span containing a cell or {@code null}.
+	 */
+	private Span getSpan( int col, int row )
+	{
+		if ( row < 0 || row >= rowSpans.length || rowSpans[row] == null )
+		{
+			return ( null );
+		}
+		ArrayList<Span> spans = rowSpans[row];
+		int index             = this.indexOf( spans, col );
+
+		if ( index < spans.size() && spans.get( index ).col1 <= col )
+		{
+			return ( spans.get( index ) );
+		}
+		return ( null );
+	}
+
+	// linkColumns
+	//============
+	/**
+	 * Links all spans that overlap a range of columns again.
+	 */
+	private void linkColumns( int col1, int col2 )
+	{
+		for ( int row = 1; row < rowSpans.length; row++ )
+		{
+			ArrayList<Span> spans = rowSpans[row];
+
+			if ( spans == null )
+			{
+				continue;
+			}
+			for ( int i = this.indexOf( spans, col1 ); i < spans.size() && spans.get( i ).col1 <= col2; i++ )
+			{
+				this.link( spans.get( i ) );
+			}
+		}
+	}
+
+	// link
+	//=====
+	/**
+	 * Creates the fall and jump links of a span.
+	 */
+	private void link( Span a )
+	{
+		linkCount -= a.links.size();
+		a.links.clear();
+
+		// Fall links
+		//===========
+		this.linkFall( a, a.col1, a.col1 - 1 );
+		this.linkFall( a, a.col2, a.col2 + 1 );
+
+		// Jump links
+		//===========
+		for ( int dRow = -MAX_DROP_ROWS; dRow <= jumpRows; dRow++ )
+		{
+			int row = a.row + dRow;
+
+			if ( row < 1 || row >= rowSpans.length || rowSpans[row] == null )
+			{
+				continue;
+			}
+			ArrayList<Span> spans = rowSpans[row];
+			int reach             = jumpCols[dRow + MAX_DROP_ROWS];
+
+			for ( int i = this.indexOf( spans, a.col1 - reach ); i < spans.size() && spans.get( i ).col1 <= a.col2 + reach; i++ )
+			{
+				if ( spans.get( i ) != a )
+				{
+					this.linkJump( a, spans.get( i ), reach );
+				}
+			}
+		}
+		linkCount += a.links.size();
+	}
+
+	// linkFall
+	//=========
+	/**
+	 * Links a span to the span below the cell next to one of its ends.
+	 */
+	private void linkFall( Span a, int from, int edge )
+	{
+		if ( edge < 0 || edge >= map.getColumns() || map.isBlocked( edge, a.row, edge, a.row + clearance - 1 ) )
+		{
+			return;
+		}
+		Span b = this.getSpan( edge, map.getBlockedRowBelow( edge, a.row ) + 1 );
+
+		if ( b != null )
+		{
+			a.links.add( new Link( b, from, edge, NavPath.ACTION_FALL, 1 + a.row - b.row ) );
+		}
+	}
+
+	// linkJump
+	//=========
+	/**
+	 * Links a span to another one if it can be reached by a jump. Higher spans are jumped on from
+	 * the side, lower spans and spans of the same row are jumped on from the ends of the span.
+	 */
+	private void linkJump( Span a, Span b, int reach )
+	{
+		// Select take-off and landing
+		//============================
+		int from = -1;
+		int to   = -1;
+
+		if ( b.row > a.row )
+		{
+			if ( a.col1 < b.col1 && b.col1 - Math.min( a.col2, b.col1 - 1 ) <= reach )
+			{
+				from = Math.min( a.col2, b.col1 - 1 );
+				to   = b.col1;
+			}
+			else if ( a.col2 > b.col2 && Math.max( a.col1, b.col2 + 1 ) - b.col2 <= reach )
+			{
+				from = Math.max( a.col1, b.col2 + 1 );
+				to   = b.col2;
+			}
+		}
+		else
+		{
+			if ( b.col2 > a.col2 && Math.max( b.col1, a.col2 + 1 ) - a.col2 <= reach )
+			{
+				from = a.col2;
+				to   = Math.max( b.col1, a.col2 + 1 );
+			}
+			else if ( b.col1 < a.col1 && a.col1 - Math.min( b.col2, a.col1 - 1 ) <= reach )
+			{
+				from = a.col1;
+				to   = Math.min( b.col2, a.col1 - 1 );
+			}
+		}
+		if ( from < 0 )
+		{
+			return;
+		}
+
+		// Check headroom
+		//===============
+		int top = Math.max( a.row, b.row ) + clearance - 1;
+
+		if ( map.isBlocked( from, a.row, from, top ) || map.isBlocked( to, b.row, to, top ) )
+		{
+			return;
+		}
+		if ( Math.abs( to - from ) > 1 &&
+		     map.isBlocked( Math.min( from, to ) + 1, top - clearance + 1, Math.max( from, to ) - 1, top ) )
+		{
+			return;
+		}
+		a.links.add( new Link( b, from, to, NavPath.ACTION_JUMP, Math.abs( to - from ) + Math.abs( b.row - a.row ) + JUMP_COST ) );
+	}
+
+	// invalidate
+	//===========
+	/**
+	 * Discards cached paths and pending queries after the graph has changed.
+	 */
+	private void invalidate()
+	{
+		version++;
+		cache.clear();
+		requests.clear();
+		search = null;
+	}
+
+	// findPath
+	//=========
+	/**
+	 * Queries a path between two positions. The positions are the bottom centers of objects; a
+	 * position in the air is moved down to the ground below.
+	 * @param x1 the x-position of the start in units.
+	 * @param y1 the y-position of the start in units.
+	 * @param x2 the x-position of the goal in units.
+	 * @param y2 the y-position of the goal in units.
+	 * @return the cached or a new pending {@code NavPath} or {@code null} if start or goal are not
+	 * on a span.
+	 */
+	public NavPath findPath( float x1, float y1, float x2, float y2 )
+	{
+		if ( isBuilt == false )
+		{
+			this.build();
+		}
+		requestCount++;
+
+		// Locate spans
+		//=============
+		int startCol = map.getColumnAt( x1 );
+		int goalCol  = map.getColumnAt( x2 );
+		Span start   = this.locate( startCol, map.getRowAt( y1 ) );
+		Span goal    = this.locate( goalCol, map.getRowAt( y2 ) );
+
+		if ( start == null || goal == null )
+		{
+			return ( null );
+		}
+
+		// Use cached path
+		//================
+		Long key     = Long.valueOf( ( (long) start.id << 32 ) | goal.id );
+		NavPath path = cache.get( key );
+
+		if ( path != null )
+		{
+			cacheHitCount++;
+			return ( path );
+		}
+
+		// Queue query
+		//============
+		path = new NavPath( start, startCol, goal, goalCol, version );
+		cache.put( key, path );
+		requests.add( path );
+
+		return ( path );
+	}
+
+	// locate
+	//=======
+	/**
+	 * @return the span on the ground below a cell or {@code null}.
+	 */
+	private Span locate( int col, int row )
+	{
+		return ( this.getSpan( col, map.getBlockedRowBelow( col, row ) + 1 ) );
+	}
+
+	// isCurrent
+	//==========
+	/**
+	 * @param path a {@code NavPath} of this graph.
+	 * @return {@code true} if the graph has not changed since the path was queried.
+	 */
+	public boolean isCurrent( NavPath path )
+	{
+		return ( path.version == version );
+	}
+
+	// processRequests
+	//================
+	/**
+	 * Processes the pending queries until the search budget of this tick is exhausted. This
+	 * method is called once per tick.
+	 */
+	public void processRequests()
+	{
+		int left = budget;
+
+		while ( left > 0 )
+		{
+			if ( search == null )
+			{
+				search = requests.poll();
+
+				if ( search == null )
+				{
+					return;
+				}
+				this.startSearch();
+			}
+			left = this.continueSearch( left );
+		}
+	}
+
+	// startSearch
+	//============
+	private void startSearch()
+	{
+		Span start = search.start;
+
+		searchId++;
+		open.clear();
+
+		start.searchId   = searchId;
+		start.isClosed   = false;
+		start.heapIndex  = -1;
+		start.g          = 0f;
+		start.entryCol   = search.startCol;
+		start.parent     = null;
+		start.parentLink = null;
+
+		this.push( start, this.estimate( start ) );
+	}
+
+	// continueSearch
+	//===============
+	/**
+	 * Expands spans of the current search until it is finished or the budget is exhausted.
+	 * @return the remaining budget.
+	 */
+	private int continueSearch( int left )
+	{
+		while ( left > 0 )
+		{
+			// Next span
+			//==========
+			if ( open.isEmpty() )
+			{
+				this.finishSearch( null );
+				return ( left );
+			}
+			Span s = this.pop();
+
+			s.isClosed = true;
+			expandedCount++;
+			left--;
+
+			if ( s == search.goal )
+			{
+				this.finishSearch( s );
+				return ( left );
+			}
+
+			// Relax links
+			//============
+			for ( int i = 0; i < s.links.size(); i++ )
+			{
+				Link link = s.links.get( i );
+				Span t    = link.target;
+				float g   = s.g + Math.abs( link.fromCol - s.entryCol ) + link.cost;
+
+				if ( t.searchId != searchId )
+				{
+					t.searchId  = searchId;
+					t.isClosed  = false;
+					t.heapIndex = -1;
+					t.g         = Float.POSITIVE_INFINITY;
+				}
+				if ( t.isClosed || t.isAlive == false || g >= t.g )
+				{
+					continue;
+				}
+				t.g          = g;
+				t.entryCol   = link.toCol;
+				t.parent     = s;
+				t.parentLink = link;
+
+				this.push( t, g + this.estimate( t ) );
+			}
+		}
+		return ( left );
+	}
+
+	// estimate
+	//=========
+	private float estimate( Span s )
+	{
+		return ( Math.abs( search.goalCol - s.entryCol ) + Math.abs( search.goal.row - s.row ) );
+	}
+
+	// finishSearch
+	//=============
+	/**
+	 * Stores the result of the current search in its {@code NavPath}.
+	 * @param goal the reached goal span or {@code null} if no path exists.
+	 */
+	private void finishSearch( Span goal )
+	{
+		if ( goal == null )
+		{
+			search.setSteps( null, null, null );
+			failedCount++;
+			search = null;
+			return;
+		}
+
+		// Count links
+		//============
+		int links = 0;
+
+		for ( Span s = goal; s.parent != null; s = s.parent )
+		{
+			links++;
+		}
+
+		// Collect steps
+		//==============
+		int[] actions = new int[links * 2 + 1];
+		int[] cols    = new int[actions.length];
+		int[] rows    = new int[actions.length];
+		int step      = actions.length - 1;
+
+		actions[step] = NavPath.ACTION_WALK;
+		cols[step]    = search.goalCol;
+		rows[step]    = goal.row;
+
+		for ( Span s = goal; s.parent != null; s = s.parent )
+		{
+			Link link = s.parentLink;
+
+			step--;
+			actions[step] = link.action;
+			cols[step]    = link.toCol;
+			rows[step]    = s.row;
+			step--;
+			actions[step] = NavPath.ACTION_WALK;
+			cols[step]    = link.fromCol;
+			rows[step]    = s.parent.row;
+		}
+		search.setSteps( actions, cols, rows );
+		foundCount++;
+		search = null;
+	}
+
+	// push
+	//=====
+	/**
+	 * Adds a span to the open list or moves it up after its cost has decreased.
+	 */
+	private void push( Span s, float f )
+	{
+		s.f = f;
+
+		if ( s.heapIndex < 0 )
+		{
+			s.heapIndex = open.size();
+			open.add( s );
+		}
+
+		// Sift up
+		//========
+		int index = s.heapIndex;
+
+		while ( index > 0 )
+		{
+			int parent = ( index - 1 ) >> 1;
+			Span p     = open.get( parent );
+
+			if ( p.f <= f )
+			{
+				break;
+			}
+			open.set( index, p );
+			p.heapIndex = index;
+			index       = parent;
+		}
+		open.set( index, s );
+		s.heapIndex = index;
+	}
+
+	// pop
+	//====
+	/**
+	 * Removes the span with the lowest estimated cost from the open list.
+	 */
+	private Span pop()
+	{
+		Span first = open.get( 0 );
+		Span last  = open.remove( open.size() - 1 );
+
+		first.heapIndex = -1;
+
+		if ( last == first )
+		{
+			return ( first );
+		}
+
+		// Sift down
+		//==========
+		int index = 0;
+		int size  = open.size();
+
+		while ( true )
+		{
+			int child = index * 2 + 1;
+
+			if ( child >= size )
+			{
+				break;
+			}
+			if ( child + 1 < size && open.get( child + 1 ).f < open.get( child ).f )
+			{
+				child++;
+			}
+			Span c = open.get( child );
+
+			if ( c.f >= last.f )
+			{
+				break;
+			}
+			open.set( index, c );
+			c.heapIndex = index;
+			index       = child;
+		}
+		open.set( index, last );
+		last.heapIndex = index;
+
+		return ( first );
+	}
+
+	// setBudget
+	//==========
+	/**
+	 * @param newBudget the number of spans the searches may expand per tick.
+	 */
+	public void setBudget( int newBudget )
+	{
+		budget = Math.max( newBudget, 1 );
+	}
+
+	// getBudget
+	//==========
+	/**
+	 * @return the number of spans the searches may expand per tick.
+	 */
+	public int getBudget()
+	{
+		return ( budget );
+	}
+
+	// getSpanCount
+	//=============
+	/**
+	 * @return the number of spans.
+	 */
+	public int getSpanCount()
+	{
+		return ( spanCount );
+	}
+
+	// getLinkCount
+	//=============
+	/**
+	 * @return the number of links.
+	 */
+	public int getLinkCount()
+	{
+		return ( linkCount );
+	}
+
+	// getPendingCount
+	//================
+	/**
+	 * @return the number of queries waiting for a search.
+	 */
+	public int getPendingCount()
+	{
+		return ( requests.size() + ( search != null ? 1 : 0 ) );
+	}
+
+	// getRequestCount
+	//================
+	/**
+	 * @return the number of path queries.
+	 */
+	public long getRequestCount()
+	{
+		return ( requestCount );
+	}
+
+	// getCacheHitCount
+	//=================
+	/**
+	 * @return the number of path queries answered from the cache.
+	 */
+	public long getCacheHitCount()
+	{
+		return ( cacheHitCount );
+	}
+
+	// getExpandedCount
+	//=================
+	/**
+	 * @return the number of spans expanded by all searches.
+	 */
+	public long getExpandedCount()
+	{
+		return ( expandedCount );
+	}
+
+	// getFoundCount
+	//==============
+	/**
+	 * @return the number of searches that found a path.
+	 */
+	public long getFoundCount()
+	{
+		return ( foundCount );
+	}
+
+	// getFailedCount
+	//===============
+	/**
+	 * @return the number of searches that found no path.
+	 */
+	public long getFailedCount()
+	{
+		return ( failedCount );
+	}
+
+	// Span
+	//=====
+	/**
+	 * A walkable run of cells of a row.
+	 */
+	static class Span
+	{
+		// Properties
+		//===========
+		final int id;
+		final int row;
+		final int col1;
+		final int col2;
+		final ArrayList<Link> links;
+		boolean isAlive;
+
+		// Search
+		//=======
+		int searchId;
+		boolean isClosed;
+		int heapIndex;
+		float g;
+		float f;
+		int entryCol;
+		Span parent;
+		Link parentLink;
+
+		// Constructor
+		//============
+		Span( int newId, int newRow, int newCol1, int newCol2 )
+		{
+			id        = newId;
+			row       = newRow;
+			col1      = newCol1;
+			col2      = newCol2;
+			links     = new ArrayList<Link>( 4 );
+			isAlive   = true;
+			heapIndex = -1;
+		}
+	}
+
+	// Link
+	//=====
+	/**
+	 * A fall or jump from a column of a span to a column of another span.
+	 */
+	static class Link
+	{
+		// Properties
+		//===========
+		final Span target;
+		final int fromCol;
+		final int toCol;
+		final int action;
+		final int cost;
+
+		// Constructor
+		//============
+		Link( Span newTarget, int newFromCol, int newToCol, int newAction, int newCost )
+		{
+			target  = newTarget;
+			fromCol = newFromCol;
+			toCol   = newToCol;
+			action  = newAction;
+			cost    = newCost;
+		}
+	}
+}
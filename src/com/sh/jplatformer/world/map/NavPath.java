@@ -0,0 +1,150 @@
+package com.sh.jplatformer.world.map;
+
+/**
+ * The {@code NavPath} class holds the result of a path query of a {@code NavGraph}. A path is a
+ * list of steps, each step being an action and the cell the action leads to: walk along the
+ * current platform to a column, jump to a cell or walk off the platform and fall to a cell.
+ * <p>
+ * Queries are answered within the search budget of the {@code NavGraph}, so a new path is
+ * pending until the graph has processed it. Paths are shared by all objects that query the same
+ * platforms and remain valid as long as the graph is not changed, see
+ * {@code NavGraph.isCurrent()}.
+ */
+
+public class NavPath
+{
+	// Status
+	//=======
+	public static final int STATUS_PENDING = 0;
+	public static final int STATUS_FOUND   = 1;
+	public static final int STATUS_NONE    = 2;
+
+	// Actions
+	//========
+	public static final int ACTION_WALK = 0;
+	public static final int ACTION_JUMP = 1;
+	public static final int ACTION_FALL = 2;
+
+	// Query
+	//======
+	NavGraph.Span start;
+	NavGraph.Span goal;
+	int startCol;
+	int goalCol;
+	int version;
+
+	// Result
+	//=======
+	private int status;
+	private int size;
+	private int[] actions;
+	private int[] cols;
+	private int[] rows;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new pending {@code NavPath}.
+	 */
+	NavPath( NavGraph.Span newStart, int newStartCol, NavGraph.Span newGoal, int newGoalCol, int newVersion )
+	{
+		start    = newStart;
+		startCol = newStartCol;
+		goal     = newGoal;
+		goalCol  = newGoalCol;
+		version  = newVersion;
+		status   = STATUS_PENDING;
+	}
+
+	// setSteps
+	//=========
+	/**
+	 * Sets the result of the query.
+	 * @param newActions the actions of the steps or {@code null} if no path exists.
+	 * @param newCols the target columns of the steps.
+	 * @param newRows the target rows of the steps.
+	 */
+	void setSteps( int[] newActions, int[] newCols, int[] newRows )
+	{
+		actions = newActions;
+		cols    = newCols;
+		rows    = newRows;
+		size    = newActions == null ? 0 : newActions.length;
+		status  = newActions == null ? STATUS_NONE : STATUS_FOUND;
+		start   = null;
+		goal    = null;
+	}
+
+	// getStatus
+	//==========
+	/**
+	 * @return the {@code STATUS_*} of the query.
+	 */
+	public int getStatus()
+	{
+		return ( status );
+	}
+
+	// isPending
+	//==========
+	/**
+	 * @return {@code true} if the query has not been processed yet, {@code false} otherwise.
+	 */
+	public boolean isPending()
+	{
+		return ( status == STATUS_PENDING );
+	}
+
+	// isFound
+	//========
+	/**
+	 * @return {@code true} if a path has been found, {@code false} otherwise.
+	 */
+	public boolean isFound()
+	{
+		return ( status == STATUS_FOUND );
+	}
+
+	// size
+	//=====
+	/**
+	 * @return the number of steps.
+	 */
+	public int size()
+	{
+		return ( size );
+	}
+
+	// getAction
+	//==========
+	/**
+	 * @param step the index of the step.
+	 * @return the {@code ACTION_*} of the step.
+	 */
+	public int getAction( int step )
+	{
+		return ( actions[step] );
+	}
+
+	// getColumn
+	//==========
+	/**
+	 * @param step the index of the step.
+	 * @return the column the step leads to.
+	 */
+	public int getColumn( int step )
+	{
+		return ( cols[step] );
+	}
+
+	// getRow
+	//=======
+	/**
+	 * @param step the index of the step.
+	 * @return the row the step leads to, i.e. the row the object stands in after the step.
+	 */
+	public int getRow( int step )
+	{
+		return ( rows[step] );
+	}
+}
@@ -0,0 +1,203 @@
+package com.sh.jplatformer.world.map;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * The {@code Perception} class gives a {@code MapObject} line of sight to other objects. A sight
+ * check casts a ray from the center of the owner to the center of the target over the solidity of
+ * the {@code Map}, see {@code Map.raycast()}.
+ * <p>
+ * Targets out of range are rejected without a raycast. Results in range are cached across ticks:
+ * a check is only repeated when the owner or the target moves to another cell or when the cached
+ * result is older than the check interval. The first repetition is delayed by a phase derived from
+ * the ID of the owner, so the checks of many enemies are spread over the ticks of an interval
+ * instead of falling into the same tick.
+ */
+
+public class Perception
+{
+	// Constants
+	//==========
+	public static final long DEFAULT_INTERVAL = 250L;
+	public static final float DEFAULT_RANGE   = Map.CELL_SIZE * 12f;
+
+	// Properties
+	//===========
+	private MapObject owner;
+	private long interval;
+	private float range;
+
+	// Cached result
+	//==============
+	private MapObject target;
+	private long checkTime;
+	private int ownerCol;
+	private int ownerRow;
+	private int targetCol;
+	private int targetRow;
+	private boolean isVisible;
+	private float distance;
+	private MapCell hit;
+
+	// Metrics
+	//========
+	private long requestCount;
+	private long raycastCount;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new {@code Perception} with {@code DEFAULT_INTERVAL} and {@code DEFAULT_RANGE}.
+	 * @param newOwner the {@code MapObject} that looks.
+	 */
+	public Perception( MapObject newOwner )
+	{
+		this( newOwner, DEFAULT_INTERVAL, DEFAULT_RANGE );
+	}
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new {@code Perception}.
+	 * @param newOwner the {@code MapObject} that looks.
+	 * @param newInterval the maximum age of a cached result in milliseconds.
+	 * @param newRange the maximum distance between the centers of owner and target in units.
+	 */
+	public Perception( MapObject newOwner, long newInterval, float newRange )
+	{
+		owner    = newOwner;
+		interval = Math.max( 1L, newInterval );
+		range    = newRange;
+		hit      = new MapCell();
+	}
+
+	// canSee
+	//=======
+	/**
+	 * Checks whether the owner sees a {@code MapObject}. The cached result is returned if neither
+	 * object changed its cell and the result is not older than the check interval.
+	 * @param newTarget the {@code MapObject} to look at.
+	 * @return {@code true} if the target is in range and no blocked cell is between the centers of
+	 * owner and target, {@code false} otherwise.
+	 */
+	public boolean canSee( MapObject newTarget )
+	{
+		// Centers
+		//========
+		Rectangle a = owner.getBounds();
+		Rectangle b = newTarget.getBounds();
+		float x1    = a.x + a.width / 2f;
+		float y1    = a.y + a.height / 2f;
+		float x2    = b.x + b.width / 2f;
+		float y2    = b.y + b.height / 2f;
+		float dx    = x2 - x1;
+		float dy    = y2 - y1;
+
+		requestCount++;
+
+		// Check range
+		//============
+		if ( dx * dx + dy * dy > range * range )
+		{
+			isVisible = false;
+			distance  = -1f;
+			target    = null;
+
+			return ( false );
+		}
+
+		// Use cached result
+		//==================
+		int col1  = MathUtils.floor( x1 / Map.CELL_SIZE );
+		int row1  = MathUtils.floor( y1 / Map.CELL_SIZE );
+		int col2  = MathUtils.floor( x2 / Map.CELL_SIZE );
+		int row2  = MathUtils.floor( y2 / Map.CELL_SIZE );
+		long time = owner.getTime();
+
+		if ( newTarget == target && time < checkTime + interval && time >= checkTime &&
+		     col1 == ownerCol && row1 == ownerRow && col2 == targetCol && row2 == targetRow )
+		{
+			return ( isVisible );
+		}
+
+		// Cast ray
+		//=========
+		distance  = owner.getWorldController().getMap().raycast( x1, y1, x2, y2, hit );
+		isVisible = distance < 0f;
+		raycastCount++;
+
+		// Store result
+		//=============
+		if ( target != newTarget )
+		{
+			checkTime = time - Math.abs( owner.getId() % interval );
+		}
+		else
+		{
+			checkTime = time;
+		}
+		target    = newTarget;
+		ownerCol  = col1;
+		ownerRow  = row1;
+		targetCol = col2;
+		targetRow = row2;
+
+		return ( isVisible );
+	}
+
+	// reset
+	//======
+	/**
+	 * Discards the cached result, so the next call of {@code canSee()} performs a new check.
+	 */
+	public void reset()
+	{
+		target    = null;
+		isVisible = false;
+		distance  = -1f;
+	}
+
+	// getDistance
+	//============
+	/**
+	 * @return the distance to the blocked cell that hid the target in the last check in units or
+	 * {@code -1} if the target was visible or out of range.
+	 */
+	public float getDistance()
+	{
+		return ( distance );
+	}
+
+	// getHitCell
+	//===========
+	/**
+	 * @return the blocked cell that hid the target in the last check. The value is only valid if
+	 * {@code getDistance()} is not negative.
+	 */
+	public MapCell getHitCell()
+	{
+		return ( hit );
+	}
+
+	// getRequestCount
+	//================
+	/**
+	 * @return the number of calls of {@code canSee()}.
+	 */
+	public long getRequestCount()
+	{
+		return ( requestCount );
+	}
+
+	// getRaycastCount
+	//================
+	/**
+	 * @return the number of raycasts performed, i.e. the calls of {@code canSee()} that were not
+	 * answered from the cache or by the range check.
+	 */
+	public long getRaycastCount()
+	{
+		return ( raycastCount );
+	}
+}
@@ -0,0 +1,462 @@
+package com.sh.jplatformer.world.map;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * The {@code SpatialHash} class provides a uniform grid broadphase for {@code MapObjects}. The
+ * grid is made of {@code Map.CELL_SIZE} squares, which are hashed into a fixed number of buckets.
+ * Every object is stored in the buckets of all cells its bounds cover, so an area query only has
+ * to test the objects registered in the cells of that area instead of all objects of the world.
+ * <p>
+ * Queries do not modify any state, so several threads may query the same {@code SpatialHash} as
+ * long as no object is inserted, removed or updated at the same time.
+ */
+
+public class SpatialHash
+{
+	// Constants
+	//==========
+	public static final int DEFAULT_BUCKETS = 4096;
+	private static final int MAX_LOAD       = 2;
+
+	// Properties
+	//===========
+	private ArrayList<MapObject>[] buckets;
+	private int[] stamps;
+	private int stamp = 1;
+	private int mask;
+	private int size;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new empty {@code SpatialHash} with {@code DEFAULT_BUCKETS} buckets.
+	 */
+	public SpatialHash()
+	{
+		this( DEFAULT_BUCKETS );
+	}
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new empty {@code SpatialHash}.
+	 * @param bucketCount the initial number of buckets. The value is rounded up to the next power
+	 * of two.
+	 */
+	public SpatialHash( int bucketCount )
+	{
+		this.allocate( bucketCount );
+	}
+
+	// allocate
+	//=========
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private void allocate( int bucketCount )
+	{
+		int count = 1;
+
+		while ( count < bucketCount )
+		{
+			count <<= 1;
+		}
+		buckets = new ArrayList[count];
+		stamps  = new int[count];
+		mask    = count - 1;
+		size    = 0;
+	}
+
+	// clear
+	//======
+	/**
+	 * Removes all {@code MapObjects} from this {@code SpatialHash}.
+	 */
+	public void clear()
+	{
+		for ( int i = 0; i < buckets.length; i++ )
+		{
+			if ( buckets[i] != null )
+			{
+				for ( MapObject o : buckets[i] )
+				{
+					o.isHashed = false;
+				}
+				buckets[i].clear();
+			}
+		}
+		size = 0;
+	}
+
+	// insert
+	//=======
+	/**
+	 * Registers a {@code MapObject} in all cells covered by its current bounds. Objects that are
+	 * already registered are only updated.
+	 * @param o the {@code MapObject} to insert.
+	 */
+	public void insert( MapObject o )
+	{
+		// Update if already registered
+		//=============================
+		if ( o.isHashed == true )
+		{
+			this.update( o );
+			return;
+		}
+
+		// Grow table
+		//===========
+		if ( size + 1 > buckets.length * MAX_LOAD )
+		{
+			this.rehash( buckets.length * 2 );
+		}
+
+		// Store cell range
+		//=================
+		Rectangle b = o.getBounds();
+
+		o.hashCol1 = toCell( b.x );
+		o.hashRow1 = toCell( b.y );
+		o.hashCol2 = toCell( b.x + b.width );
+		o.hashRow2 = toCell( b.y + b.height );
+		o.isHashed = true;
+		size++;
+
+		this.addToCells( o );
+	}
+
+	// remove
+	//=======
+	/**
+	 * Removes a {@code MapObject} from all cells it is registered in.
+	 * @param o the {@code MapObject} to remove.
+	 */
+	public void remove( MapObject o )
+	{
+		if ( o.isHashed == true )
+		{
+			this.removeFromCells( o );
+			o.isHashed = false;
+			size--;
+		}
+	}
+
+	// update
+	//=======
+	/**
+	 * Moves a registered {@code MapObject} to the cells covered by its current bounds. This is a
+	 * no-op if the object is not registered or if it did not leave its cells.
+	 * @param o the {@code MapObject} to update.
+	 */
+	public void update( MapObject o )
+	{
+		// Ignore if not registered
+		//=========================
+		if ( o.isHashed == false )
+		{
+			return;
+		}
+
+		// Calculate new range
+		//====================
+		Rectangle b = o.getBounds();
+
+		int col1 = toCell( b.x );
+		int row1 = toCell( b.y );
+		int col2 = toCell( b.x + b.width );
+		int row2 = toCell( b.y + b.height );
+
+		// Re-register if cells changed
+		//=============================
+		if ( col1 != o.hashCol1 || row1 != o.hashRow1 || col2 != o.hashCol2 || row2 != o.hashRow2 )
+		{
+			this.removeFromCells( o );
+
+			o.hashCol1 = col1;
+			o.hashRow1 = row1;
+			o.hashCol2 = col2;
+			o.hashRow2 = row2;
+
+			this.addToCells( o );
+		}
+	}
+
+	// query
+	//======
+	/**
+	 * Adds all registered {@code MapObjects} overlapping the specified area to a list. Every
+	 * object is added only once, the order of the objects is not specified.
+	 * @param area the area to scan in units.
+	 * @param result the list to add the objects to. The list is not cleared.
+	 * @return the {@code result} list.
+	 */
+	public ArrayList<MapObject> query( Rectangle area, ArrayList<MapObject> result )
+	{
+		// Query range
+		//============
+		int col1 = toCell( area.x );
+		int row1 = toCell( area.y );
+		int col2 = toCell( area.x + area.width );
+		int row2 = toCell( area.y + area.height );
+
+		// Scan all buckets for huge areas
+		//================================
+		if ( (long) ( col2 - col1 + 1 ) * (long) ( row2 - row1 + 1 ) > buckets.length )
+		{
+			for ( int i = 0; i < buckets.length; i++ )
+			{
+				this.collect( buckets[i], i, Integer.MIN_VALUE, Integer.MIN_VALUE, area, col1, row1, result );
+			}
+			return ( result );
+		}
+
+		// Scan covered cells
+		//===================
+		for ( int row = row1; row <= row2; row++ )
+		{
+			for ( int col = col1; col <= col2; col++ )
+			{
+				int index = hash( col, row ) & mask;
+
+				this.collect( buckets[index], index, col, row, area, col1, row1, result );
+			}
+		}
+		return ( result );
+	}
+
+	// collect
+	//========
+	/**
+	 * Adds the objects of a bucket to a query result. An object spanning several cells is only
+	 * reported for the first cell it shares with the query range, so no visited flags are required.
+	 * If {@code col} is {@code Integer.MIN_VALUE}, the bucket is visited as part of a scan over all
+	 * buckets and the object is reported by the bucket of that first cell instead.
+	 */
+	private void collect( ArrayList<MapObject> bucket, int index, int col, int row, Rectangle area,
+	                      int col1, int row1, ArrayList<MapObject> result )
+	{
+		// Ignore empty buckets
+		//=====================
+		if ( bucket == null )
+		{
+			return;
+		}
+
+		// Check objects
+		//==============
+		for ( int i = 0; i < bucket.size(); i++ )
+		{
+			MapObject o = bucket.get( i );
+
+			if ( o.getBounds().overlaps( area ) )
+			{
+				int refCol = Math.max( o.hashCol1, col1 );
+				int refRow = Math.max( o.hashRow1, row1 );
+
+				if ( col == Integer.MIN_VALUE )
+				{
+					if ( ( hash( refCol, refRow ) & mask ) == index )
+					{
+						result.add( o );
+					}
+				}
+				else if ( refCol == col && refRow == row )
+				{
+					result.add( o );
+				}
+			}
+		}
+	}
+
+	// addToCells
+	//===========
+	private void addToCells( MapObject o )
+	{
+		for ( int row = o.hashRow1; row <= o.hashRow2; row++ )
+		{
+			for ( int col = o.hashCol1; col <= o.hashCol2; col++ )
+			{
+				// Get bucket
+				//===========
+				int index = hash( col, row ) & mask;
+
+				if ( buckets[index] == null )
+				{
+					buckets[index] = new ArrayList<MapObject>( 4 );
+				}
+
+				// Add once per bucket
+				//====================
+				if ( !buckets[index].contains( o ) )
+				{
+					buckets[index].add( o );
+				}
+			}
+		}
+	}
+
+	// removeFromCells
+	//================
+	private void removeFromCells( MapObject o )
+	{
+		for ( int row = o.hashRow1; row <= o.hashRow2; row++ )
+		{
+			for ( int col = o.hashCol1; col <= o.hashCol2; col++ )
+			{
+				ArrayList<MapObject> bucket = buckets[ hash( col, row ) & mask ];
+
+				if ( bucket != null )
+				{
+					bucket.remove( o );
+				}
+			}
+		}
+	}
+
+	// rehash
+	//=======
+	private void rehash( int bucketCount )
+	{
+		// Collect registered objects
+		//===========================
+		ArrayList<MapObject> objects = new ArrayList<MapObject>( size );
+
+		for ( int i = 0; i < buckets.length; i++ )
+		{
+			if ( buckets[i] != null )
+			{
+				for ( MapObject o : buckets[i] )
+				{
+					if ( ( hash( o.hashCol1, o.hashRow1 ) & mask ) == i )
+					{
+						objects.add( o );
+					}
+				}
+			}
+		}
+
+		// Re-insert objects
+		//==================
+		this.allocate( bucketCount );
+
+		for ( MapObject o : objects )
+		{
+			o.isHashed = false;
+			this.insert( o );
+		}
+	}
+
+	// nextStamp
+	//==========
+	/**
+	 * Starts a new touch period. Cells touched before this call are no longer reported by
+	 * {@code isTouched()}.
+	 */
+	public void nextStamp()
+	{
+		stamp++;
+	}
+
+	// touch
+	//======
+	/**
+	 * Marks all cells covered by an area as touched in the current touch period, e.g. because an
+	 * object has moved in or out of them. Cells sharing a bucket are marked as well, so
+	 * {@code isTouched()} may report false positives but never misses a touched cell.
+	 * @param area the area in units.
+	 */
+	public void touch( Rectangle area )
+	{
+		int col1 = toCell( area.x );
+		int row1 = toCell( area.y );
+		int col2 = toCell( area.x + area.width );
+		int row2 = toCell( area.y + area.height );
+
+		// Touch all buckets for huge areas
+		//=================================
+		if ( (long) ( col2 - col1 + 1 ) * (long) ( row2 - row1 + 1 ) > buckets.length )
+		{
+			Arrays.fill( stamps, stamp );
+			return;
+		}
+
+		// Touch covered cells
+		//====================
+		for ( int row = row1; row <= row2; row++ )
+		{
+			for ( int col = col1; col <= col2; col++ )
+			{
+				stamps[ hash( col, row ) & mask ] = stamp;
+			}
+		}
+	}
+
+	// isTouched
+	//==========
+	/**
+	 * @param area the area in units.
+	 * @return {@code true} if any cell covered by the area has been touched in the current touch
+	 * period, {@code false} otherwise.
+	 */
+	public boolean isTouched( Rectangle area )
+	{
+		int col1 = toCell( area.x );
+		int row1 = toCell( area.y );
+		int col2 = toCell( area.x + area.width );
+		int row2 = toCell( area.y + area.height );
+
+		// Check all buckets for huge areas
+		//=================================
+		if ( (long) ( col2 - col1 + 1 ) * (long) ( row2 - row1 + 1 ) > buckets.length )
+		{
+			for ( int i = 0; i < stamps.length; i++ )
+			{
+				if ( stamps[i] == stamp )
+				{
+					return ( true );
+				}
+			}
+			return ( false );
+		}
+
+		// Check covered cells
+		//====================
+		for ( int row = row1; row <= row2; row++ )
+		{
+			for ( int col = col1; col <= col2; col++ )
+			{
+				if ( stamps[ hash( col, row ) & mask ] == stamp )
+				{
+					return ( true );
+				}
+			}
+		}
+		return ( false );
+	}
+
+	// size
+	//=====
+	/**
+	 * @return the number of registered {@code MapObjects}.
+	 */
+	public int size()
+	{
+		return ( size );
+	}
+
+	// toCell
+	//=======
+	private static int toCell( float units )
+	{
+		return ( (int) Math.floor( units / Map.CELL_SIZE ) );
+	}
+
+	// hash
+	//=====
+	private static int hash( int col, int row )
+	{
+		return ( ( col * 73856093 ) ^ ( row * 19349663 ) );
+	}
+}
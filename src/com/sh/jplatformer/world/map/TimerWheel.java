@@ -0,0 +1,362 @@
+package com.sh.jplatformer.world.map;
+
+import java.util.ArrayList;
+
+/**
+ * The {@code TimerWheel} class schedules the wake-ups of dormant {@code MapObjects}. Objects whose
+ * routine only changes on timers, e.g. cannons firing every few seconds, report their next due
+ * time by {@code MapObject.getWakeTime()}. Until that time, they are dormant and the
+ * {@code WorldController} skips their updates.
+ * <p>
+ * The wheel is hierarchical: {@code LEVELS} levels of {@code SLOTS} slots, the slots of level 0
+ * spanning one millisecond of world time and the slots of every further level spanning a whole
+ * turn of the level below. Scheduling and cancelling take constant time; advancing the wheel
+ * visits one slot per millisecond and moves the entries of a higher level slot down when the
+ * level below completes a turn. Entries are linked through fields of the {@code MapObjects}, so
+ * the wheel does not allocate any objects.
+ * <p>
+ * A firing wake-up only marks its object as awake. The object is then updated by the next object
+ * pass in its usual order, so using the wheel does not change the order of the updates.
+ */
+
+public class TimerWheel
+{
+	// Constants
+	//==========
+	public static final int SLOT_BITS = 6;
+	public static final int SLOTS     = 1 << SLOT_BITS;
+	public static final int LEVELS    = 4;
+	private static final int SLOT_MASK  = SLOTS - 1;
+	private static final long MAX_DELAY = ( 1L << ( SLOT_BITS * LEVELS ) ) - 1L;
+
+	// Wheel
+	//======
+	private MapObject[][] slots;
+	private long currentTime;
+	private int size;
+
+	// Metrics
+	//========
+	private long scheduledCount;
+	private long firedCount;
+	private long cascadedCount;
+
+	// Temporary values
+	//=================
+	private ArrayList<MapObject> tmp_entries;
+
+	// Constructor
+	//============
+	/**
+	 * Constructs a new empty {@code TimerWheel}.
+	 */
+	public TimerWheel()
+	{
+		slots       = new MapObject[LEVELS][SLOTS];
+		tmp_entries = new ArrayList<MapObject>();
+	}
+
+	// clear
+	//======
+	/**
+	 * Removes all entries and sets the time of the wheel. The removed objects are awake.
+	 * @param time the current world time in milliseconds.
+	 */
+	public void clear( long time )
+	{
+		for ( int level = 0; level < LEVELS; level++ )
+		{
+			for ( int slot = 0; slot < SLOTS; slot++ )
+			{
+				while ( slots[level][slot] != null )
+				{
+					this.cancel( slots[level][slot] );
+				}
+			}
+		}
+		currentTime = time;
+	}
+
+	// schedule
+	//=========
+	/**
+	 * Schedules the wake-up of a {@code MapObject} after it has been updated. Objects returning
+	 * {@code WAKE_EVERY_TICK} stay awake, objects returning {@code WAKE_NEVER} are dormant until
+	 * they are woken by {@code MapObject.wake()}. All other objects are dormant until the world
+	 * time exceeds their wake time.
+	 * @param o the {@code MapObject}.
+	 * @param time the current world time in milliseconds.
+	 */
+	public void schedule( MapObject o, long time )
+	{
+		long wakeTime = o.getWakeTime();
+
+		// Stay awake
+		//===========
+		if ( wakeTime == MapObject.WAKE_EVERY_TICK )
+		{
+			this.cancel( o );
+			return;
+		}
+
+		// Sleep until woken
+		//==================
+		if ( wakeTime == MapObject.WAKE_NEVER )
+		{
+			this.remove( o );
+			o.isDormant = true;
+			return;
+		}
+
+		// Convert to world time
+		//======================
+		long dueTime = wakeTime + ( time - o.getTime() ) + 1L;
+
+		if ( dueTime <= currentTime )
+		{
+			this.cancel( o );
+			return;
+		}
+
+		// Insert entry
+		//=============
+		this.remove( o );
+		o.wheelTime = dueTime;
+		o.isDormant = true;
+		this.insert( o );
+		scheduledCount++;
+	}
+
+	// cancel
+	//=======
+	/**
+	 * Removes the wake-up of a {@code MapObject}, if existent, and marks the object as awake.
+	 * @param o the {@code MapObject}.
+	 */
+	public void cancel( MapObject o )
+	{
+		this.remove( o );
+		o.isDormant = false;
+	}
+
+	// advance
+	//========
+	/**
+	 * Advances the wheel to the specified world time and wakes all objects that are due. If the
+	 * time went backwards or jumped by more than the range of the wheel, all entries are
+	 * scheduled again.
+	 * @param time the current world time in milliseconds.
+	 */
+	public void advance( long time )
+	{
+		// Rebuild after clock jumps
+		//==========================
+		if ( time < currentTime || time - currentTime > MAX_DELAY )
+		{
+			this.rebuild( time );
+			return;
+		}
+
+		// Visit slots
+		//============
+		while ( currentTime < time )
+		{
+			currentTime++;
+
+			// Cascade higher levels
+			//======================
+			int levels = 1;
+
+			while ( levels < LEVELS && ( currentTime & ( ( 1L << ( SLOT_BITS * levels ) ) - 1L ) ) == 0L )
+			{
+				levels++;
+			}
+			for ( int level = levels - 1; level > 0; level-- )
+			{
+				this.cascade( level, (int) ( currentTime >> ( SLOT_BITS * level ) ) & SLOT_MASK );
+			}
+
+			// Wake due objects
+			//=================
+			MapObject[] level0 = slots[0];
+			int slot           = (int) currentTime & SLOT_MASK;
+
+			while ( level0[slot] != null )
+			{
+				this.cancel( level0[slot] );
+				firedCount++;
+			}
+		}
+	}
+
+	// insert
+	//=======
+	private void insert( MapObject o )
+	{
+		// Select level + slot
+		//====================
+		long delay = Math.min( o.wheelTime - currentTime, MAX_DELAY );
+		long due   = currentTime + delay;
+		int level  = 0;
+
+		while ( level < LEVELS - 1 && delay >= 1L << ( SLOT_BITS * ( level + 1 ) ) )
+		{
+			level++;
+		}
+		int slot = (int) ( due >> ( SLOT_BITS * level ) ) & SLOT_MASK;
+
+		// Link entry
+		//===========
+		MapObject head = slots[level][slot];
+
+		o.wheelLevel = level;
+		o.wheelSlot  = slot;
+		o.wheelPrev  = null;
+		o.wheelNext  = head;
+		o.isWheeled  = true;
+
+		if ( head != null )
+		{
+			head.wheelPrev = o;
+		}
+		slots[level][slot] = o;
+		size++;
+	}
+
+	// remove
+	//=======
+	private void remove( MapObject o )
+	{
+		if ( o.isWheeled == false )
+		{
+			return;
+		}
+
+		// Unlink entry
+		//=============
+		if ( o.wheelPrev != null )
+		{
+			o.wheelPrev.wheelNext = o.wheelNext;
+		}
+		else
+		{
+			slots[o.wheelLevel][o.wheelSlot] = o.wheelNext;
+		}
+		if ( o.wheelNext != null )
+		{
+			o.wheelNext.wheelPrev = o.wheelPrev;
+		}
+		o.wheelPrev = null;
+		o.wheelNext = null;
+		o.isWheeled = false;
+		size--;
+	}
+
+	// cascade
+	//========
+	/**
+	 * Moves the entries of a slot to the lower levels, as the level below has completed a turn.
+	 * Higher levels are cascaded first, so entries moved into the current slot of a lower level
+	 * are moved on by the same step.
+	 */
+	private void cascade( int level, int slot )
+	{
+		while ( slots[level][slot] != null )
+		{
+			MapObject o = slots[level][slot];
+
+			this.remove( o );
+
+			if ( o.wheelTime <= currentTime )
+			{
+				o.isDormant = false;
+				firedCount++;
+			}
+			else
+			{
+				this.insert( o );
+				cascadedCount++;
+			}
+		}
+	}
+
+	// rebuild
+	//========
+	private void rebuild( long time )
+	{
+		// Collect entries
+		//================
+		tmp_entries.clear();
+
+		for ( int level = 0; level < LEVELS; level++ )
+		{
+			for ( int slot = 0; slot < SLOTS; slot++ )
+			{
+				while ( slots[level][slot] != null )
+				{
+					tmp_entries.add( slots[level][slot] );
+					this.remove( slots[level][slot] );
+				}
+			}
+		}
+		currentTime = time;
+
+		// Insert entries
+		//===============
+		for ( int i = 0; i < tmp_entries.size(); i++ )
+		{
+			MapObject o = tmp_entries.get( i );
+
+			if ( o.wheelTime <= currentTime )
+			{
+				o.isDormant = false;
+				firedCount++;
+			}
+			else
+			{
+				this.insert( o );
+			}
+		}
+		tmp_entries.clear();
+	}
+
+	// size
+	//=====
+	/**
+	 * @return the number of scheduled wake-ups, i.e. the queue depth of the wheel.
+	 */
+	public int size()
+	{
+		return ( size );
+	}
+
+	// getScheduledCount
+	//==================
+	/**
+	 * @return the total number of wake-ups scheduled since this wheel was created.
+	 */
+	public long getScheduledCount()
+	{
+		return ( scheduledCount );
+	}
+
+	// getFiredCount
+	//==============
+	/**
+	 * @return the total number of wake-ups that became due since this wheel was created.
+	 */
+	public long getFiredCount()
+	{
+		return ( firedCount );
+	}
+
+	// getCascadedCount
+	//=================
+	/**
+	 * @return the total number of entries moved to a lower level since this wheel was created.
+	 */
+	public long getCascadedCount()
+	{
+		return ( cascadedCount );
+	}
+}
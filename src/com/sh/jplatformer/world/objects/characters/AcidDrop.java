@@ -34,6 +34,8 @@ public class AcidDrop extends MapObject
 		bounds.height   = 22f;
 		jumpHeight      = 64f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_PROJECTILE;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Alignment
 		//==========
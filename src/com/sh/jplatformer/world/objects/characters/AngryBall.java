@@ -42,6 +42,8 @@ public class AngryBall extends MapObject
 		bounds.height   = 52f;
 		jumpHeight      = 160f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Routine
 		//========
@@ -67,10 +69,10 @@ public class AngryBall extends MapObject
 			
 			// Update timer + update mode
 			//===========================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				routineMode = MODE_JUMPING;
-				routineTimer = System.currentTimeMillis() + 4000L;
+				routineTimer = this.getTime() + 4000L;
 			}
 			
 			// Move east
@@ -102,10 +104,10 @@ public class AngryBall extends MapObject
 		{
 			// Update timer + update mode
 			//===========================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				routineMode = MODE_ROLLING;
-				routineTimer = System.currentTimeMillis() + Randomizer.getLong( 3000, 5000 );
+				routineTimer = this.getTime() + Randomizer.getLong( 3000, 5000 );
 			}
 			
 			// Perform jump
@@ -131,11 +133,11 @@ public class AngryBall extends MapObject
 		//============
 		if ( state == STATE_RUNNING )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 20;
+				frameTimer = this.getTime() + 20;
 				
 				if ( direction == DIR_EAST ) currentFrame++;
 				if ( direction == DIR_WEST ) currentFrame--;
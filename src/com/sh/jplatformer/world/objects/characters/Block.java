@@ -43,6 +43,7 @@ public class Block extends MapObject
 		bounds.height   = 64f;
 		jumpHeight      = 96f;
 		isBlockingSpace = true;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Init frames
 		//============
@@ -67,44 +68,38 @@ public class Block extends MapObject
 	{
 		// When player on top
 		//===================
-		for ( MapObject o : surroundingObjects )
+		MapObject player = worldController.getPlayer();
+		
+		if ( player != null && this.getRiders().contains( player ) )
 		{
-			if ( o == worldController.getPlayer() && o.isOnGround() )
+			// Play sound
+			//===========
+			if ( currentFrame != 4 )
 			{
-				if ( o.getBounds().y == bounds.y + bounds.height &&
-				     o.getBounds().x  < bounds.x + bounds.width &&
-				     o.getBounds().x + o.getBounds().width > bounds.x )
-				{
-					// Play sound
-					//===========
-					if ( currentFrame != 4 )
-					{
-						WorldAudio.addSound( sounds[ Randomizer.getInt( 0, sounds.length - 1 ) ] , this );
-					}
-					
-					// Set frame
-					//==========
-					currentFrame = 4;
-					
-					return;
-				}
+				WorldAudio.addSound( sounds[ Randomizer.getInt( 0, sounds.length - 1 ) ] , this );
 			}
+			
+			// Set frame
+			//==========
+			currentFrame = 4;
+			
+			return;
 		}
 		
 		// Update frames
 		//==============
-		if ( frameTimer < System.currentTimeMillis() )
+		if ( frameTimer < this.getTime() )
 		{
 			// Look around
 			//============
-			frameTimer = System.currentTimeMillis() + Randomizer.getInt( 1500, 3000 );
+			frameTimer = this.getTime() + Randomizer.getInt( 1500, 3000 );
 			currentFrame = Randomizer.getInt( 0, 3 );
 			
 			// Blink frame
 			//============
 			if ( currentFrame == 3 )
 			{
-				frameTimer = System.currentTimeMillis() + 50;
+				frameTimer = this.getTime() + 50;
 			}
 		}
 		
@@ -119,7 +114,7 @@ public class Block extends MapObject
 			// Reset timer
 			//============
 			currentFrame = 0;
-			frameTimer = System.currentTimeMillis() + Randomizer.getInt( 1500, 3000 );
+			frameTimer = this.getTime() + Randomizer.getInt( 1500, 3000 );
 		}
 	}
 }
@@ -45,6 +45,7 @@ public class CartonGuy extends MapObject
 		bounds.height   = 63f;
 		jumpHeight      = 132f;
 		isBlockingSpace = true;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Init frames
 		//============
@@ -60,17 +61,17 @@ public class CartonGuy extends MapObject
 		//================
 		if ( routineTimer == 0L )
 		{
-			routineTimer = System.currentTimeMillis() + Randomizer.getInt( 4500, 6000 );
+			routineTimer = this.getTime() + Randomizer.getInt( 4500, 6000 );
 		}
 		
 		// Jump from time to time
 		//=======================
-		if ( routineTimer < System.currentTimeMillis() && isOnGround == true )
+		if ( routineTimer < this.getTime() && isOnGround == true )
 		{
 			// Jump
 			//=====
 			this.jump();
-			routineTimer = System.currentTimeMillis() + Randomizer.getInt( 4500, 6000 );
+			routineTimer = this.getTime() + Randomizer.getInt( 4500, 6000 );
 			
 			// Play sound
 			//===========
@@ -121,15 +122,15 @@ public class CartonGuy extends MapObject
 		{
 			// Looking around
 			//===============
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				currentFrame = Randomizer.getInt( 0, 2 );
-				frameTimer = System.currentTimeMillis() + 400;
+				frameTimer = this.getTime() + 400;
 			}
 			
 			// Before jumping
 			//===============
-			if ( routineTimer < System.currentTimeMillis() + 1000 )
+			if ( routineTimer < this.getTime() + 1000 )
 			{
 				currentFrame = 3;
 			}
@@ -3,8 +3,10 @@ package com.sh.jplatformer.world.objects.characters;
 import com.badlogic.gdx.math.Rectangle;
 import com.sh.jplatformer.world.WorldController;
 import com.sh.jplatformer.world.map.Map;
-import com.sh.jplatformer.world.map.MapCell;
 import com.sh.jplatformer.world.map.MapObject;
+import com.sh.jplatformer.world.map.NavGraph;
+import com.sh.jplatformer.world.map.NavPath;
+import com.sh.jplatformer.world.map.Perception;
 
 /**
  * A {@code MapObject} character.
@@ -23,6 +25,17 @@ public class Chaser extends MapObject
 	private static final int MODE_CHASING = 1;
 	private static final int MODE_HALTING = 2;
 	private int curDir;
+	private transient Perception perception;
+	
+	// Tracking
+	//=========
+	private static final long REPLAN_INTERVAL = 1000L;
+	private static final long STEP_TIMEOUT    = 3000L;
+	private transient NavPath path;
+	private transient int pathStep;
+	private transient long planTime;
+	private transient long stepTime;
+	private transient boolean isStepAirborne;
 	
 	// Constructor
 	//============
@@ -44,6 +57,8 @@ public class Chaser extends MapObject
 		bounds.height   = 54f;
 		jumpHeight      = 96f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Routine
 		//========
@@ -69,7 +84,7 @@ public class Chaser extends MapObject
 		{
 			// Find player
 			//============
-			if ( o == worldController.getPlayer() && o.isOnGround() )
+			if ( o == worldController.getPlayer() && o.isOnGround() && this.getPerception().canSee( o ) )
 			{	
 				// Check y-position
 				//=================
@@ -103,19 +118,27 @@ public class Chaser extends MapObject
 			}
 		}
 		
+		// Track player
+		//=============
+		if ( this.trackPlayer() )
+		{
+			routineMode = MODE_CHASING;
+			return;
+		}
+		
 		// Halt when player lost
 		//======================
 		if ( routineMode == MODE_CHASING )
 		{
 			routineMode = MODE_HALTING;
-			routineTimer = System.currentTimeMillis() + 2000;
+			routineTimer = this.getTime() + 2000;
 		}
 
 		// Return to roaming
 		//==================
 		if ( routineMode == MODE_HALTING )
 		{
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				routineMode = MODE_ROAMING;
 			}
@@ -129,9 +152,10 @@ public class Chaser extends MapObject
 			//==========
 			if ( curDir == DIR_EAST )
 			{
-				MapCell cell = map.getCellAt( bounds.x + bounds.width, bounds.y );
+				int col = map.getColumnAt( bounds.x + bounds.width );
+				int row = map.getRowAt( bounds.y );
 				
-				if ( this.moveEast() == false || !map.isBlocked( cell.x, cell.y - 1 ) )
+				if ( this.moveEast() == false || !map.isBlocked( col, row - 1 ) )
 				{
 					curDir = DIR_WEST;
 				}
@@ -141,9 +165,10 @@ public class Chaser extends MapObject
 			//==========
 			if ( curDir == DIR_WEST )
 			{
-				MapCell cell = map.getCellAt( bounds.x, bounds.y );
+				int col = map.getColumnAt( bounds.x );
+				int row = map.getRowAt( bounds.y );
 				
-				if ( this.moveWest() == false || !map.isBlocked( cell.x, cell.y - 1 ) )
+				if ( this.moveWest() == false || !map.isBlocked( col, row - 1 ) )
 				{
 					curDir = DIR_EAST;
 				}
@@ -151,6 +176,145 @@ public class Chaser extends MapObject
 		}
 	}
 	
+	// trackPlayer
+	//============
+	/**
+	 * Follows a path of the {@code NavGraph} to the player across gaps and platforms. A path is
+	 * planned while the player is in sight and is then followed even if the player is lost.
+	 * @return {@code true} if a path is followed, {@code false} otherwise.
+	 */
+	private boolean trackPlayer()
+	{
+		MapObject player = worldController.getPlayer();
+		NavGraph graph   = worldController.getNavGraph( this );
+		long time        = this.getTime();
+		
+		// Plan path
+		//==========
+		if ( player != null && player.isAlive() && player.isOnGround() && isOnGround == true &&
+		     ( path == null || !graph.isCurrent( path ) || time >= planTime + REPLAN_INTERVAL ) &&
+		     this.getPerception().canSee( player ) )
+		{
+			NavPath newPath = graph.findPath( bounds.x + bounds.width / 2f, bounds.y,
+			                                  player.getBounds().x + player.getBounds().width / 2f,
+			                                  player.getBounds().y );
+			if ( newPath != path )
+			{
+				path           = newPath;
+				pathStep       = 0;
+				stepTime       = time;
+				isStepAirborne = false;
+			}
+			planTime = time;
+		}
+		
+		// Check path
+		//===========
+		if ( path == null )
+		{
+			return ( false );
+		}
+		if ( path.isPending() && graph.isCurrent( path ) )
+		{
+			return ( true );
+		}
+		if ( !path.isFound() || !graph.isCurrent( path ) || !this.followPath( time ) )
+		{
+			path = null;
+			return ( false );
+		}
+		return ( true );
+	}
+	
+	// followPath
+	//===========
+	/**
+	 * Performs the current step of the path.
+	 * @return {@code false} if the path is finished or has failed, {@code true} otherwise.
+	 */
+	private boolean followPath( long time )
+	{
+		// Current step
+		//=============
+		if ( pathStep >= path.size() || time > stepTime + STEP_TIMEOUT )
+		{
+			return ( false );
+		}
+		Map map    = worldController.getMap();
+		int action = path.getAction( pathStep );
+		int col    = path.getColumn( pathStep );
+		int row    = path.getRow( pathStep );
+		float dx   = ( col + 0.5f ) * Map.CELL_SIZE - ( bounds.x + bounds.width / 2f );
+		
+		// Walk to column
+		//===============
+		if ( action == NavPath.ACTION_WALK )
+		{
+			if ( isOnGround == true && map.getRowAt( bounds.y ) != row )
+			{
+				return ( false );
+			}
+			if ( map.getColumnAt( bounds.x + bounds.width / 2f ) == col && isOnGround == true )
+			{
+				// Take off at the border
+				//=======================
+				int next = col;
+				
+				if ( pathStep + 1 < path.size() && path.getAction( pathStep + 1 ) == NavPath.ACTION_JUMP )
+				{
+					next = path.getColumn( pathStep + 1 );
+				}
+				if ( next > col ) dx = ( col + 1 ) * Map.CELL_SIZE - ( bounds.x + bounds.width );
+				if ( next < col ) dx = col * Map.CELL_SIZE - bounds.x;
+				
+				if ( next == col || Math.abs( dx ) <= deltaMovementSpeed.x )
+				{
+					this.nextStep( time );
+					return ( true );
+				}
+			}
+		}
+		
+		// Jump or fall to cell
+		//=====================
+		else
+		{
+			if ( isOnGround == false )
+			{
+				isStepAirborne = true;
+			}
+			else if ( isStepAirborne == true )
+			{
+				if ( map.getRowAt( bounds.y ) != row )
+				{
+					return ( false );
+				}
+				this.nextStep( time );
+				return ( true );
+			}
+			else if ( action == NavPath.ACTION_JUMP )
+			{
+				this.jump();
+			}
+		}
+		
+		// Move
+		//=====
+		if ( dx > deltaMovementSpeed.x ) this.moveEast();
+		if ( dx < -deltaMovementSpeed.x ) this.moveWest();
+		
+		return ( true );
+	}
+	
+	// nextStep
+	//=========
+	private void nextStep( long time )
+	{
+		pathStep++;
+		stepTime       = time;
+		isStepAirborne = false;
+	}
+	
 	// onPlayerCollision
 	//==================
 	@Override
@@ -186,6 +350,21 @@ public class Chaser extends MapObject
 		if ( state == STATE_FALLING ) currentFrame = 4;
 	}
 	
+	// getPerception
+	//==============
+	/**
+	 * @return the {@code Perception} of this {@code MapObject}. It is created on first use, as it
+	 * is not stored in world files.
+	 */
+	public Perception getPerception()
+	{
+		if ( perception == null )
+		{
+			perception = new Perception( this );
+		}
+		return ( perception );
+	}
+	
 	// getScanArea
 	//============
 	/**
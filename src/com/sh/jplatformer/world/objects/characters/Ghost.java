@@ -50,6 +50,8 @@ public class Ghost extends MapObject
 		bounds.height   = 60f;
 		jumpHeight      = 96f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Routine
 		//========
@@ -71,9 +73,9 @@ public class Ghost extends MapObject
 		
 		// Play sounds randomly
 		//=====================
-		if ( audioTimer < System.currentTimeMillis() )
+		if ( audioTimer < this.getTime() )
 		{
-			audioTimer = System.currentTimeMillis() + Randomizer.getLong( 7500, 15000 );
+			audioTimer = this.getTime() + Randomizer.getLong( 7500, 15000 );
 			
 			WorldAudio.addSound( sounds[ Randomizer.getInt( 0, sounds.length - 1 ) ] , this );
 		}
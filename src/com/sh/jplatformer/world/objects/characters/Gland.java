@@ -53,6 +53,8 @@ public class Gland extends MapObject
 		bounds.height   = 31f;
 		jumpHeight      = 0f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Alignment
 		//==========
@@ -77,23 +79,28 @@ public class Gland extends MapObject
 		//=====================
 		if ( routineTimer == 0L )
 		{
-			routineTimer = System.currentTimeMillis() + Randomizer.getInt( 4000, 5500 );
+			routineTimer = this.getTime() + Randomizer.getInt( 4000, 5500 );
 		}
 		
 		// Check timer + spit acid
 		//========================
 		if ( map.isBlocked( bounds.x + bounds.width / 2,
 		                    bounds.y + bounds.height + 1f ) == true &&
-		                    routineTimer < System.currentTimeMillis() )
+		                    routineTimer < this.getTime() )
 		{
 			// Add acid drop
 			//==============
 			animationState = ANIMATION_CONTRACT;
-			routineTimer   = System.currentTimeMillis() + Randomizer.getInt( 4000, 5500 );
-			worldController.addMapObject( new AcidDrop( worldController ),
-			                              bounds.x + bounds.width / 2,
-			                              bounds.y + bounds.height / 2,
-			                              true );
+			routineTimer   = this.getTime() + Randomizer.getInt( 4000, 5500 );
+			AcidDrop acidDrop = worldController.obtainMapObject( AcidDrop.class, this );
+			
+			if ( acidDrop != null )
+			{
+				worldController.spawnMapObject( acidDrop,
+				                                bounds.x + bounds.width / 2,
+				                                bounds.y + bounds.height / 2,
+				                                true );
+			}
 			
 			// Play sound
 			//===========
@@ -122,11 +129,11 @@ public class Gland extends MapObject
 		//=================
 		if ( animationState == ANIMATION_CONTRACT )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 20;
+				frameTimer = this.getTime() + 20;
 				currentFrame++;
 				
 				// Limit frames
@@ -144,11 +151,11 @@ public class Gland extends MapObject
 		//===============
 		if ( animationState == ANIMATION_EXPAND )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 20;
+				frameTimer = this.getTime() + 20;
 				currentFrame--;
 				
 				// Limit frames
@@ -52,6 +52,7 @@ public class Hanger extends MapObject
 		bounds.height   = 64f;
 		jumpHeight      = 148f;
 		isBlockingSpace = true;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Init frames
 		//============
@@ -71,7 +72,7 @@ public class Hanger extends MapObject
 		//================
 		if ( routineTimer == 0L )
 		{
-			routineTimer = System.currentTimeMillis() + Randomizer.getInt( 4500, 6000 );
+			routineTimer = this.getTime() + Randomizer.getInt( 4500, 6000 );
 		}
 		
 		// Toggle blocking behavior
@@ -110,12 +111,12 @@ public class Hanger extends MapObject
 		{
 			// Init jump when ready
 			//=====================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				// Jump
 				//=====
 				this.jump();
-				routineTimer = System.currentTimeMillis() + Randomizer.getInt( 4500, 6000 );
+				routineTimer = this.getTime() + Randomizer.getInt( 4500, 6000 );
 				
 				// Play sound
 				//===========
@@ -130,7 +131,7 @@ public class Hanger extends MapObject
 				     isOnGround == false )
 				{
 					routineMode = MODE_HANGING;
-					routineTimer = System.currentTimeMillis() + 5000;
+					routineTimer = this.getTime() + 5000;
 				}
 			}
 		}
@@ -141,7 +142,7 @@ public class Hanger extends MapObject
 		{
 			// Check timer
 			//============
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				// Turn to fall
 				//=============
@@ -157,7 +158,7 @@ public class Hanger extends MapObject
 				if ( isOnGround == true )
 				{	
 					routineMode  = MODE_ON_GROUND;
-					routineTimer = System.currentTimeMillis() + Randomizer.getInt( 4500, 6000 );
+					routineTimer = this.getTime() + Randomizer.getInt( 4500, 6000 );
 				}
 			}
 			else
@@ -200,15 +201,15 @@ public class Hanger extends MapObject
 		{
 			// Looking around
 			//===============
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				currentFrame = Randomizer.getInt( 0, 2 );
-				frameTimer = System.currentTimeMillis() + 500;
+				frameTimer = this.getTime() + 500;
 			}
 			
 			// Before jumping
 			//===============
-			if ( routineTimer < System.currentTimeMillis() + 1000 )
+			if ( routineTimer < this.getTime() + 1000 )
 			{
 				currentFrame = 3;
 			}
@@ -220,14 +221,14 @@ public class Hanger extends MapObject
 		{
 			// Looking around
 			//===============
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				currentFrame = 4;
 			}
 			
 			// Before falling
 			//===============
-			if ( routineTimer < System.currentTimeMillis() + 1000 )
+			if ( routineTimer < this.getTime() + 1000 )
 			{
 				currentFrame = 5;
 			}
@@ -34,6 +34,8 @@ public class Jumper extends MapObject
 		bounds.height   = 50f;
 		jumpHeight      = 180f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Init frames
 		//============
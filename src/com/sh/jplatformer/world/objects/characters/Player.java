@@ -3,7 +3,6 @@ package com.sh.jplatformer.world.objects.characters;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 import com.sh.jplatformer.resources.Resources;
@@ -44,6 +43,14 @@ public class Player extends MapObject
 	private boolean jumpKeyDown;
 	private float currentJumpHeight;
 	
+	// Use
+	//====
+	private boolean useKeyDown;
+	
+	// Input
+	//======
+	private transient boolean[] scriptedKeys;
+	
 	// Audio
 	//======
 	private long audioTimer;
@@ -76,6 +83,7 @@ public class Player extends MapObject
 		frameSize       = 96;
 		jumpHeight      = MAX_JUMP_HEIGHT;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_PLAYER;
 		
 		// Alignment
 		//==========
@@ -106,8 +114,7 @@ public class Player extends MapObject
 		{
 			// Draw at offset
 			//===============
-			frames[ currentFrame ].setPosition( deathAnimPos.x, deathAnimPos.y );
-			frames[ currentFrame ].draw( batch );
+			this.drawFrame( batch, deathAnimPos.x, deathAnimPos.y, 1f );
 		}
 		else
 		{
@@ -130,12 +137,12 @@ public class Player extends MapObject
 		
 		// Play step sound
 		//================
-		if ( ( state == STATE_RUNNING && audioTimer < System.currentTimeMillis() ) ||
+		if ( ( state == STATE_RUNNING && audioTimer < this.getTime() ) ||
 		     ( state == STATE_FALLING && isOnGround == true ) )
 		{
 			// Reset timer
 			//============
-			audioTimer = System.currentTimeMillis() + 200L;
+			audioTimer = this.getTime() + 200L;
 			
 			// Pick audio file
 			//================
@@ -159,19 +166,21 @@ public class Player extends MapObject
 	{
 		// Set values
 		//===========
-		deathAnimTimer = System.currentTimeMillis() + 1500L;
+		deathAnimTimer = this.getTime() + 1500L;
 		ignoreGravity  = true;
 		routineMode    = MODE_DEATH;
 		
 		// Animation position
 		//===================
 		deathAnimForce = 0f; 
-		deathAnimPos   = new Vector2( frames[currentFrame].getX(),
-			                          frames[currentFrame].getY() );
+		deathAnimPos   = new Vector2( bounds.x + bounds.width / 2f - frameSize / 2f, bounds.y );
 		
 		// Play sound
 		//===========
-		Resources.UI.sound_game_lose.play();
+		if ( Resources.UI.sound_game_lose != null )
+		{
+			Resources.UI.sound_game_lose.play();
+		}
 	}
 	
 	// processDeathSequence
@@ -180,17 +189,17 @@ public class Player extends MapObject
 	{
 		// Perform sequence
 		//=================
-		if ( deathAnimTimer <= System.currentTimeMillis() )
+		if ( deathAnimTimer <= this.getTime() )
 		{
 			// Move sprite
 			//============
 			deathAnimForce += 10f * WorldController.worldDelta;
-			deathAnimPos.y -= deathAnimForce;
+			deathAnimPos.y -= deathAnimForce * WorldController.worldDelta * 60f;
 			
 			// Kill player
 			//============
-			if ( worldController.getWorldCamera().project( deathAnimPos ).y < -frameSize * 2f ||
-			     deathAnimPos.y  < -frameSize * 2f )
+			if ( deathAnimPos.y < -frameSize * 2f ||
+			     ( !Resources.isHeadless() && worldController.getWorldCamera().project( deathAnimPos ).y < -frameSize * 2f ) )
 			{
 				super.setAlive( false );
 			}
@@ -203,18 +212,18 @@ public class Player extends MapObject
 	{
 		// Move east / west
 		//=================
-		if ( Gdx.input.isKeyPressed( Keys.RIGHT ) )
+		if ( this.isKeyPressed( Keys.RIGHT ) )
 		{
 			this.moveEast();
 		}
-		else if ( Gdx.input.isKeyPressed( Keys.LEFT  ) )
+		else if ( this.isKeyPressed( Keys.LEFT  ) )
 		{
 			this.moveWest();
 		}
 		
 		// Use
 		//====
-		if ( Gdx.input.isKeyJustPressed( Keys.UP ) )
+		if ( this.isKeyPressed( Keys.UP ) && useKeyDown == false )
 		{
 			// Use objects within bounds
 			//==========================
@@ -226,10 +235,11 @@ public class Player extends MapObject
 				}
 			}
 		}
+		useKeyDown = this.isKeyPressed( Keys.UP );
 		
 		// Jump
 		//=====
-		if ( Gdx.input.isKeyPressed( Keys.SPACE ) )
+		if ( this.isKeyPressed( Keys.SPACE ) )
 		{
 			// Initiate minimum jump
 			//======================
@@ -265,12 +275,41 @@ public class Player extends MapObject
 		
 		// Release jump
 		//=============
-		if ( !Gdx.input.isKeyPressed( Keys.SPACE ) )
+		if ( !this.isKeyPressed( Keys.SPACE ) )
 		{
 			jumpKeyDown = false;
 		}
 	}
 	
+	// isKeyPressed
+	//=============
+	/**
+	 * @param key the key code of the key to check.
+	 * @return {@code true} if the key is currently pressed. If scripted keys are set, they replace
+	 * the input device. Without both (i.e. in headless mode) no key is pressed.
+	 */
+	private boolean isKeyPressed( int key )
+	{
+		if ( scriptedKeys != null )
+		{
+			return ( key >= 0 && key < scriptedKeys.length && scriptedKeys[key] );
+		}
+		return ( Gdx.input != null && Gdx.input.isKeyPressed( key ) );
+	}
+	
+	// setScriptedKeys
+	//================
+	/**
+	 * Replaces the input device by an array of pressed keys, e.g. to drive the player in a
+	 * headless {@code Replay}. The array is read on every update, so it may be changed between
+	 * ticks.
+	 * @param keys the pressed states indexed by key code or {@code null} to read the input device.
+	 */
+	public void setScriptedKeys( boolean[] keys )
+	{
+		scriptedKeys = keys;
+	}
+	
 	// setAlive
 	//=========
 	/**
@@ -316,9 +355,9 @@ public class Player extends MapObject
 		{
 			// Update timer + frame
 			//=====================
-			if ( frameTimer < System.currentTimeMillis() || lastState != state )
+			if ( frameTimer < this.getTime() || lastState != state )
 			{
-				frameTimer = System.currentTimeMillis() + 30;
+				frameTimer = this.getTime() + 30;
 				
 				currentFrame++;
 			}
@@ -357,10 +396,10 @@ public class Player extends MapObject
 			
 			// Update frame
 			//=============
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				currentFrame = Randomizer.getInt( 0, 2 );
-				frameTimer = System.currentTimeMillis() + Randomizer.getLong( 500L, 3000L );
+				frameTimer = this.getTime() + Randomizer.getLong( 500L, 3000L );
 			}
 		}
 		
@@ -416,28 +455,18 @@ public class Player extends MapObject
 	@Override
 	public void initFrames()
 	{
-		// Read frames
-		//============
-		try
+		// Skip when headless
+		//===================
+		if ( Resources.isHeadless() )
 		{
-			// Values
-			//=======
-			Sprite sprite = Resources.WORLD.objectsSprites.get( name );
-
-			int lenght    = (int) ( sprite.getWidth() / frameSize * sprite.getHeight() / frameSize );
-			frames        = new Sprite[lenght];
-			
-			// Read sprites
-			//=============
-			for ( int i = 0; i < frames.length; i++ )
-			{
-				int x = (int) ( ( i * frameSize ) % sprite.getWidth() );
-				int y = (int) ( ( i * frameSize ) / sprite.getWidth() ) * frameSize;
-
-				frames[i] = new Sprite( sprite, x, y, 96, 96 );
-			}
+			return;
 		}
-		catch ( Exception e )
+		
+		// Get shared frames
+		//==================
+		frames = Resources.WORLD.getObjectFrames( name, frameSize );
+		
+		if ( frames == null )
 		{
 			System.err.println( "Error initializing frames for map object: " + name + "!" );
 		}
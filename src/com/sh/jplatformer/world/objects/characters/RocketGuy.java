@@ -34,6 +34,8 @@ public class RocketGuy extends MapObject
 		bounds.height   = 64f;
 		jumpHeight      = 0f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		ignoreGravity   = true;
 		
 		// Init frames
@@ -56,9 +58,9 @@ public class RocketGuy extends MapObject
 	{
 		// Floating animation
 		//===================
-		if ( frameTimer < System.currentTimeMillis() )
+		if ( frameTimer < this.getTime() )
 		{
-			frameTimer = System.currentTimeMillis() + 40;
+			frameTimer = this.getTime() + 40;
 			
 			currentFrame++;
 			if ( currentFrame > 7 )
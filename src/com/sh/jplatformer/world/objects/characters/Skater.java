@@ -42,6 +42,8 @@ public class Skater extends MapObject
 		bounds.height   = 64f;
 		jumpHeight      = 64f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Routine
 		//========
@@ -67,10 +69,10 @@ public class Skater extends MapObject
 			
 			// Check timer + update mode
 			//==========================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				routineMode = MODE_RESTING;
-				routineTimer = System.currentTimeMillis() + 4000;
+				routineTimer = this.getTime() + 4000;
 			}
 			
 			// Move when on ground
@@ -104,10 +106,10 @@ public class Skater extends MapObject
 		{
 			// Check timer + update rest mode
 			//===============================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				routineMode = MODE_ROAMING;
-				routineTimer = System.currentTimeMillis() + Randomizer.getInt( 4000, 6000 );
+				routineTimer = this.getTime() + Randomizer.getInt( 4000, 6000 );
 			}
 		}
 	}
@@ -138,10 +140,10 @@ public class Skater extends MapObject
 		{
 			// When resting
 			//=============
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				currentFrame = Randomizer.getInt( 3, 5 );
-				frameTimer = System.currentTimeMillis() + 300;
+				frameTimer = this.getTime() + 300;
 			}
 		}
 	}
@@ -39,6 +39,8 @@ public class Snail extends MapObject
 		bounds.height   = 54f;
 		jumpHeight      = 96f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Routine
 		//========
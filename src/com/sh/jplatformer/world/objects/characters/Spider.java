@@ -47,6 +47,8 @@ public class Spider extends MapObject
 		bounds.height   = 60f;
 		jumpHeight      = 0f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Alignment
 		//==========
@@ -79,7 +81,7 @@ public class Spider extends MapObject
 			//=====================
 			if ( map.isBlocked( bounds.x + bounds.width / 2, bounds.y + bounds.height + 1f ) )
 			{
-				routineTimer = System.currentTimeMillis() + 5000;
+				routineTimer = this.getTime() + 5000;
 				routineMode = MODE_HANGING_ROOF;
 			}
 			
@@ -99,7 +101,7 @@ public class Spider extends MapObject
 			
 			// Initiate fall
 			//==============
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				fallOriginY   = bounds.y;
 				routineMode   = MODE_FALLING;
@@ -119,7 +121,7 @@ public class Spider extends MapObject
 			{
 				// Update routine
 				//===============
-				routineTimer  = System.currentTimeMillis() + 5000;
+				routineTimer  = this.getTime() + 5000;
 				routineMode   = MODE_HANGING_DOWN;
 				
 				// Update position
@@ -141,7 +143,7 @@ public class Spider extends MapObject
 			
 			// Initiate moving up
 			//===================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				routineMode = MODE_MOVING_UP;
 			}
@@ -165,9 +167,9 @@ public class Spider extends MapObject
 		//===================
 		if ( routineMode == MODE_MOVING_UP || routineMode == MODE_HANGING_ROOF )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
-				frameTimer = System.currentTimeMillis() + 80;
+				frameTimer = this.getTime() + 80;
 				
 				currentFrame++;
 				if ( currentFrame > 4 )
@@ -181,10 +183,10 @@ public class Spider extends MapObject
 		//==============
 		else
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				currentFrame = Randomizer.getInt( 5, 7 );
-				frameTimer = System.currentTimeMillis() + 300;
+				frameTimer = this.getTime() + 300;
 			}
 		}
 	}
@@ -46,6 +46,8 @@ public class Spikehead extends MapObject
 		bounds.height   = 54f;
 		jumpHeight      = 96f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Init frames
 		//============
@@ -59,9 +61,9 @@ public class Spikehead extends MapObject
 	{
 		// Play sounds randomly
 		//=====================
-		if ( audioTimer < System.currentTimeMillis() )
+		if ( audioTimer < this.getTime() )
 		{
-			audioTimer = System.currentTimeMillis() + Randomizer.getLong( 5000, 10000 );
+			audioTimer = this.getTime() + Randomizer.getLong( 5000, 10000 );
 			
 			WorldAudio.addSound( sounds[ Randomizer.getInt( 0, sounds.length - 1 ) ] , this );
 		}
@@ -82,9 +84,9 @@ public class Spikehead extends MapObject
 	{
 		// Update frames
 		//==============
-		if ( frameTimer < System.currentTimeMillis() )
+		if ( frameTimer < this.getTime() )
 		{
-			frameTimer = System.currentTimeMillis() + 75;
+			frameTimer = this.getTime() + 75;
 			currentFrame++;
 			
 			if ( currentFrame > 7 )
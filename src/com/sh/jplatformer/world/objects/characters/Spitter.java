@@ -51,6 +51,8 @@ public class Spitter extends MapObject
 		bounds.height   = 60f;
 		jumpHeight      = 0f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Alignment
 		//==========
@@ -79,7 +81,7 @@ public class Spitter extends MapObject
 		//================
 		if ( routineTimer == 0L )
 		{
-			routineTimer = System.currentTimeMillis() + Randomizer.getInt( 3500, 5000 );
+			routineTimer = this.getTime() + Randomizer.getInt( 3500, 5000 );
 		}
 		
 		// Move underneath platform
@@ -89,7 +91,7 @@ public class Spitter extends MapObject
 		{
 			// Check timer + update mode
 			//==========================
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				// Turn to spitting mode
 				//======================
@@ -98,11 +100,16 @@ public class Spitter extends MapObject
 					// Spit acid
 					//==========
 					routineMode  = MODE_SPITTING;
-					routineTimer = System.currentTimeMillis() + 200;
-					worldController.addMapObject( new AcidDrop( worldController ),
-					                              bounds.x + bounds.width / 2,
-					                              bounds.y + bounds.height / 2,
-					                              true );
+					routineTimer = this.getTime() + 200;
+					AcidDrop acidDrop = worldController.obtainMapObject( AcidDrop.class, this );
+					
+					if ( acidDrop != null )
+					{
+						worldController.spawnMapObject( acidDrop,
+						                                bounds.x + bounds.width / 2,
+						                                bounds.y + bounds.height / 2,
+						                                true );
+					}
 					// Play sound
 					//===========
 					WorldAudio.addSound( sounds[ Randomizer.getInt( 0, sounds.length - 1 ) ], this );
@@ -113,7 +120,7 @@ public class Spitter extends MapObject
 				else if ( routineMode == MODE_SPITTING )
 				{
 					routineMode  = MODE_ROAMING;
-					routineTimer = System.currentTimeMillis() + Randomizer.getInt( 3500, 5000 );
+					routineTimer = this.getTime() + Randomizer.getInt( 3500, 5000 );
 				}				
 			}
 			
@@ -48,6 +48,8 @@ public class SpringboardMachine extends MapObject
 		bounds.height   = 64f;
 		jumpHeight      = 16f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ENEMY;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Routine
 		//========
@@ -111,6 +113,7 @@ public class SpringboardMachine extends MapObject
 						// Invoke jump
 						//============
 						o.getBounds().y = bounds.y + bounds.height;
+						o.updateSpatialHash();
 						o.jump( o.getJumpHeight() * 1.5f, true );
 						animationState = ANIMATION_CONTRACT;
 						
@@ -140,11 +143,11 @@ public class SpringboardMachine extends MapObject
 		//=================
 		if ( animationState == ANIMATION_CONTRACT )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 14;
+				frameTimer = this.getTime() + 14;
 				currentFrame++;
 				
 				// Limit frames
@@ -162,11 +165,11 @@ public class SpringboardMachine extends MapObject
 		//===============
 		if ( animationState == ANIMATION_EXPAND )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 17;
+				frameTimer = this.getTime() + 17;
 				currentFrame--;
 				
 				// Limit frames
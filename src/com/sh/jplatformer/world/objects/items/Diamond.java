@@ -34,6 +34,8 @@ public class Diamond extends MapObject
 		bounds.width    = 64f;
 		bounds.height   = 64f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ITEM;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		ignoreGravity   = true;
 		
 		// Alignment
@@ -63,4 +65,12 @@ public class Diamond extends MapObject
 		//===========
 		WorldAudio.addCollectSound();
 	}
+	
+	// getBodyType
+	//============
+	@Override
+	public int getBodyType()
+	{
+		return ( BODY_STATIC );
+	}
 }
\ No newline at end of file
@@ -34,6 +34,8 @@ public class Donut extends MapObject
 		bounds.width    = 36f;
 		bounds.height   = 36f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ITEM;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		ignoreGravity   = true;
 		
 		// Alignment
@@ -63,4 +65,12 @@ public class Donut extends MapObject
 		//===========
 		WorldAudio.addCollectSound();
 	}
+	
+	// getBodyType
+	//============
+	@Override
+	public int getBodyType()
+	{
+		return ( BODY_STATIC );
+	}
 }
\ No newline at end of file
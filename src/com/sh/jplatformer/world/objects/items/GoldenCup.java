@@ -34,6 +34,8 @@ public class GoldenCup extends MapObject
 		bounds.width    = 46f;
 		bounds.height   = 46f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_ITEM;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		ignoreGravity   = true;
 		
 		// Alignment
@@ -63,4 +65,12 @@ public class GoldenCup extends MapObject
 		//===========
 		WorldAudio.addCollectSound();
 	}
+	
+	// getBodyType
+	//============
+	@Override
+	public int getBodyType()
+	{
+		return ( BODY_STATIC );
+	}
 }
\ No newline at end of file
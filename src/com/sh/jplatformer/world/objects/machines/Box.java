@@ -33,6 +33,7 @@ public class Box extends MapObject
 		bounds.height   = 64f;
 		jumpHeight      = 96f;
 		isBlockingSpace = true;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Init frames
 		//============
@@ -22,6 +22,17 @@ public class CannonBall extends MapObject
 	public static final int MODE_DOWN  = 2;
 	public static final int MODE_UP    = 3;
 	
+	// Constructor
+	//============
+	/**
+	 * Constructs a new {@code MapObject} moving to the right.
+	 * @param newWorldController the {@code WorldController} to interact with.
+	 */
+	public CannonBall( WorldController newWorldController )
+	{
+		this( newWorldController, MODE_RIGHT );
+	}
+	
 	// Constructor
 	//============
 	/**
@@ -43,6 +54,8 @@ public class CannonBall extends MapObject
 		bounds.height   = 32f;
 		jumpHeight      = 0f;
 		isBlockingSpace = false;
+		collisionLayer  = LAYER_PROJECTILE;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		ignoreGravity   = true;
 		routineMode     = mode;
 		
@@ -60,12 +73,20 @@ public class CannonBall extends MapObject
 		//=============
 		updateAlpha();
 		
-		// Frame setup
-		//============
-		frames[ currentFrame ].setPosition( bounds.x + bounds.width / 2 - frameSize / 2,
-		                                    bounds.y - bounds.height / 2 );
-		frames[ currentFrame ].setColor   ( 1f, 1f, 1f, alpha );
-		frames[ currentFrame ].draw( batch );
+		// Draw frame
+		//===========
+		this.drawFrame( batch, bounds.x + bounds.width / 2 - frameSize / 2, bounds.y - bounds.height / 2, alpha );
+	}
+	
+	// isAlwaysActive
+	//===============
+	/**
+	 * Cannon balls are fired by cannons outside the activity regions as well, so they never sleep.
+	 */
+	@Override
+	public boolean isAlwaysActive()
+	{
+		return ( true );
 	}
 	
 	// act
@@ -91,6 +112,17 @@ public class CannonBall extends MapObject
 		}
 	}
 	
+	// setMode
+	//========
+	/**
+	 * @param mode the direction of this {@code CannonBall} ({@code MODE_RIGHT}, {@code MODE_LEFT},
+	 * {@code MODE_UP} or {@code MODE_DOWN}).
+	 */
+	public void setMode( int mode )
+	{
+		routineMode = mode;
+	}
+	
 	// onPlayerCollision
 	//==================
 	@Override
@@ -122,5 +154,14 @@ public class CannonBall extends MapObject
 			bounds.x = x;
 			bounds.y = y;
 		}
+		this.updateSpatialHash();
+	}
+	
+	// getBodyType
+	//============
+	@Override
+	public int getBodyType()
+	{
+		return ( BODY_KINEMATIC );
 	}
 }
\ No newline at end of file
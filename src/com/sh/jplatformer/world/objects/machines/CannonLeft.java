@@ -53,19 +53,46 @@ public class CannonLeft extends MapObject
 	{
 		// Fire cannon ball
 		//=================
-		if ( isPowerOn == true && routineTimer < System.currentTimeMillis() )
+		if ( isPowerOn == true && routineTimer < this.getTime() )
 		{
 			// Reset timer
 			//============
-			routineTimer = System.currentTimeMillis() + 4000L;
+			routineTimer = this.getTime() + 4000L;
 			
 			// Create cannon ball
 			//===================
-			CannonBall cannonBall = new CannonBall( worldController, CannonBall.MODE_LEFT );
-			worldController.addMapObject( cannonBall,
-			                              bounds.x - cannonBall.getBounds().width / 2f,
-			                              bounds.y + bounds.height / 2f,
-			                              true );
+			CannonBall cannonBall = worldController.obtainMapObject( CannonBall.class, this );
+			
+			if ( cannonBall != null )
+			{
+				cannonBall.setMode( CannonBall.MODE_LEFT );
+				worldController.spawnMapObject( cannonBall,
+				                                bounds.x - cannonBall.getBounds().width / 2f,
+				                                bounds.y + bounds.height / 2f,
+				                                true );
+			}
 		}
 	}
+	
+	// getWakeTime
+	//============
+	@Override
+	public long getWakeTime()
+	{
+		// Sleep until next shot
+		//======================
+		if ( this.isAtRest() == false )
+		{
+			return ( WAKE_EVERY_TICK );
+		}
+		return ( isPowerOn ? routineTimer : WAKE_NEVER );
+	}
+	
+	// getBodyType
+	//============
+	@Override
+	public int getBodyType()
+	{
+		return ( BODY_STATIC );
+	}
 }
\ No newline at end of file
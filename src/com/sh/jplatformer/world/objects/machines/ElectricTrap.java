@@ -50,6 +50,8 @@ public class ElectricTrap extends MapObject
 		bounds.height    = 54f;
 		jumpHeight       = 64f;
 		isBlockingSpace  = false;
+		collisionLayer   = LAYER_MACHINE;
+		collisionMask    = LAYER_SOLID | LAYER_PLAYER;
 		isPowerSupported = true;
 		
 		// Init frames
@@ -66,16 +68,16 @@ public class ElectricTrap extends MapObject
 		//==================
 		if ( routineTimer == 0L )
 		{
-			routineTimer = System.currentTimeMillis() + 4000L;
+			routineTimer = this.getTime() + 4000L;
 		}
 		
 		// Play sounds randomly
 		//=====================
 		if ( isPowerOn == true && routineMode == MODE_ENABLED )
 		{
-			if ( audioTimer < System.currentTimeMillis() )
+			if ( audioTimer < this.getTime() )
 			{
-				audioTimer = System.currentTimeMillis() + Randomizer.getLong( 2000l, 8000L );
+				audioTimer = this.getTime() + Randomizer.getLong( 2000l, 8000L );
 				
 				WorldAudio.addSound( sounds[ Randomizer.getInt( 0, sounds.length - 1 ) ] , this );
 			}
@@ -83,11 +85,11 @@ public class ElectricTrap extends MapObject
 		
 		// Switch routine mode
 		//====================
-		if ( isPowerOn == true && routineTimer < System.currentTimeMillis() )
+		if ( isPowerOn == true && routineTimer < this.getTime() )
 		{
 			// Reset timer
 			//============
-			routineTimer = System.currentTimeMillis() + 4000L;
+			routineTimer = this.getTime() + 4000L;
 			
 			// Set routine mode
 			//=================
@@ -109,6 +111,23 @@ public class ElectricTrap extends MapObject
 		}
 	}
 	
+	// getWakeTime
+	//============
+	@Override
+	public long getWakeTime()
+	{
+		// Stay awake while enabled
+		//=========================
+		if ( this.isAtRest() == false || routineMode == MODE_ENABLED || routineTimer == 0L )
+		{
+			return ( WAKE_EVERY_TICK );
+		}
+		
+		// Sleep until enabled
+		//====================
+		return ( isPowerOn ? routineTimer : WAKE_NEVER );
+	}
+	
 	// onPlayerCollision
 	//==================
 	@Override
@@ -129,11 +148,11 @@ public class ElectricTrap extends MapObject
 		//========
 		if ( routineMode == MODE_ENABLED )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 50L;
+				frameTimer = this.getTime() + 50L;
 				currentFrame++;
 				
 				// Limit frames
@@ -57,7 +57,7 @@ public class Platform1 extends MapObject
 		{
 			// Update modes
 			//=============
-			if ( routineTimer < System.currentTimeMillis() )
+			if ( routineTimer < this.getTime() )
 			{
 				switch ( routineMode )
 				{
@@ -66,7 +66,7 @@ public class Platform1 extends MapObject
 						// Turn to "on"
 						//=============
 						routineMode = MODE_ON;
-						routineTimer = System.currentTimeMillis() + 5000L;
+						routineTimer = this.getTime() + 5000L;
 						break;
 					}
 					case MODE_ON:
@@ -74,7 +74,7 @@ public class Platform1 extends MapObject
 						// Turn to "transition"
 						//=====================
 						routineMode = MODE_TRANSITION;
-						routineTimer = System.currentTimeMillis() + 3000L;
+						routineTimer = this.getTime() + 3000L;
 						break;
 					}
 					case MODE_TRANSITION:
@@ -82,7 +82,7 @@ public class Platform1 extends MapObject
 						// Turn to "off"
 						//==============
 						routineMode = MODE_OFF;
-						routineTimer = System.currentTimeMillis() + 5000L;
+						routineTimer = this.getTime() + 5000L;
 						break;
 					}
 				}
@@ -107,7 +107,7 @@ public class Platform1 extends MapObject
 		//==========
 		if ( routineMode == MODE_ON )
 		{
-			alpha += WorldController.worldDelta * 2f;
+			alpha += WorldController.frameDelta * 2f;
 			if ( alpha > 1f ) alpha = 1f;
 		}
 		
@@ -115,7 +115,7 @@ public class Platform1 extends MapObject
 		//==================
 		if ( routineMode == MODE_TRANSITION )
 		{
-			alpha -= WorldController.worldDelta * 1f;
+			alpha -= WorldController.frameDelta * 1f;
 			if ( alpha < 0.75f ) alpha = 0.75f;
 		}
 		
@@ -123,7 +123,7 @@ public class Platform1 extends MapObject
 		//===========
 		if ( routineMode == MODE_OFF )
 		{
-			alpha -= WorldController.worldDelta * 1f;
+			alpha -= WorldController.frameDelta * 1f;
 			if ( alpha < 0.25f ) alpha = 0.25f;
 		}
 		
@@ -134,4 +134,12 @@ public class Platform1 extends MapObject
 			alpha = 0.04f;
 		}
 	}
+	
+	// getBodyType
+	//============
+	@Override
+	public int getBodyType()
+	{
+		return ( BODY_STATIC );
+	}
 }
\ No newline at end of file
@@ -32,6 +32,7 @@ public class Platform2 extends MapObject
 		bounds.width     = 64f;
 		bounds.height    = 52f;
 		ignoreGravity    = true;
+		isBlockingSpace  = false;
 		isPowerSupported = true;
 		
 		// Alignment
@@ -44,10 +45,10 @@ public class Platform2 extends MapObject
 		this.initFrames();
 	}
 	
-	// act
-	//====
+	// onPowerChanged
+	//===============
 	@Override
-	public void act()
+	protected void onPowerChanged()
 	{
 		// Set collision
 		//==============
@@ -63,11 +64,11 @@ public class Platform2 extends MapObject
 		//========
 		if ( isPowerOn == true )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 50L;
+				frameTimer = this.getTime() + 50L;
 				currentFrame++;
 				
 				// Limit frames
@@ -82,4 +83,12 @@ public class Platform2 extends MapObject
 			currentFrame = 7;
 		}
 	}
+	
+	// getBodyType
+	//============
+	@Override
+	public int getBodyType()
+	{
+		return ( BODY_STATIC );
+	}
 }
\ No newline at end of file
@@ -33,6 +33,7 @@ public class SpikesDown extends MapObject
 		bounds.height   = 31f;
 		jumpHeight      = 96f;
 		isBlockingSpace = true;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Alignment
 		//==========
@@ -33,6 +33,7 @@ public class SpikesUp extends MapObject
 		bounds.height   = 31f;
 		jumpHeight      = 64f;
 		isBlockingSpace = true;
+		collisionMask   = LAYER_SOLID | LAYER_PLAYER;
 		
 		// Init frames
 		//============
@@ -42,6 +42,7 @@ public class Springboard extends MapObject
 		bounds.height    = 64f;
 		jumpHeight       = 64f;
 		isBlockingSpace  = false;
+		collisionLayer   = LAYER_MACHINE;
 		
 		// Init frames
 		//============
@@ -74,6 +75,7 @@ public class Springboard extends MapObject
 						// Invoke jump
 						//============
 						o.getBounds().y = bounds.y + bounds.height;
+						o.updateSpatialHash();
 						o.jump( o.getJumpHeight() * 2.5f, true );
 						animationState = ANIMATION_CONTRACT;
 						
@@ -95,11 +97,11 @@ public class Springboard extends MapObject
 		//=================
 		if ( animationState == ANIMATION_CONTRACT )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 14;
+				frameTimer = this.getTime() + 14;
 				currentFrame++;
 				
 				// Limit frames
@@ -116,11 +118,11 @@ public class Springboard extends MapObject
 		//===============
 		if ( animationState == ANIMATION_EXPAND )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 14;
+				frameTimer = this.getTime() + 14;
 				currentFrame--;
 				
 				// Limit frames
@@ -45,6 +45,7 @@ public class Switch extends MapObject
 		bounds.height    = 64f;
 		jumpHeight       = 64f;
 		isBlockingSpace  = false;
+		collisionLayer   = LAYER_MACHINE;
 		isPowerSupported = true;
 		
 		// Init frames
@@ -59,13 +60,7 @@ public class Switch extends MapObject
 	{
 		// Switch related power states
 		//============================
-		for ( MapObject o : worldController.getMapObjects() )
-		{
-			if ( o.getPowerId() == this.getPowerId() )
-			{
-				o.setPowerOn( !o.isPowerOn() );
-			}
-		}
+		worldController.getPowerNetwork().toggle( this.getPowerId() );
 		
 		// Popup message
 		//==============
@@ -97,11 +92,11 @@ public class Switch extends MapObject
 		//==============
 		if ( animationState == ANIMATION_INCREASE )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 50;
+				frameTimer = this.getTime() + 50;
 				currentFrame++;
 				
 				// Max / min frames
@@ -132,11 +127,11 @@ public class Switch extends MapObject
 		//==============
 		if ( animationState == ANIMATION_DECREASE )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 50;
+				frameTimer = this.getTime() + 50;
 				currentFrame--;
 				
 				// Max / min frames
@@ -158,7 +153,7 @@ public class Switch extends MapObject
 				if ( currentFrame < minFrame )
 				{
 					currentFrame = minFrame;
-					frameTimer = System.currentTimeMillis() + 1000;
+					frameTimer = this.getTime() + 1000;
 					animationState = ANIMATION_NONE;
 				}
 			}
@@ -175,7 +170,7 @@ public class Switch extends MapObject
 			
 			// Init glow
 			//==========
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				animationState = ANIMATION_INCREASE;
 			}
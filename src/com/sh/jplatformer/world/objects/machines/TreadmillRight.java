@@ -33,7 +33,9 @@ public class TreadmillRight extends MapObject
 		bounds.height    = 64f;
 		jumpHeight       = 64f;
 		isBlockingSpace  = true;
+		collisionMask    = LAYER_SOLID | LAYER_PLAYER;
 		isPowerSupported = true;
+		currentFrame     = 1;
 		
 		// Init frames
 		//============
@@ -45,18 +47,13 @@ public class TreadmillRight extends MapObject
 	@Override
 	public void act()
 	{
-		// Move objects on top
-		//====================
+		// Move riders
+		//============
 		if ( isPowerOn == true )
 		{
-			for ( MapObject o : surroundingObjects )
+			for ( MapObject o : this.getRiders() )
 			{
-				// Check bounds
-				//=============
-				if ( o.isOnGround() == true && o.getBounds().y == bounds.y + bounds.height )
-				{
-					o.setHorizontalForce( +120f );
-				}
+				o.setHorizontalForce( +120f );
 			}
 		}
 	}
@@ -81,11 +78,11 @@ public class TreadmillRight extends MapObject
 		//========
 		if ( isPowerOn == true )
 		{
-			if ( frameTimer < System.currentTimeMillis() )
+			if ( frameTimer < this.getTime() )
 			{
 				// Update timer + frame
 				//=====================
-				frameTimer = System.currentTimeMillis() + 50L;
+				frameTimer = this.getTime() + 50L;
 				currentFrame++;
 				
 				// Limit frames
@@ -93,10 +90,16 @@ public class TreadmillRight extends MapObject
 				if ( currentFrame > 7 ) currentFrame = 2;
 			}
 		}
-		
-		// When off
-		//=========
-		else
+	}
+	
+	// onPowerChanged
+	//===============
+	@Override
+	protected void onPowerChanged()
+	{
+		// Stop animation
+		//===============
+		if ( isPowerOn == false )
 		{
 			currentFrame = 1;
 		}